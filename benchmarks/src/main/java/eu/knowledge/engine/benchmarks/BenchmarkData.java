@@ -0,0 +1,168 @@
+package eu.knowledge.engine.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.apache.jena.graph.Node;
+
+import eu.knowledge.engine.reasoner.BaseRule;
+import eu.knowledge.engine.reasoner.DataBindingSetHandler;
+import eu.knowledge.engine.reasoner.JenaRuleTest;
+import eu.knowledge.engine.reasoner.Rule;
+import eu.knowledge.engine.reasoner.Table;
+import eu.knowledge.engine.reasoner.api.Binding;
+import eu.knowledge.engine.reasoner.api.BindingSet;
+import eu.knowledge.engine.reasoner.api.TriplePattern;
+import eu.knowledge.engine.reasoner.api.Util;
+
+/**
+ * Builds the rules, graph patterns and bindings used by the benchmarks from the
+ * test resources of the reasoner module ({@code rdfs.rules}, {@code pilot.gp}
+ * and {@code reasoningplantest.rls}). All generated data is deterministic, so
+ * results of different runs can be compared.
+ */
+public class BenchmarkData {
+
+	public static final String PILOT_GRAPH_PATTERN = "/pilot.gp";
+	public static final String RDFS_RULES = "/rdfs.rules";
+	public static final String REASONING_PLAN_TEST_RULES = "/reasoningplantest.rls";
+
+	private static final String PREFIX = "https://www.example.org/benchmark/";
+
+	/**
+	 * @return the graph pattern of the pilot, in which a building with spaces that
+	 *         contain devices is described.
+	 */
+	public static Set<TriplePattern> pilotGraphPattern() {
+		return Util.toGP(readResource(PILOT_GRAPH_PATTERN));
+	}
+
+	/**
+	 * @return the triple patterns of the pilot graph pattern in a fixed order.
+	 */
+	public static List<TriplePattern> pilotTriplePatterns() {
+		List<TriplePattern> tps = new ArrayList<>(pilotGraphPattern());
+		tps.sort(Comparator.comparing(TriplePattern::toString));
+		return tps;
+	}
+
+	/**
+	 * @return the RDFS closure rules converted to our own rules.
+	 */
+	public static Set<BaseRule> rdfsRules() {
+		return JenaRuleTest.convertRules(readResource(RDFS_RULES));
+	}
+
+	/**
+	 * Create {@code aRuleCount} rules without antecedent that each provide
+	 * {@code aBindingCount} bindings for one of the triple patterns of the pilot
+	 * graph pattern. These rules behave like knowledge bases that answer part of
+	 * the pilot graph pattern, so at least as many rules as there are triple
+	 * patterns are required to answer the complete graph pattern. The values of
+	 * the rules join with each other.
+	 */
+	public static List<BaseRule> pilotKnowledgeBaseRules(int aRuleCount, int aBindingCount) {
+		List<TriplePattern> tps = pilotTriplePatterns();
+		List<BaseRule> rules = new ArrayList<>(aRuleCount);
+		for (int i = 0; i < aRuleCount; i++) {
+			Set<TriplePattern> consequent = new HashSet<>(Arrays.asList(tps.get(i % tps.size())));
+			String[] columns = variableNames(consequent);
+			rules.add(new Rule("kb" + i, consequent,
+					new DataBindingSetHandler(new Table(columns, rows(columns, aBindingCount)))));
+		}
+		return rules;
+	}
+
+	/**
+	 * Read the rules of the reasoning plan test and let its two rules without
+	 * antecedent provide {@code aBindingCount} bindings each.
+	 */
+	public static List<Rule> reasoningPlanTestRules(int aBindingCount) {
+		List<Rule> rules;
+		try {
+			rules = BaseRule.read(REASONING_PLAN_TEST_RULES);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		for (Rule r : rules) {
+			if (r.getAntecedent().isEmpty()) {
+				String[] columns = variableNames(r.getConsequent());
+				r.backwardForwardBindingSetHandler = new DataBindingSetHandler(
+						new Table(columns, rows(columns, aBindingCount)));
+			}
+		}
+		return rules;
+	}
+
+	/**
+	 * @return {@code aBindingCount} distinct bindings that bind all variables in
+	 *         {@code aGraphPattern}. Binding {@code i} uses value {@code i} for
+	 *         the first variable and value {@code i} modulo
+	 *         {@code aDistinctValues} for the other variables.
+	 */
+	public static BindingSet bindings(Set<TriplePattern> aGraphPattern, int aBindingCount, int aDistinctValues) {
+		String[] columns = variableNames(aGraphPattern);
+		BindingSet bs = new BindingSet();
+		for (int i = 0; i < aBindingCount; i++) {
+			Binding b = new Binding();
+			for (int j = 0; j < columns.length; j++) {
+				b.put(columns[j], value(columns[j], j == 0 ? i : i % aDistinctValues));
+			}
+			bs.add(b);
+		}
+		return bs;
+	}
+
+	/**
+	 * @return the value for variable {@code aVariable} in row {@code aRow}.
+	 */
+	public static String value(String aVariable, int aRow) {
+		return "<" + PREFIX + aVariable + aRow + ">";
+	}
+
+	/**
+	 * @return the sorted names (without question mark) of the variables in the
+	 *         given graph pattern.
+	 */
+	public static String[] variableNames(Set<TriplePattern> aGraphPattern) {
+		Set<String> names = new TreeSet<>();
+		for (TriplePattern tp : aGraphPattern) {
+			for (Node n : Arrays.asList(tp.getSubject(), tp.getPredicate(), tp.getObject())) {
+				if (n.isVariable())
+					names.add(n.getName());
+			}
+		}
+		return names.toArray(new String[names.size()]);
+	}
+
+	private static String[] rows(String[] someColumns, int aRowCount) {
+		String[] rows = new String[aRowCount];
+		for (int i = 0; i < aRowCount; i++) {
+			final int row = i;
+			rows[i] = Arrays.stream(someColumns).map(c -> value(c, row)).collect(Collectors.joining(","));
+		}
+		return rows;
+	}
+
+	public static String readResource(String aName) {
+		InputStream is = BenchmarkData.class.getResourceAsStream(aName);
+		if (is == null)
+			throw new IllegalArgumentException("Resource '" + aName + "' should be available on the classpath.");
+
+		return new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8)).lines()
+				.collect(Collectors.joining("\n"));
+	}
+}
@@ -0,0 +1,53 @@
+package eu.knowledge.engine.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.sparql.lang.arq.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.knowledge.engine.reasoner.api.BindingSet;
+import eu.knowledge.engine.reasoner.api.TriplePattern;
+import eu.knowledge.engine.reasoner.api.Util;
+
+/**
+ * Measures {@link Util#generateModel(TriplePattern, BindingSet)} for a triple
+ * pattern of the pilot graph pattern with a growing number of bindings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerateModelBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	public int bindingCount;
+
+	private TriplePattern triplePattern;
+	private BindingSet bindings;
+
+	@Setup
+	public void setup() {
+		this.triplePattern = new TriplePattern(
+				"?buildingSpace <https://saref.etsi.org/saref4bldg/contains> ?device");
+		this.bindings = BenchmarkData.bindings(BenchmarkData.pilotGraphPattern(), this.bindingCount,
+				this.bindingCount);
+	}
+
+	@Benchmark
+	public Model generateModel() throws ParseException {
+		return Util.generateModel(this.triplePattern, this.bindings);
+	}
+}
@@ -0,0 +1,90 @@
+package eu.knowledge.engine.benchmarks;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.knowledge.engine.reasoner.BaseRule;
+import eu.knowledge.engine.reasoner.BaseRule.MatchFlag;
+import eu.knowledge.engine.reasoner.Match;
+import eu.knowledge.engine.reasoner.ProactiveRule;
+
+/**
+ * Measures {@link BaseRule#getMatches(BaseRule, Set, boolean, EnumSet)} of the
+ * pilot graph pattern against a growing number of rules, for every combination
+ * of {@link MatchFlag}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetMatchesBenchmark {
+
+	/**
+	 * The match flags separated by a {@code +}, or {@code NONE}.
+	 */
+	@Param({ "NONE", "FULLY_COVERED", "SINGLE_RULE", "ONE_TO_ONE", "ONLY_BIGGEST", "FULLY_COVERED+SINGLE_RULE",
+			"FULLY_COVERED+ONE_TO_ONE", "FULLY_COVERED+ONLY_BIGGEST", "SINGLE_RULE+ONE_TO_ONE",
+			"SINGLE_RULE+ONLY_BIGGEST", "ONE_TO_ONE+ONLY_BIGGEST", "FULLY_COVERED+SINGLE_RULE+ONE_TO_ONE",
+			"FULLY_COVERED+SINGLE_RULE+ONLY_BIGGEST", "FULLY_COVERED+ONE_TO_ONE+ONLY_BIGGEST",
+			"SINGLE_RULE+ONE_TO_ONE+ONLY_BIGGEST", "FULLY_COVERED+SINGLE_RULE+ONE_TO_ONE+ONLY_BIGGEST" })
+	public String flags;
+
+	/**
+	 * Without {@link MatchFlag#FULLY_COVERED} the number of matches grows
+	 * exponentially with the number of rules, so only use bigger rule counts (via
+	 * {@code -p ruleCount=...}) in combination with that flag.
+	 */
+	@Param({ "1", "2", "4" })
+	public int ruleCount;
+
+	private EnumSet<MatchFlag> config;
+	private ProactiveRule target;
+	private Set<BaseRule> pilotRules;
+	private Set<BaseRule> pilotAndRdfsRules;
+
+	@Setup
+	public void setup() {
+		this.config = parseFlags(this.flags);
+		this.target = new ProactiveRule(BenchmarkData.pilotGraphPattern(), new HashSet<>());
+		this.pilotRules = new HashSet<>(BenchmarkData.pilotKnowledgeBaseRules(this.ruleCount, 1));
+		this.pilotAndRdfsRules = new HashSet<>(this.pilotRules);
+		this.pilotAndRdfsRules.addAll(BenchmarkData.rdfsRules());
+	}
+
+	@Benchmark
+	public Map<BaseRule, Set<Match>> pilot() {
+		return BaseRule.getMatches(this.target, this.pilotRules, true, this.config);
+	}
+
+	@Benchmark
+	public Map<BaseRule, Set<Match>> pilotAndRdfs() {
+		return BaseRule.getMatches(this.target, this.pilotAndRdfsRules, true, this.config);
+	}
+
+	static EnumSet<MatchFlag> parseFlags(String someFlags) {
+		EnumSet<MatchFlag> config = EnumSet.noneOf(MatchFlag.class);
+		if (!someFlags.equals("NONE")) {
+			for (String flag : someFlags.split("\\+")) {
+				config.add(MatchFlag.valueOf(flag));
+			}
+		}
+		return config;
+	}
+}
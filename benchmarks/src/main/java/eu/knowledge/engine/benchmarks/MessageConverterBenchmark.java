@@ -0,0 +1,88 @@
+package eu.knowledge.engine.benchmarks;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import eu.knowledge.engine.smartconnector.api.Binding;
+import eu.knowledge.engine.smartconnector.api.BindingSet;
+import eu.knowledge.engine.smartconnector.messaging.AnswerMessage;
+import eu.knowledge.engine.smartconnector.runtime.messaging.MessageConverter;
+
+/**
+ * Measures converting {@link AnswerMessage}s with a growing number of bindings
+ * to and from the JSON that is sent between Knowledge Engine runtimes, in the
+ * same way as the {@code RemoteKerConnection} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageConverterBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	public int bindingCount;
+
+	private ObjectMapper objectMapper;
+	private AnswerMessage message;
+	private String json;
+
+	@Setup
+	public void setup() throws URISyntaxException, JsonProcessingException {
+		this.objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).findAndRegisterModules();
+
+		String[] variables = BenchmarkData.variableNames(BenchmarkData.pilotGraphPattern());
+		BindingSet bindings = new BindingSet();
+		for (int i = 0; i < this.bindingCount; i++) {
+			Binding b = new Binding();
+			for (String variable : variables) {
+				b.put(variable, BenchmarkData.value(variable, i));
+			}
+			bindings.add(b);
+		}
+
+		this.message = new AnswerMessage(new URI("https://www.example.org/kb1"),
+				new URI("https://www.example.org/kb1/answer"), new URI("https://www.example.org/kb2"),
+				new URI("https://www.example.org/kb2/ask"), UUID.randomUUID(), bindings);
+		this.json = this.toJson();
+	}
+
+	@Benchmark
+	public String toJson() throws JsonProcessingException {
+		return this.objectMapper.writeValueAsString(MessageConverter.toJson(this.message));
+	}
+
+	@Benchmark
+	public AnswerMessage fromJson() throws JsonProcessingException, URISyntaxException {
+		return MessageConverter.fromJson(this.objectMapper.readValue(this.json,
+				eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.AnswerMessage.class));
+	}
+
+	@Benchmark
+	public AnswerMessage roundTrip() throws JsonProcessingException, URISyntaxException {
+		String json = this.objectMapper.writeValueAsString(MessageConverter.toJson(this.message));
+		return MessageConverter.fromJson(this.objectMapper.readValue(json,
+				eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.AnswerMessage.class));
+	}
+}
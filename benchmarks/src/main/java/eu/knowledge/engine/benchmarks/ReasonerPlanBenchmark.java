@@ -0,0 +1,151 @@
+package eu.knowledge.engine.benchmarks;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.knowledge.engine.reasoner.BaseRule;
+import eu.knowledge.engine.reasoner.BaseRule.MatchFlag;
+import eu.knowledge.engine.reasoner.ProactiveRule;
+import eu.knowledge.engine.reasoner.ReasonerPlan;
+import eu.knowledge.engine.reasoner.TaskBoard;
+import eu.knowledge.engine.reasoner.api.Binding;
+import eu.knowledge.engine.reasoner.api.BindingSet;
+import eu.knowledge.engine.reasoner.api.TriplePattern;
+import eu.knowledge.engine.reasoner.rulestore.RuleStore;
+
+/**
+ * Measures constructing a {@link ReasonerPlan} from scratch and executing an
+ * existing one. The nested classes provide the rules and goal: the pilot graph
+ * pattern answered by a number of knowledge base rules and the rules of the
+ * reasoning plan test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class ReasonerPlanBenchmark {
+
+	/**
+	 * The pilot graph pattern answered by knowledge base rules that each provide
+	 * one of its triple patterns. Note that the number of (partial) bindings the
+	 * reasoner combines grows very quickly with the number of bindings per rule.
+	 */
+	public static class Pilot extends ReasonerPlanBenchmark {
+
+		@Param({ "8", "16" })
+		public int ruleCount;
+
+		@Param({ "1", "5" })
+		public int bindingCount;
+
+		@Override
+		protected List<? extends BaseRule> createRules() {
+			return BenchmarkData.pilotKnowledgeBaseRules(this.ruleCount, this.bindingCount);
+		}
+
+		@Override
+		protected Set<TriplePattern> createGoal() {
+			return BenchmarkData.pilotGraphPattern();
+		}
+	}
+
+	/**
+	 * The transitive rules of the reasoning plan test.
+	 */
+	public static class ReasoningPlanTest extends ReasonerPlanBenchmark {
+
+		@Param({ "10", "100" })
+		public int bindingCount;
+
+		@Override
+		protected List<? extends BaseRule> createRules() {
+			return BenchmarkData.reasoningPlanTestRules(this.bindingCount);
+		}
+
+		@Override
+		protected Set<TriplePattern> createGoal() {
+			Set<TriplePattern> goal = new HashSet<>();
+			goal.add(new TriplePattern("?x <pred1> ?y"));
+			goal.add(new TriplePattern("?y <pred2> ?z"));
+			return goal;
+		}
+	}
+
+	/**
+	 * The match flags separated by a {@code +}, or {@code NONE}. The defaults
+	 * correspond to the normal and entry level match strategies of the smart
+	 * connector.
+	 */
+	@Param({ "FULLY_COVERED+ONE_TO_ONE+ONLY_BIGGEST", "FULLY_COVERED+SINGLE_RULE+ONE_TO_ONE+ONLY_BIGGEST" })
+	public String flags;
+
+	private EnumSet<MatchFlag> config;
+	private List<? extends BaseRule> rules;
+	private Set<TriplePattern> goal;
+	private ReasonerPlan plan;
+
+	protected abstract List<? extends BaseRule> createRules();
+
+	protected abstract Set<TriplePattern> createGoal();
+
+	@Setup
+	public void setup() {
+		this.config = GetMatchesBenchmark.parseFlags(this.flags);
+		this.rules = this.createRules();
+		this.goal = this.createGoal();
+		this.plan = this.createPlan();
+	}
+
+	@Benchmark
+	public ReasonerPlan construct() {
+		return this.createPlan();
+	}
+
+	@Benchmark
+	public BindingSet execute() throws InterruptedException, ExecutionException {
+		this.plan.reset();
+		return execute(this.plan);
+	}
+
+	@Benchmark
+	public BindingSet constructAndExecute() throws InterruptedException, ExecutionException {
+		return execute(this.createPlan());
+	}
+
+	private ReasonerPlan createPlan() {
+		RuleStore store = new RuleStore();
+		store.addRules(new HashSet<>(this.rules));
+		ProactiveRule start = new ProactiveRule(this.goal, new HashSet<>());
+		store.addRule(start);
+		return new ReasonerPlan(store, start, this.config);
+	}
+
+	private static BindingSet execute(ReasonerPlan aPlan) throws InterruptedException, ExecutionException {
+		BindingSet bs = new BindingSet();
+		bs.add(new Binding());
+
+		TaskBoard tb;
+		while ((tb = aPlan.execute(bs)).hasTasks()) {
+			tb.executeScheduledTasks().get();
+		}
+		return aPlan.getResults();
+	}
+}
@@ -0,0 +1,102 @@
+package eu.knowledge.engine.benchmarks;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.knowledge.engine.reasoner.BaseRule;
+import eu.knowledge.engine.reasoner.BaseRule.MatchFlag;
+import eu.knowledge.engine.reasoner.Match;
+import eu.knowledge.engine.reasoner.ProactiveRule;
+import eu.knowledge.engine.reasoner.api.TriplePattern;
+import eu.knowledge.engine.reasoner.api.TripleVarBindingSet;
+
+/**
+ * Measures merging, translating and filtering {@link TripleVarBindingSet}s of
+ * the pilot graph pattern with a growing number of bindings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TripleVarBindingSetBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	public int bindingCount;
+
+	/**
+	 * The number of distinct values of the variables that both halves of the
+	 * pilot graph pattern share. If it is lower than the number of bindings, every
+	 * binding joins with multiple bindings of the other half.
+	 */
+	@Param({ "100", "1000" })
+	public int distinctValues;
+
+	private Set<TriplePattern> graphPattern;
+	private TripleVarBindingSet buildings;
+	private TripleVarBindingSet devices;
+	private TripleVarBindingSet all;
+	private Set<Match> matches;
+
+	@Setup
+	public void setup() {
+		this.graphPattern = BenchmarkData.pilotGraphPattern();
+		List<TriplePattern> tps = BenchmarkData.pilotTriplePatterns();
+
+		// two halves of the pilot graph pattern that share some variables.
+		Set<TriplePattern> firstHalf = new HashSet<>(tps.subList(0, tps.size() / 2 + 1));
+		Set<TriplePattern> secondHalf = new HashSet<>(tps.subList(tps.size() / 2, tps.size()));
+
+		this.buildings = new TripleVarBindingSet(this.graphPattern,
+				BenchmarkData.bindings(firstHalf, this.bindingCount, this.distinctValues));
+		this.devices = new TripleVarBindingSet(this.graphPattern,
+				BenchmarkData.bindings(secondHalf, this.bindingCount, this.distinctValues));
+		this.all = new TripleVarBindingSet(this.graphPattern,
+				BenchmarkData.bindings(this.graphPattern, this.bindingCount, this.distinctValues));
+
+		// the matches of the pilot graph pattern on itself, which is how bindings are
+		// translated between neighboring rules.
+		ProactiveRule target = new ProactiveRule(this.graphPattern, new HashSet<>());
+		BaseRule candidate = new ProactiveRule(new HashSet<>(), this.graphPattern);
+		Map<BaseRule, Set<Match>> found = BaseRule.getMatches(target, Set.of(candidate), true,
+				MatchFlag.ALL_OPTS);
+		this.matches = found.get(candidate);
+	}
+
+	@Benchmark
+	public TripleVarBindingSet merge() {
+		return this.buildings.merge(this.devices);
+	}
+
+	@Benchmark
+	public TripleVarBindingSet selfMerge() {
+		TripleVarBindingSet combined = this.buildings.merge(this.devices);
+		return combined.merge(combined);
+	}
+
+	@Benchmark
+	public TripleVarBindingSet translate() {
+		return this.all.translate(this.graphPattern, this.matches);
+	}
+
+	@Benchmark
+	public TripleVarBindingSet keepCompatible() {
+		return this.all.keepCompatible(this.buildings);
+	}
+}
@@ -3,9 +3,16 @@ package eu.knowledge.engine.knowledgedirectory;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+import jakarta.ws.rs.container.AsyncResponse;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
 
@@ -14,12 +21,42 @@ import org.slf4j.LoggerFactory;
 
 import eu.knowledge.engine.knowledgedirectory.api.KerApiService;
 import eu.knowledge.engine.knowledgedirectory.api.NotFoundException;
+import eu.knowledge.engine.knowledgedirectory.model.KerChangeEvent;
+import eu.knowledge.engine.knowledgedirectory.model.KerChangeEvent.TypeEnum;
+import eu.knowledge.engine.knowledgedirectory.model.KerChanges;
 import eu.knowledge.engine.knowledgedirectory.model.KnowledgeEngineRuntimeConnectionDetails;
 
 public class KerApiImpl extends KerApiService {
 
+	private static final int MAX_CHANGE_EVENTS = 1000;
+	private static final int DEFAULT_WATCH_TIMEOUT = 30;
+	private static final int MAX_WATCH_TIMEOUT = 60;
+
 	private final Map<String, KnowledgeEngineRuntimeConnectionDetails> kers = new ConcurrentHashMap<>();
 
+	/**
+	 * Identifies this run of the Knowledge Directory. The revisions start at 0
+	 * again after a restart, so watchers of an earlier run receive the full list
+	 * instead of the changes after their (unrelated) revision.
+	 */
+	private final String epoch = UUID.randomUUID().toString();
+
+	/**
+	 * The most recent changes to the registered KERs, so that KERs that watch the
+	 * changes only receive what changed since the revision they know about. Both
+	 * are guarded by {@link #changesLock}.
+	 */
+	private final Deque<KerChangeEvent> changes = new ArrayDeque<>();
+	private long revision = 0;
+	private final Object changesLock = new Object();
+
+	/**
+	 * The watchers that wait for a change after the current {@link #revision}.
+	 * They do not occupy a request thread while waiting. Guarded by
+	 * {@link #changesLock}.
+	 */
+	private final List<AsyncResponse> watchers = new ArrayList<>();
+
 	private Logger LOG = LoggerFactory.getLogger(KerApiImpl.class);
 
 	public KerApiImpl() {
@@ -34,6 +71,7 @@ public class KerApiImpl extends KerApiService {
 			if (outdated) {
 				KnowledgeDirectory.LOG.info("Removed Knowledge Engine Runtime {} because its lease expired",
 						e.getValue().getId());
+				recordChange(TypeEnum.REMOVED, e.getKey(), null);
 			}
 			return outdated;
 		});
@@ -78,6 +116,7 @@ public class KerApiImpl extends KerApiService {
 		knowledgeEngineRuntime.setId(id);
 		knowledgeEngineRuntime.setLastRenew(OffsetDateTime.now());
 		kers.put(id, knowledgeEngineRuntime);
+		recordChange(TypeEnum.ADDED, id, knowledgeEngineRuntime);
 
 		KnowledgeDirectory.LOG.info("Added new Knowledge Engine Runtime {}", id);
 
@@ -101,6 +140,7 @@ public class KerApiImpl extends KerApiService {
 			return Response.status(404).entity("Smart Connector Runtime not found").build();
 		}
 		KnowledgeDirectory.LOG.info("Removed Knowledge Engine Runtime {}", kerId);
+		recordChange(TypeEnum.REMOVED, kerId, null);
 		return Response.status(200).build();
 	}
 
@@ -115,9 +155,163 @@ public class KerApiImpl extends KerApiService {
 			return Response.status(404).entity("Smart Connector Runtime not found").build();
 		} else {
 			KnowledgeDirectory.LOG.info("Renewed lease for " + kerId);
+			// Renewals are not recorded as changes, because every KER renews its lease
+			// periodically and the watchers are only interested in KERs that are added or
+			// removed.
 			knowledgeEngineRuntime.setLastRenew(OffsetDateTime.now());
 			return Response.status(204).build();
 		}
 	}
 
+	/**
+	 * Answer the given async response with the changes after the given revision
+	 * of the given epoch as soon as there are any, or when the timeout (in
+	 * seconds) expires.
+	 */
+	public void watchChanges(Long since, String sinceEpoch, Integer timeout, AsyncResponse asyncResponse) {
+		if (!isValidTimeout(timeout)) {
+			asyncResponse.resume(invalidTimeoutResponse());
+			return;
+		}
+		cleanupExpired();
+
+		int waitSeconds = timeout == null ? DEFAULT_WATCH_TIMEOUT : timeout;
+		KerChanges result;
+		synchronized (changesLock) {
+			if (waitSeconds == 0 || !isCurrentRevision(since, sinceEpoch)) {
+				result = getChangesSince(since, sinceEpoch);
+			} else {
+				result = null;
+				asyncResponse.setTimeout(waitSeconds, TimeUnit.SECONDS);
+				asyncResponse.setTimeoutHandler(this::watchTimedOut);
+				watchers.add(asyncResponse);
+			}
+		}
+
+		if (result != null) {
+			resume(asyncResponse, result);
+		}
+	}
+
+	/**
+	 * Nothing changed while the watcher waited, so it receives no events.
+	 */
+	private void watchTimedOut(AsyncResponse asyncResponse) {
+		KerChanges result;
+		synchronized (changesLock) {
+			if (!watchers.remove(asyncResponse)) {
+				// it is already resumed because of a change
+				return;
+			}
+			result = newChanges(false);
+		}
+		resume(asyncResponse, result);
+	}
+
+	/**
+	 * The watcher may belong to a Knowledge Directory that is already stopped,
+	 * because this service outlives it. Such a watcher cannot be answered anymore.
+	 */
+	private void resume(AsyncResponse asyncResponse, KerChanges changes) {
+		try {
+			asyncResponse.resume(Response.status(200).entity(changes).build());
+		} catch (RuntimeException e) {
+			LOG.debug("Could not answer a watcher of the changes.", e);
+		}
+	}
+
+	private boolean isValidTimeout(Integer timeout) {
+		return timeout == null || (timeout >= 0 && timeout <= MAX_WATCH_TIMEOUT);
+	}
+
+	private Response invalidTimeoutResponse() {
+		return Response.status(400).entity("Timeout should be between 0 and " + MAX_WATCH_TIMEOUT + " seconds")
+				.build();
+	}
+
+	/**
+	 * Should be called while holding the {@link #changesLock}.
+	 * 
+	 * @return the changes after the given revision, or all registered KERs if
+	 *         these changes are no longer available.
+	 */
+	private KerChanges getChangesSince(Long since, String sinceEpoch) {
+		if (since == null || !isKnownRevision(since, sinceEpoch)) {
+			return getAllAsChanges();
+		}
+
+		KerChanges result = newChanges(false);
+		for (KerChangeEvent event : changes) {
+			if (event.getRevision() > since) {
+				result.addEventsItem(event);
+			}
+		}
+		return result;
+	}
+
+	private void recordChange(TypeEnum type, String kerId, KnowledgeEngineRuntimeConnectionDetails ker) {
+		List<AsyncResponse> waiting;
+		KerChangeEvent event;
+		long newRevision;
+		synchronized (changesLock) {
+			this.revision++;
+			newRevision = this.revision;
+			event = new KerChangeEvent().revision(this.revision).type(type).kerId(kerId).ker(ker);
+			changes.addLast(event);
+			while (changes.size() > MAX_CHANGE_EVENTS) {
+				changes.removeFirst();
+			}
+			waiting = new ArrayList<>(watchers);
+			watchers.clear();
+		}
+
+		// all watchers waited for the previous revision, so this is their only change.
+		for (AsyncResponse watcher : waiting) {
+			resume(watcher, new KerChanges().epoch(this.epoch).revision(newRevision).full(false).addEventsItem(event));
+		}
+	}
+
+	/**
+	 * Should be called while holding the {@link #changesLock}.
+	 */
+	private boolean isCurrentRevision(Long since, String sinceEpoch) {
+		return since != null && since == this.revision && isCurrentEpoch(sinceEpoch);
+	}
+
+	/**
+	 * Watchers that do not send an epoch (i.e. older versions) are assumed to
+	 * know about the current one.
+	 */
+	private boolean isCurrentEpoch(String sinceEpoch) {
+		return sinceEpoch == null || sinceEpoch.equals(this.epoch);
+	}
+
+	/**
+	 * @return whether all changes after the given revision are still available.
+	 */
+	private boolean isKnownRevision(long since, String sinceEpoch) {
+		if (!isCurrentEpoch(sinceEpoch)) {
+			// from before a restart of the knowledge directory
+			return false;
+		}
+		if (since > this.revision) {
+			// probably from before a restart of the knowledge directory
+			return false;
+		}
+		return since == this.revision || (!changes.isEmpty() && changes.getFirst().getRevision() <= since + 1);
+	}
+
+	private KerChanges getAllAsChanges() {
+		KerChanges result = newChanges(true);
+		for (KnowledgeEngineRuntimeConnectionDetails ker : kers.values()) {
+			result.addEventsItem(
+					new KerChangeEvent().revision(this.revision).type(TypeEnum.ADDED).kerId(ker.getId()).ker(ker));
+		}
+		return result;
+	}
+
+	private KerChanges newChanges(boolean full) {
+		return new KerChanges().epoch(this.epoch).revision(this.revision).full(full);
+	}
+
 }
@@ -0,0 +1,28 @@
+package eu.knowledge.engine.knowledgedirectory;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+
+import eu.knowledge.engine.knowledgedirectory.api.factories.KerApiServiceFactory;
+
+/**
+ * Watching the changes to the registered Knowledge Engine Runtimes is a long
+ * poll, so it is served asynchronously instead of by the generated
+ * {@link eu.knowledge.engine.knowledgedirectory.api.KerApi}, which leaves it out
+ * because it is marked as internal in the specification. This way, waiting
+ * watchers do not occupy a request thread of the Knowledge Directory.
+ */
+@Path("/ker/changes")
+public class KerChangesApi {
+
+	@GET
+	@Produces({ "application/json; charset=UTF-8", "text/plain; charset=UTF-8" })
+	public void kerChangesGet(@QueryParam("since") Long since, @QueryParam("epoch") String epoch,
+			@QueryParam("timeout") Integer timeout, @Suspended AsyncResponse asyncResponse) {
+		((KerApiImpl) KerApiServiceFactory.getKerApi()).watchChanges(since, epoch, timeout, asyncResponse);
+	}
+}
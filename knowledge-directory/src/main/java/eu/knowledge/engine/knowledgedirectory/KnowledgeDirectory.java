@@ -42,6 +42,7 @@ public class KnowledgeDirectory {
 		ServletHolder serHol = new ServletHolder(ServletContainer.class);
 		ctx.addServlet(serHol, "/*");
 		serHol.setInitOrder(1);
+		serHol.setAsyncSupported(true);
 		serHol.setInitParameter("jersey.config.server.provider.packages", "eu.knowledge.engine.knowledgedirectory");
 
 		server.start();
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumSet;
@@ -26,6 +27,7 @@ import eu.knowledge.engine.reasoner.api.Binding;
 import eu.knowledge.engine.reasoner.api.BindingSet;
 import eu.knowledge.engine.reasoner.api.TripleNode;
 import eu.knowledge.engine.reasoner.api.TriplePattern;
+import eu.knowledge.engine.reasoner.rulestore.RuleIndex;
 import eu.knowledge.engine.reasoner.rulestore.RuleStore;
 
 public class BaseRule {
@@ -41,6 +43,18 @@ public class BaseRule {
 	 */
 	private int hashCodeValue;
 
+	/**
+	 * The maximum number of combi matches that {@link #getMatches} keeps while
+	 * searching, or 0 if there is no maximum.
+	 */
+	private static volatile int maxCombiMatches = 0;
+
+	/**
+	 * The number of milliseconds after which {@link #getMatches} stops growing the
+	 * number of combi matches it keeps, or 0 if there is no timeout.
+	 */
+	private static volatile long matchTimeout = 0;
+
 	/**
 	 * A comparator to make sure the smaller matches collection is ordered from big
 	 * to small.
@@ -336,16 +350,43 @@ public class BaseRule {
 		return true;
 	}
 
+	/**
+	 * Limit the work {@link #getMatches} does for big graph patterns, where the
+	 * number of combi matches can explode. When one of the limits is reached, only
+	 * the biggest combi matches found so far are extended with the remaining
+	 * triple patterns, so the result may miss some matches.
+	 * 
+	 * @param aMaxCombiMatches The maximum number of combi matches kept while
+	 *                         searching, or 0 for no maximum.
+	 * @param aTimeout         The number of milliseconds after which the number
+	 *                         of combi matches kept no longer grows, or 0 for no
+	 *                         timeout.
+	 */
+	public static void setMatchBudget(int aMaxCombiMatches, long aTimeout) {
+		maxCombiMatches = aMaxCombiMatches;
+		matchTimeout = aTimeout;
+	}
+
 	public static Map<TriplePattern, Set<CombiMatch>> getMatchesPerTriplePerRule(Set<TriplePattern> aTargetPattern,
 			List<BaseRule> allCandidateRules, boolean useCandidateConsequent) {
 
 		Map<TriplePattern, Set<CombiMatch>> matchesPerRule = new HashMap<>();
 
-		for (BaseRule candidateRule : allCandidateRules) {
+		// the index of every target triple pattern in the coverage of combi matches.
+		Map<TriplePattern, Integer> targetIndex = new HashMap<>();
+		for (TriplePattern tp : aTargetPattern) {
+			targetIndex.put(tp, targetIndex.size());
+		}
+
+		// most candidate rules use other predicates than the target pattern, so only
+		// compare the triple patterns of rules that can possibly match.
+		RuleIndex candidateIndex = new RuleIndex(useCandidateConsequent, allCandidateRules);
+
+		for (TriplePattern tripleTarget : aTargetPattern) {
 			// first find all triples in the consequent that match each triple in the
 			// antecedent
 			List<Match> foundMatches;
-			for (TriplePattern tripleTarget : aTargetPattern) {
+			for (BaseRule candidateRule : candidateIndex.getCandidates(tripleTarget)) {
 				// find all possible matches of the current antecedent triple in the consequent
 				if (useCandidateConsequent ? !candidateRule.consequent.isEmpty()
 						: !candidateRule.antecedent.isEmpty()) {
@@ -360,7 +401,7 @@ public class BaseRule {
 						}
 
 						for (Match m : foundMatches) {
-							CombiMatch newCombiMatch = new CombiMatch();
+							CombiMatch newCombiMatch = new CombiMatch(targetIndex);
 							Set<Match> newMatchSet = new HashSet<>();
 							newMatchSet.add(m);
 							newCombiMatch.put(candidateRule, newMatchSet);
@@ -421,6 +462,11 @@ public class BaseRule {
 		Iterator<Map.Entry<TriplePattern, Set<CombiMatch>>> triplePatternMatchesIter = combiMatchesPerTriple.entrySet()
 				.iterator();
 
+		int maxMatches = maxCombiMatches;
+		long timeout = matchTimeout;
+		long deadline = timeout > 0 ? System.currentTimeMillis() + timeout : Long.MAX_VALUE;
+		boolean timedOut = false;
+
 		if (triplePatternMatchesIter.hasNext()) {
 			Set<CombiMatch> value = triplePatternMatchesIter.next().getValue();
 			LOG.trace("{}/{} ({}): biggest: {}, smaller: {} ({})", 1, combiMatchesPerTriple.size(), value.size(),
@@ -512,6 +558,17 @@ public class BaseRule {
 			// add all toBeAddedMatches
 			biggestMatches.addAll(toBeAddedToBiggestMatches);
 			smallerMatches.addAll(toBeAddedToSmallerMatches);
+
+			if (!timedOut && System.currentTimeMillis() > deadline) {
+				timedOut = true;
+				LOG.warn("Matching {} took more than {}ms, continuing with the {} biggest combi matches found so far.",
+						aTargetRule, timeout, biggestMatches.size());
+				int limit = Math.max(1, biggestMatches.size());
+				maxMatches = maxMatches > 0 ? Math.min(maxMatches, limit) : limit;
+			}
+
+			if (maxMatches > 0)
+				keepBiggestCombiMatches(biggestMatches, smallerMatches, maxMatches);
 		}
 
 		toBeAddedToBiggestMatches = null;
@@ -543,6 +600,30 @@ public class BaseRule {
 		}
 	}
 
+	/**
+	 * Removes the smallest combi matches until at most {@code aMax} combi matches
+	 * remain, where the smaller matches are removed before the biggest matches.
+	 */
+	private static void keepBiggestCombiMatches(List<CombiMatch> biggestMatches, List<CombiMatch> smallerMatches,
+			int aMax) {
+		if (biggestMatches.size() + smallerMatches.size() <= aMax)
+			return;
+
+		LOG.debug("Keeping {} out of {} combi matches.", aMax, biggestMatches.size() + smallerMatches.size());
+
+		var comparator = new CombiMatchSizeComparator();
+		if (biggestMatches.size() > aMax) {
+			biggestMatches.sort(comparator);
+			biggestMatches.subList(aMax, biggestMatches.size()).clear();
+		}
+
+		int maxSmaller = aMax - biggestMatches.size();
+		if (smallerMatches.size() > maxSmaller) {
+			smallerMatches.sort(comparator);
+			smallerMatches.subList(maxSmaller, smallerMatches.size()).clear();
+		}
+	}
+
 	private static boolean isSubCombiMatch(CombiMatch aSmallerMatch, List<CombiMatch> toBeAddedToBiggestMatches) {
 
 		for (CombiMatch combiMatch : toBeAddedToBiggestMatches) {
@@ -673,8 +754,20 @@ public class BaseRule {
 	private static class CombiMatch extends HashMap<BaseRule, Set<Match>> {
 		private static final long serialVersionUID = 1L;
 
-		public CombiMatch() {
+		/**
+		 * The index of every target triple pattern in the coverage.
+		 */
+		private final Map<TriplePattern, Integer> targetIndex;
+
+		/**
+		 * The target triple patterns covered by this combi match, which is
+		 * calculated when needed and cleared when the combi match changes.
+		 */
+		private volatile BitSet coverage;
+
+		public CombiMatch(Map<TriplePattern, Integer> aTargetIndex) {
 			super();
+			this.targetIndex = aTargetIndex;
 		}
 
 		/**
@@ -685,6 +778,12 @@ public class BaseRule {
 		 */
 		public boolean isSubMatch(CombiMatch aMatch) {
 
+			// a sub combi match cannot cover target triple patterns that we do not cover.
+			BitSet notCovered = (BitSet) aMatch.getCoverage().clone();
+			notCovered.andNot(this.getCoverage());
+			if (!notCovered.isEmpty())
+				return false;
+
 			for (Map.Entry<BaseRule, Set<Match>> entry : aMatch.entrySet()) {
 
 				if (!this.containsKey(entry.getKey())) {
@@ -714,6 +813,13 @@ public class BaseRule {
 
 		public CombiMatch(CombiMatch aBiggestCombiMatch) {
 			super(aBiggestCombiMatch);
+			this.targetIndex = aBiggestCombiMatch.targetIndex;
+		}
+
+		@Override
+		public Set<Match> put(BaseRule aRule, Set<Match> someMatches) {
+			this.coverage = null;
+			return super.put(aRule, someMatches);
 		}
 
 		public String toString() {
@@ -728,16 +834,22 @@ public class BaseRule {
 		}
 
 		public int getSize() {
+			return this.getCoverage().cardinality();
+		}
 
-			Set<TriplePattern> tps = new HashSet<TriplePattern>();
-			for (Map.Entry<BaseRule, Set<Match>> entry : this.entrySet()) {
-
-				for (Match m : entry.getValue()) {
-					tps.addAll(m.getMatchingPatterns().values());
+		public BitSet getCoverage() {
+			if (this.coverage == null) {
+				BitSet newCoverage = new BitSet(this.targetIndex.size());
+				for (Map.Entry<BaseRule, Set<Match>> entry : this.entrySet()) {
+					for (Match m : entry.getValue()) {
+						for (TriplePattern tp : m.getMatchingPatterns().values()) {
+							newCoverage.set(this.targetIndex.get(tp));
+						}
+					}
 				}
+				this.coverage = newCoverage;
 			}
-
-			return tps.size();
+			return this.coverage;
 		}
 	}
 }
@@ -7,7 +7,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +19,7 @@ import eu.knowledge.engine.reasoner.BaseRule.MatchFlag;
 import eu.knowledge.engine.reasoner.api.Binding;
 import eu.knowledge.engine.reasoner.api.BindingSet;
 import eu.knowledge.engine.reasoner.api.TriplePattern;
+import eu.knowledge.engine.reasoner.api.TripleVarBinding;
 import eu.knowledge.engine.reasoner.api.TripleVarBindingSet;
 import eu.knowledge.engine.reasoner.rulenode.ActiveAntRuleNode;
 import eu.knowledge.engine.reasoner.rulenode.ActiveConsRuleNode;
@@ -42,6 +46,14 @@ public class ReasonerPlan {
 	private EnumSet<MatchFlag> matchConfig = EnumSet.noneOf(MatchFlag.class);
 	private boolean useTaskBoard = true;
 
+	/**
+	 * The propagations of the filter and result binding sets between every pair of
+	 * neighbouring nodes, so that only the bindings that are new since the
+	 * previous round need to be translated.
+	 */
+	private final Map<RuleNode, Map<RuleNode, Propagation>> filterPropagations = new HashMap<>();
+	private final Map<RuleNode, Map<RuleNode, Propagation>> resultPropagations = new HashMap<>();
+
 	public ReasonerPlan(RuleStore aStore, ProactiveRule aStartRule) {
 		this.store = aStore;
 		this.start = aStartRule;
@@ -130,8 +142,10 @@ public class ReasonerPlan {
 					TripleVarBindingSet toBeFilterPropagated = current.getFilterBindingSetOutput();
 					assert current instanceof AntSide;
 					((AntSide) current).getAntecedentNeighbours().forEach((n, matches) -> {
-						var translated = toBeFilterPropagated.translate(n.getRule().getConsequent(),
-								Match.invertAll(matches));
+						var translated = this.filterPropagations
+								.computeIfAbsent(current, k -> new HashMap<>())
+								.computeIfAbsent(n, k -> new Propagation(n.getRule().getConsequent(), matches))
+								.translate(toBeFilterPropagated);
 						boolean itChanged = ((ConsSide) n).addFilterBindingSetInput(current, translated);
 						if (itChanged) {
 							changed.add(n);
@@ -144,8 +158,10 @@ public class ReasonerPlan {
 					TripleVarBindingSet toBeResultPropagated = current.getResultBindingSetOutput();
 					assert current instanceof ConsSide;
 					((ConsSide) current).getConsequentNeighbours().forEach((n, matches) -> {
-						var translated = toBeResultPropagated.translate(n.getRule().getAntecedent(),
-								Match.invertAll(matches));
+						var translated = this.resultPropagations
+								.computeIfAbsent(current, k -> new HashMap<>())
+								.computeIfAbsent(n, k -> new Propagation(n.getRule().getAntecedent(), matches))
+								.translate(toBeResultPropagated);
 
 						TripleVarBindingSet beforeBindingSet = n.getResultBindingSetInput();
 						boolean itChanged = ((AntSide) n).addResultBindingSetInput(current, translated);
@@ -171,6 +187,226 @@ public class ReasonerPlan {
 		return taskBoard;
 	}
 
+	/**
+	 * Executes this plan until it is done, including the tasks on the
+	 * {@link TaskBoard}. Unlike calling {@link #execute(BindingSet)} and
+	 * {@link TaskBoard#executeScheduledTasks()} in turns, the result of every task
+	 * is propagated as soon as that task is completed, and the tasks that become
+	 * ready are executed immediately. So, a slow task does not delay the tasks
+	 * that do not depend on it.
+	 * 
+	 * The results of the tasks are processed on the thread that completes them,
+	 * but never concurrently with each other or with the propagation of the binding
+	 * sets.
+	 * 
+	 * @return a future that is completed when this plan is done and
+	 *         {@link #getResults()} can be called.
+	 */
+	public CompletableFuture<Void> executeAsync(BindingSet bindingSet) {
+		return this.executeAsync(bindingSet, null);
+	}
+
+	/**
+	 * Same as {@link #executeAsync(BindingSet)}, but the bindings that arrive at
+	 * the start node of a backward plan are also given to
+	 * {@code aPartialResultConsumer} as soon as they are derived, instead of only
+	 * being available via {@link #getResults()} when the plan is done. Every
+	 * binding is given at most once, and the consumer is never called
+	 * concurrently. The result of {@link #getResults()} remains leading.
+	 * 
+	 * @param aPartialResultConsumer the consumer of the new bindings, or
+	 *                               {@code null} if the partial results are not
+	 *                               needed.
+	 * @return a future that is completed when this plan is done and
+	 *         {@link #getResults()} can be called.
+	 */
+	public CompletableFuture<Void> executeAsync(BindingSet bindingSet,
+			Consumer<BindingSet> aPartialResultConsumer) {
+		if (aPartialResultConsumer != null && !this.isBackward())
+			throw new IllegalArgumentException("Partial results are only available for backward reasoning plans.");
+
+		var execution = new AsyncExecution(bindingSet, aPartialResultConsumer);
+		execution.serialExecutor.execute(execution::propagate);
+		return execution.future;
+	}
+
+	/**
+	 * Keeps track of the tasks of a single call to {@link #executeAsync}. All its
+	 * methods are called via the {@link #serialExecutor}.
+	 */
+	private class AsyncExecution {
+		private final BindingSet bindingSet;
+		private final CompletableFuture<Void> future = new CompletableFuture<>();
+		private final SerialExecutor serialExecutor = new SerialExecutor();
+
+		/**
+		 * The nodes whose rule is being applied.
+		 */
+		private final Set<RuleNode> running = new HashSet<>();
+
+		/**
+		 * The running nodes that should apply their rule again when they are
+		 * finished, because their input changed in the meantime.
+		 */
+		private final Set<RuleNode> rerun = new HashSet<>();
+
+		private final Consumer<BindingSet> partialResultConsumer;
+
+		/**
+		 * The bindings that were already given to the
+		 * {@link #partialResultConsumer}.
+		 */
+		private final BindingSet emitted = new BindingSet();
+
+		/**
+		 * The result input of the start node when the partial results were last
+		 * determined. Its binding set store returns the same instance as long as it
+		 * did not change, so we only look for new bindings when it is different.
+		 */
+		private TripleVarBindingSet lastStartInput;
+
+		public AsyncExecution(BindingSet aBindingSet, Consumer<BindingSet> aPartialResultConsumer) {
+			this.bindingSet = aBindingSet;
+			this.partialResultConsumer = aPartialResultConsumer;
+		}
+
+		private void propagate() {
+			if (this.future.isDone())
+				return;
+
+			try {
+				TaskBoard taskBoard = ReasonerPlan.this.execute(this.bindingSet);
+				for (RuleNode node : taskBoard.getTasks()) {
+					if (this.running.add(node))
+						this.start(node);
+					else
+						this.rerun.add(node);
+				}
+				this.emitPartialResults();
+			} catch (RuntimeException e) {
+				this.future.completeExceptionally(e);
+				return;
+			}
+
+			if (this.running.isEmpty())
+				this.future.complete(null);
+		}
+
+		private void emitPartialResults() {
+			if (this.partialResultConsumer == null)
+				return;
+
+			TripleVarBindingSet startInput = ReasonerPlan.this.getStartNode().getResultBindingSetInput();
+			if (startInput == this.lastStartInput)
+				return;
+			this.lastStartInput = startInput;
+
+			BindingSet newBindings = new BindingSet();
+			for (Binding b : startInput.getFullBindingSet().toBindingSet()) {
+				if (this.emitted.add(b))
+					newBindings.add(b);
+			}
+
+			if (!newBindings.isEmpty()) {
+				try {
+					this.partialResultConsumer.accept(newBindings);
+				} catch (RuntimeException e) {
+					LOG.warn("Consuming partial results should not fail.", e);
+				}
+			}
+		}
+
+		private void start(RuleNode aNode) {
+			LOG.trace("Applying rule of {}", aNode);
+			CompletableFuture<Void> applied;
+			try {
+				applied = aNode.applyRule(this.serialExecutor);
+			} catch (RuntimeException e) {
+				applied = CompletableFuture.failedFuture(e);
+			}
+			applied.whenCompleteAsync((result, throwable) -> this.finished(aNode, throwable), this.serialExecutor);
+		}
+
+		private void finished(RuleNode aNode, Throwable aThrowable) {
+			if (aThrowable != null) {
+				LOG.error("Applying the rule of {} should not fail.", aNode, aThrowable);
+				this.future.completeExceptionally(aThrowable);
+				return;
+			}
+
+			if (this.rerun.remove(aNode)) {
+				this.start(aNode);
+			} else {
+				this.running.remove(aNode);
+				this.propagate();
+			}
+		}
+	}
+
+	/**
+	 * Runs the given tasks one at a time in the order in which they were given. A
+	 * task is run by the thread that gives it, unless another thread is already
+	 * running tasks, in which case that thread also runs this one.
+	 */
+	private static class SerialExecutor implements Executor {
+		private final Deque<Runnable> tasks = new ArrayDeque<>();
+		private boolean running = false;
+
+		@Override
+		public void execute(Runnable aTask) {
+			synchronized (this) {
+				this.tasks.add(aTask);
+				if (this.running)
+					return;
+				this.running = true;
+			}
+
+			while (true) {
+				Runnable next;
+				synchronized (this) {
+					next = this.tasks.poll();
+					if (next == null) {
+						this.running = false;
+						return;
+					}
+				}
+				try {
+					next.run();
+				} catch (RuntimeException e) {
+					LOG.error("Tasks of the reasoner plan should not throw exceptions.", e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Resets the binding sets of all the nodes in this plan, so that the plan can
+	 * be executed again (possibly with a different binding set) without having to
+	 * rebuild it. The structure of the plan (i.e. the nodes and how they match)
+	 * remains the same.
+	 */
+	public void reset() {
+		for (RuleNode node : this.ruleToRuleNode.values()) {
+			node.reset();
+		}
+		this.filterPropagations.clear();
+		this.resultPropagations.clear();
+		this.done = false;
+	}
+
+	/**
+	 * Creates a new plan with the same store, start rule and configuration as this
+	 * plan. Since the store caches the matches between its rules, this is much
+	 * cheaper than creating the first plan. Unlike {@link #reset()}, this plan
+	 * keeps the binding sets of its executions, so they can still be inspected
+	 * while the new plan executes.
+	 */
+	public ReasonerPlan copy() {
+		ReasonerPlan plan = new ReasonerPlan(this.store, this.start, this.matchConfig);
+		plan.setUseTaskBoard(this.useTaskBoard);
+		return plan;
+	}
+
 	public boolean isDone() {
 		return this.done;
 	}
@@ -358,6 +594,53 @@ public class ReasonerPlan {
 		return this.store;
 	}
 
+	/**
+	 * Translates the binding sets that one node propagates to one of its
+	 * neighbours. Rounds of {@link ReasonerPlan#execute(BindingSet)} mostly add
+	 * bindings to the binding set of a node, and since every binding is translated
+	 * independently of the others, only the bindings that were added since the
+	 * previous translation (the delta) are translated and added to the previous
+	 * result. If bindings were removed, the whole binding set is translated again.
+	 */
+	private static class Propagation {
+		private final Set<TriplePattern> graphPattern;
+		private final Set<Match> inverseMatches;
+		private TripleVarBindingSet previous;
+		private TripleVarBindingSet previousTranslated;
+
+		public Propagation(Set<TriplePattern> aGraphPattern, Set<Match> someMatches) {
+			this.graphPattern = aGraphPattern;
+			this.inverseMatches = Match.invertAll(someMatches);
+		}
+
+		public TripleVarBindingSet translate(TripleVarBindingSet aBindingSet) {
+			TripleVarBindingSet translated;
+			if (this.previous != null && aBindingSet.getBindings().containsAll(this.previous.getBindings())) {
+				var delta = new TripleVarBindingSet(aBindingSet.getGraphPattern());
+				for (TripleVarBinding tvb : aBindingSet.getBindings()) {
+					if (!this.previous.getBindings().contains(tvb))
+						delta.add(tvb);
+				}
+				LOG.trace("Translating delta of {} out of {} bindings.", delta.getBindings().size(),
+						aBindingSet.getBindings().size());
+
+				// the previous translation was handed out, so do not change it.
+				translated = new TripleVarBindingSet(this.graphPattern);
+				translated.addAll(this.previousTranslated.getBindings());
+				translated.addAll(delta.translate(this.graphPattern, this.inverseMatches).getBindings());
+			} else {
+				translated = aBindingSet.translate(this.graphPattern, this.inverseMatches);
+			}
+
+			// copy the bindings, because the binding set might change after it was
+			// propagated.
+			this.previous = new TripleVarBindingSet(aBindingSet.getGraphPattern());
+			this.previous.addAll(aBindingSet.getBindings());
+			this.previousTranslated = translated;
+			return translated;
+		}
+	}
+
 	@Override
 	public String toString() {
 		return "ReasonerPlan [link=" + this.store.getGraphVizCode(this, true) + "]";
@@ -1,5 +1,6 @@
 package eu.knowledge.engine.reasoner;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -8,6 +9,7 @@ import java.util.concurrent.Future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.knowledge.engine.reasoner.api.BindingSet;
 import eu.knowledge.engine.reasoner.rulenode.RuleNode;
 
 /**
@@ -49,10 +51,16 @@ public class TaskBoard {
 		return this.tasks.contains(node);
 	}
 
+	public Set<RuleNode> getTasks() {
+		return Collections.unmodifiableSet(this.tasks);
+	}
+
 	/**
 	 * Executes all tasks that are on the taskboard and returns a future that is
 	 * completed when all the tasks have been completed (i.e. a bindingset has been
-	 * returned by the bindingsethandlers).
+	 * returned by the bindingsethandlers). See
+	 * {@link ReasonerPlan#executeAsync(BindingSet)} to continue reasoning as soon
+	 * as a single task has been completed.
 	 * 
 	 * @return
 	 */
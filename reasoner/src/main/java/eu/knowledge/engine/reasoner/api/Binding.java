@@ -6,7 +6,6 @@ import java.util.Map;
 import org.apache.jena.graph.Node;
 import org.apache.jena.sparql.core.Var;
 import org.apache.jena.sparql.graph.PrefixMappingZero;
-import org.apache.jena.sparql.sse.SSE;
 import org.apache.jena.sparql.util.FmtUtils;
 
 public class Binding extends HashMap<Var, Node> {
@@ -26,7 +25,7 @@ public class Binding extends HashMap<Var, Node> {
 	}
 
 	public Binding(String variable, String val) {
-		this(Var.alloc(variable), (Node) SSE.parseNode(val));
+		this(Var.alloc(variable), NodeDictionary.getInstance().parse(val));
 	}
 
 	public Binding(Binding b) {
@@ -47,7 +46,7 @@ public class Binding extends HashMap<Var, Node> {
 	}
 
 	public Node put(String variable, String val) {
-		Node n = SSE.parseNode(val);
+		Node n = NodeDictionary.getInstance().parse(val);
 		if (!n.isConcrete())
 			throw new IllegalArgumentException(
 					"Binding values should be concrete nodes (either RDF literals or RDF URIs).");
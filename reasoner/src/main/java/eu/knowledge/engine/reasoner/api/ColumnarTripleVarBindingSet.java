@@ -0,0 +1,492 @@
+package eu.knowledge.engine.reasoner.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.Var;
+
+/**
+ * A columnar alternative to {@link TripleVarBindingSet}. All bindings share a
+ * fixed schema that is derived from the graph pattern: one column per variable
+ * occurrence (i.e. {@link TripleNode}) in the graph pattern. A binding is a row
+ * in these columns and unbound variable occurrences are {@code null}.
+ *
+ * Storing the bindings in arrays instead of as separate {@link TripleVarBinding}
+ * objects (with two maps each) means that filtering and joining binding sets
+ * runs over plain arrays and does not allocate anything per binding, which
+ * matters for large binding sets. Just like the {@link TripleVarBindingSet},
+ * this is a set and duplicate bindings are ignored.
+ *
+ * Values are compared by reference, so they should be canonical nodes of the
+ * {@link NodeDictionary}. This is guaranteed when the bindings are added via
+ * {@link #add(TripleVarBinding)}.
+ */
+public class ColumnarTripleVarBindingSet {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final Schema schema;
+
+	/**
+	 * The values per column, i.e. {@code columns[column][row]}.
+	 */
+	private Node[][] columns;
+	private int[] rowHashes;
+	private int size;
+
+	/**
+	 * Open addressing hash table with the (row + 1) of every binding to detect
+	 * duplicates. Zero means empty.
+	 */
+	private int[] rowTable;
+
+	public ColumnarTripleVarBindingSet(Set<TriplePattern> aGraphPattern) {
+		this(new Schema(aGraphPattern));
+	}
+
+	public ColumnarTripleVarBindingSet(TripleVarBindingSet aBindingSet) {
+		this(aBindingSet.getGraphPattern());
+		this.addAll(aBindingSet);
+	}
+
+	private ColumnarTripleVarBindingSet(Schema aSchema) {
+		this.schema = aSchema;
+		this.columns = new Node[aSchema.columns.length][INITIAL_CAPACITY];
+		this.rowHashes = new int[INITIAL_CAPACITY];
+		this.rowTable = new int[INITIAL_CAPACITY * 2];
+		this.size = 0;
+	}
+
+	/**
+	 * @return an empty binding set with the same schema as this one.
+	 */
+	public ColumnarTripleVarBindingSet emptyCopy() {
+		return new ColumnarTripleVarBindingSet(this.schema);
+	}
+
+	public Set<TriplePattern> getGraphPattern() {
+		return this.schema.graphPattern;
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Add the given binding. Just like {@link TripleVarBindingSet#add}, this does
+	 * not check whether its triple vars occur in the graph pattern of this binding
+	 * set. Triple vars that do not occur in it are dropped, because there is no
+	 * column for them.
+	 *
+	 * @return whether the binding was not yet present.
+	 */
+	public boolean add(TripleVarBinding aBinding) {
+		Node[] row = new Node[this.schema.columns.length];
+		for (Map.Entry<TripleNode, Node> entry : aBinding.entrySet()) {
+			Integer column = this.schema.columnIndex.get(entry.getKey());
+			if (column != null)
+				row[column] = entry.getValue();
+		}
+		return this.addRow(row);
+	}
+
+	public void addAll(TripleVarBindingSet aBindingSet) {
+		for (TripleVarBinding tvb : aBindingSet.getBindings()) {
+			this.add(tvb);
+		}
+	}
+
+	/**
+	 * @return the bindings that satisfy the given predicate on their row index.
+	 */
+	public ColumnarTripleVarBindingSet filter(IntPredicate aRowPredicate) {
+		ColumnarTripleVarBindingSet result = this.emptyCopy();
+		Node[] row = new Node[this.schema.columns.length];
+		for (int r = 0; r < this.size; r++) {
+			if (aRowPredicate.test(r)) {
+				this.copyRow(r, row);
+				result.addRow(row);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return bindings in which all variable instances are present.
+	 */
+	public ColumnarTripleVarBindingSet getFullBindingSet() {
+		return this.filter(r -> {
+			for (Node[] column : this.columns) {
+				if (column[r] == null)
+					return false;
+			}
+			return true;
+		});
+	}
+
+	/**
+	 * Only keep those bindings in {@code this} bindingset that do not conflict with
+	 * at least one binding in the given {@code aBindingSet}. Just like
+	 * {@link TripleVarBindingSet#keepCompatible(TripleVarBindingSet)}, an empty
+	 * binding set (or an empty binding) is compatible with everything.
+	 */
+	public ColumnarTripleVarBindingSet keepCompatible(ColumnarTripleVarBindingSet aBindingSet) {
+		this.checkSchema(aBindingSet);
+		if (aBindingSet.isEmpty())
+			return this.filter(r -> true);
+
+		return this.filter(r -> {
+			for (int r2 = 0; r2 < aBindingSet.size; r2++) {
+				if (!this.isConflicting(r, aBindingSet, r2))
+					return true;
+			}
+			return false;
+		});
+	}
+
+	/**
+	 * The union of the two bindingsets together with the merged version of every
+	 * pair of non-conflicting bindings from both bindingsets. This is the columnar
+	 * equivalent of {@link TripleVarBindingSet#merge(TripleVarBindingSet)} and
+	 * uses the same hash join on the variables that groups of bindings share.
+	 */
+	public ColumnarTripleVarBindingSet merge(ColumnarTripleVarBindingSet aBindingSet) {
+		this.checkSchema(aBindingSet);
+		ColumnarTripleVarBindingSet result = this.emptyCopy();
+		Node[] row = new Node[this.schema.columns.length];
+
+		for (int r = 0; r < aBindingSet.size; r++) {
+			aBindingSet.copyRow(r, row);
+			result.addRow(row);
+		}
+
+		if (this.isEmpty())
+			return result;
+
+		for (int r = 0; r < this.size; r++) {
+			this.copyRow(r, row);
+			result.addRow(row);
+		}
+
+		Map<BitSet, int[]> thisGroups = this.groupByVars();
+		Map<BitSet, int[]> otherGroups = aBindingSet.groupByVars();
+
+		for (Map.Entry<BitSet, int[]> thisGroup : thisGroups.entrySet()) {
+			for (Map.Entry<BitSet, int[]> otherGroup : otherGroups.entrySet()) {
+				BitSet shared = (BitSet) thisGroup.getKey().clone();
+				shared.and(otherGroup.getKey());
+
+				if (shared.isEmpty()) {
+					// Cartesian product is the base case
+					for (int r1 : thisGroup.getValue()) {
+						for (int r2 : otherGroup.getValue()) {
+							this.mergeRows(r1, aBindingSet, r2, row);
+							result.addRow(row);
+						}
+					}
+				} else {
+					this.join(thisGroup.getValue(), aBindingSet, otherGroup.getValue(), shared.stream().toArray(),
+							result, row);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Add the merged version of every pair of rows from {@code someRows} and
+	 * {@code someOtherRows} that have the same values for {@code someSharedVars}
+	 * to {@code aResult}.
+	 */
+	private void join(int[] someRows, ColumnarTripleVarBindingSet anOther, int[] someOtherRows,
+			int[] someSharedVars, ColumnarTripleVarBindingSet aResult, Node[] aRow) {
+
+		// chained hash index on the other rows
+		int mask = tableSize(someOtherRows.length) - 1;
+		int[] heads = new int[mask + 1];
+		Arrays.fill(heads, -1);
+		int[] next = new int[someOtherRows.length];
+		for (int i = 0; i < someOtherRows.length; i++) {
+			int bucket = anOther.varsHash(someOtherRows[i], someSharedVars) & mask;
+			next[i] = heads[bucket];
+			heads[bucket] = i;
+		}
+
+		for (int r1 : someRows) {
+			int bucket = this.varsHash(r1, someSharedVars) & mask;
+			for (int i = heads[bucket]; i != -1; i = next[i]) {
+				int r2 = someOtherRows[i];
+				if (this.sameVarValues(r1, anOther, r2, someSharedVars)) {
+					this.mergeRows(r1, anOther, r2, aRow);
+					aResult.addRow(aRow);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the rows of this binding set grouped by the variables they bind.
+	 */
+	private Map<BitSet, int[]> groupByVars() {
+		Map<BitSet, List<Integer>> groups = new LinkedHashMap<>();
+		for (int r = 0; r < this.size; r++) {
+			BitSet vars = new BitSet(this.schema.vars.length);
+			for (int v = 0; v < this.schema.vars.length; v++) {
+				if (this.getVarValue(r, v) != null)
+					vars.set(v);
+			}
+			groups.computeIfAbsent(vars, k -> new ArrayList<>()).add(r);
+		}
+
+		Map<BitSet, int[]> result = new HashMap<>();
+		for (Map.Entry<BitSet, List<Integer>> group : groups.entrySet()) {
+			result.put(group.getKey(), group.getValue().stream().mapToInt(Integer::intValue).toArray());
+		}
+		return result;
+	}
+
+	/**
+	 * We assume all occurrences of a var have the same value, we just return the
+	 * first one found.
+	 */
+	private Node getVarValue(int aRow, int aVar) {
+		for (int column : this.schema.varColumns[aVar]) {
+			Node n = this.columns[column][aRow];
+			if (n != null)
+				return n;
+		}
+		return null;
+	}
+
+	private boolean isConflicting(int aRow, ColumnarTripleVarBindingSet anOther, int anOtherRow) {
+		for (int v = 0; v < this.schema.vars.length; v++) {
+			Node n1 = this.getVarValue(aRow, v);
+			if (n1 != null) {
+				Node n2 = anOther.getVarValue(anOtherRow, v);
+				if (n2 != null && n1 != n2)
+					return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean sameVarValues(int aRow, ColumnarTripleVarBindingSet anOther, int anOtherRow, int[] someVars) {
+		for (int v : someVars) {
+			if (this.getVarValue(aRow, v) != anOther.getVarValue(anOtherRow, v))
+				return false;
+		}
+		return true;
+	}
+
+	private int varsHash(int aRow, int[] someVars) {
+		int hash = 1;
+		for (int v : someVars) {
+			hash = 31 * hash + this.getVarValue(aRow, v).hashCode();
+		}
+		return spread(hash);
+	}
+
+	/**
+	 * Write the merge of row {@code aRow} of this binding set and row
+	 * {@code anOtherRow} of {@code anOther} into {@code aTarget}. The rows should
+	 * not conflict.
+	 */
+	private void mergeRows(int aRow, ColumnarTripleVarBindingSet anOther, int anOtherRow, Node[] aTarget) {
+		for (int c = 0; c < aTarget.length; c++) {
+			Node n = this.columns[c][aRow];
+			aTarget[c] = n != null ? n : anOther.columns[c][anOtherRow];
+		}
+	}
+
+	private void copyRow(int aRow, Node[] aTarget) {
+		for (int c = 0; c < aTarget.length; c++) {
+			aTarget[c] = this.columns[c][aRow];
+		}
+	}
+
+	/**
+	 * Add a copy of the given row if it is not yet present.
+	 *
+	 * @return whether the row was added.
+	 */
+	private boolean addRow(Node[] aRow) {
+		int hash = rowHash(aRow);
+		int mask = this.rowTable.length - 1;
+		int slot = hash & mask;
+		while (this.rowTable[slot] != 0) {
+			int r = this.rowTable[slot] - 1;
+			if (this.rowHashes[r] == hash && this.rowEquals(r, aRow))
+				return false;
+			slot = (slot + 1) & mask;
+		}
+
+		if (this.size == this.rowHashes.length)
+			this.grow();
+
+		int r = this.size++;
+		for (int c = 0; c < aRow.length; c++) {
+			this.columns[c][r] = aRow[c];
+		}
+		this.rowHashes[r] = hash;
+
+		if (this.size * 2 > this.rowTable.length)
+			this.rehash(this.rowTable.length * 2);
+		else
+			this.rowTable[slot] = r + 1;
+
+		return true;
+	}
+
+	private boolean rowEquals(int aRow, Node[] anOtherRow) {
+		for (int c = 0; c < anOtherRow.length; c++) {
+			if (this.columns[c][aRow] != anOtherRow[c])
+				return false;
+		}
+		return true;
+	}
+
+	private void grow() {
+		int capacity = this.rowHashes.length * 2;
+		for (int c = 0; c < this.columns.length; c++) {
+			this.columns[c] = Arrays.copyOf(this.columns[c], capacity);
+		}
+		this.rowHashes = Arrays.copyOf(this.rowHashes, capacity);
+	}
+
+	private void rehash(int aTableSize) {
+		this.rowTable = new int[aTableSize];
+		int mask = aTableSize - 1;
+		for (int r = 0; r < this.size; r++) {
+			int slot = this.rowHashes[r] & mask;
+			while (this.rowTable[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			this.rowTable[slot] = r + 1;
+		}
+	}
+
+	private static int rowHash(Node[] aRow) {
+		return spread(Arrays.hashCode(aRow));
+	}
+
+	private static int spread(int aHash) {
+		return aHash ^ (aHash >>> 16);
+	}
+
+	/**
+	 * @return the smallest power of two that is at least twice the given size.
+	 */
+	private static int tableSize(int aSize) {
+		return Integer.highestOneBit(Math.max(1, aSize) * 2 - 1) << 1;
+	}
+
+	private void checkSchema(ColumnarTripleVarBindingSet aBindingSet) {
+		if (!this.schema.equals(aBindingSet.schema))
+			throw new IllegalArgumentException("Binding sets should have the same graph pattern.");
+	}
+
+	public TripleVarBindingSet toTripleVarBindingSet() {
+		TripleVarBindingSet tvbs = new TripleVarBindingSet(this.schema.graphPattern);
+		for (int r = 0; r < this.size; r++) {
+			TripleVarBinding tvb = new TripleVarBinding();
+			for (int c = 0; c < this.columns.length; c++) {
+				Node n = this.columns[c][r];
+				if (n != null)
+					tvb.put(this.schema.columns[c], n);
+			}
+			tvbs.add(tvb);
+		}
+		return tvbs;
+	}
+
+	public BindingSet toBindingSet() {
+		BindingSet bs = new BindingSet();
+		for (int r = 0; r < this.size; r++) {
+			Binding b = new Binding();
+			for (int v = 0; v < this.schema.vars.length; v++) {
+				Node n = this.getVarValue(r, v);
+				if (n != null)
+					b.put(this.schema.vars[v], n);
+			}
+			bs.add(b);
+		}
+		return bs;
+	}
+
+	@Override
+	public String toString() {
+		return this.toTripleVarBindingSet().toString();
+	}
+
+	/**
+	 * The columns and variables of a graph pattern. Their order only depends on
+	 * the graph pattern, so binding sets of equal graph patterns are compatible.
+	 */
+	private static class Schema {
+		private final Set<TriplePattern> graphPattern;
+		private final TripleNode[] columns;
+		private final Map<TripleNode, Integer> columnIndex = new HashMap<>();
+		private final Var[] vars;
+		/**
+		 * The columns of every variable.
+		 */
+		private final int[][] varColumns;
+
+		public Schema(Set<TriplePattern> aGraphPattern) {
+			this.graphPattern = aGraphPattern;
+
+			List<TriplePattern> tps = new ArrayList<>(aGraphPattern);
+			tps.sort(Comparator.comparing(TriplePattern::toString));
+
+			List<TripleNode> tripleNodes = new ArrayList<>();
+			Map<Var, List<Integer>> columnsPerVar = new LinkedHashMap<>();
+			for (TriplePattern tp : tps) {
+				Node[] nodes = new Node[] { tp.getSubject(), tp.getPredicate(), tp.getObject() };
+				for (int i = 0; i < nodes.length; i++) {
+					if (nodes[i].isVariable()) {
+						columnsPerVar.computeIfAbsent((Var) nodes[i], k -> new ArrayList<>()).add(tripleNodes.size());
+						tripleNodes.add(new TripleNode(tp, nodes[i], i));
+					}
+				}
+			}
+
+			this.columns = tripleNodes.toArray(new TripleNode[tripleNodes.size()]);
+			for (int c = 0; c < this.columns.length; c++) {
+				this.columnIndex.put(this.columns[c], c);
+			}
+			this.vars = columnsPerVar.keySet().toArray(new Var[columnsPerVar.size()]);
+			this.varColumns = new int[this.vars.length][];
+			for (int v = 0; v < this.vars.length; v++) {
+				this.varColumns[v] = columnsPerVar.get(this.vars[v]).stream().mapToInt(Integer::intValue).toArray();
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return this.graphPattern.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Schema))
+				return false;
+			Schema other = (Schema) obj;
+			return this.graphPattern.equals(other.graphPattern) && Arrays.equals(this.columns, other.columns);
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package eu.knowledge.engine.reasoner.api;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.serializer.SerializationContext;
+import org.apache.jena.sparql.sse.SSE;
+import org.apache.jena.sparql.util.FmtUtils;
+
+/**
+ * A runtime-wide dictionary of the RDF terms that occur in bindings. Every
+ * term is represented by a single canonical {@link Node} instance, so that
+ * bindings can compare and hash their values by reference instead of
+ * comparing URIs and literals character by character. It also caches the
+ * (costly) conversion between terms and their string representation, which
+ * happens every time bindings cross the API boundary.
+ *
+ * Canonical nodes are only weakly referenced by this dictionary, so terms that
+ * are no longer used by any binding can be garbage collected. This is
+ * important, because most literals (e.g. measurements) are only used once.
+ */
+public class NodeDictionary {
+
+	/**
+	 * The maximum number of entries in the string caches.
+	 */
+	private static final int MAX_CACHE_SIZE = 10000;
+
+	private static final NodeDictionary INSTANCE = new NodeDictionary();
+
+	/**
+	 * The canonical node of every term, as a set of weak references that are
+	 * equal when their nodes are equal. It is concurrent, because every binding
+	 * that is created interns its values. References of nodes that are garbage
+	 * collected are removed via the {@link #staleNodes} queue.
+	 */
+	private final Map<WeakNode, WeakNode> canonicalNodes = new ConcurrentHashMap<>();
+	private final ReferenceQueue<Node> staleNodes = new ReferenceQueue<>();
+
+	private final Map<String, Node> parseCache = new LruCache<>(MAX_CACHE_SIZE);
+	private final Map<Node, String> formatCache = new LruCache<>(MAX_CACHE_SIZE);
+
+	public static NodeDictionary getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * @return the canonical node that is equal to {@code aNode}. All calls with
+	 *         equal nodes return the same instance, as long as that instance is
+	 *         in use.
+	 */
+	public Node intern(Node aNode) {
+		this.removeStaleNodes();
+		WeakNode ref = new WeakNode(aNode, this.staleNodes);
+		while (true) {
+			WeakNode existing = this.canonicalNodes.putIfAbsent(ref, ref);
+			if (existing == null)
+				return aNode;
+
+			Node canonical = existing.get();
+			if (canonical != null)
+				return canonical;
+
+			// collected after it was found, so try again without it
+			this.canonicalNodes.remove(existing, existing);
+		}
+	}
+
+	private void removeStaleNodes() {
+		Reference<? extends Node> ref;
+		while ((ref = this.staleNodes.poll()) != null) {
+			this.canonicalNodes.remove(ref, ref);
+		}
+	}
+
+	/**
+	 * Parse the given string (e.g. {@code <https://www.example.org/sensor1>} or
+	 * {@code "22"^^<http://www.w3.org/2001/XMLSchema#integer>}) into a canonical
+	 * node.
+	 */
+	public Node parse(String aNode) {
+		Node n;
+		synchronized (this.parseCache) {
+			n = this.parseCache.get(aNode);
+		}
+		if (n == null) {
+			n = this.intern(SSE.parseNode(aNode));
+			synchronized (this.parseCache) {
+				this.parseCache.put(aNode, n);
+			}
+		}
+		return n;
+	}
+
+	/**
+	 * Format the given node into its full string representation, i.e. without
+	 * prefixes and with the datatype of literals. This is the inverse of
+	 * {@link #parse(String)}.
+	 */
+	public String format(Node aNode) {
+		String s;
+		synchronized (this.formatCache) {
+			s = this.formatCache.get(aNode);
+		}
+		if (s == null) {
+			SerializationContext context = new SerializationContext();
+			context.setUsePlainLiterals(false);
+			s = FmtUtils.stringForNode(aNode, context);
+			synchronized (this.formatCache) {
+				this.formatCache.put(aNode, s);
+			}
+		}
+		return s;
+	}
+
+	/**
+	 * @return the number of canonical nodes that are (possibly) still in use.
+	 */
+	public int size() {
+		this.removeStaleNodes();
+		return this.canonicalNodes.size();
+	}
+
+	/**
+	 * A weak reference to a canonical node that is equal to references to equal
+	 * nodes. Once its node is collected, it is only equal to itself.
+	 */
+	private static class WeakNode extends WeakReference<Node> {
+
+		private final int hash;
+
+		public WeakNode(Node aNode, ReferenceQueue<Node> aQueue) {
+			super(aNode, aQueue);
+			this.hash = aNode.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof WeakNode))
+				return false;
+			Node node = this.get();
+			return node != null && node.equals(((WeakNode) obj).get());
+		}
+	}
+
+	private static class LruCache<K, V> extends LinkedHashMap<K, V> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int maxSize;
+
+		public LruCache(int aMaxSize) {
+			super(16, 0.75f, true);
+			this.maxSize = aMaxSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+			return this.size() > this.maxSize;
+		}
+	}
+}
@@ -24,6 +24,8 @@ public class TriplePattern {
 		this.subject = subject;
 		this.predicate = predicate;
 		this.object = object;
+
+		this.hashCodeValue = this.calcHashCode();
 	}
 
 	public TriplePattern(String string) {
@@ -64,37 +66,38 @@ public class TriplePattern {
 	 * @return
 	 */
 	public Map<TripleNode, TripleNode> findMatches(TriplePattern other) {
+		// most triple patterns do not match, so check for conflicts before creating
+		// the map.
+		if (conflicts(this.getPredicate(), other.getPredicate()) || conflicts(this.getObject(), other.getObject())
+				|| conflicts(this.getSubject(), other.getSubject()))
+			return null;
+
 		Map<TripleNode, TripleNode> substitutionMap = new HashMap<>();
 
 		if (this.getSubject() instanceof Var || other.getSubject() instanceof Var) {
 			substitutionMap.put(new TripleNode(this, this.getSubject(), 0),
 					new TripleNode(other, other.getSubject(), 0));
-		} else {
-			if (!this.getSubject().equals(other.getSubject())) {
-				return null;
-			}
 		}
 
 		if (this.getPredicate() instanceof Var || other.getPredicate() instanceof Var) {
 			substitutionMap.put(new TripleNode(this, this.getPredicate(), 1),
 					new TripleNode(other, other.getPredicate(), 1));
-		} else {
-			if (!this.getPredicate().equals(other.getPredicate())) {
-				return null;
-			}
 		}
 
 		if (this.getObject() instanceof Var || other.getObject() instanceof Var) {
 			substitutionMap.put(new TripleNode(this, this.getObject(), 2), new TripleNode(other, other.getObject(), 2));
-		} else {
-			if (!this.getObject().equals(other.getObject())) {
-				return null;
-			}
 		}
 
 		return substitutionMap;
 	}
 
+	/**
+	 * @return true if both nodes are concrete and different, false otherwise.
+	 */
+	private static boolean conflicts(Node aNode, Node anotherNode) {
+		return !(aNode instanceof Var) && !(anotherNode instanceof Var) && !aNode.equals(anotherNode);
+	}
+
 	@Override
 	public String toString() {
 		return trunc(subject) + " " + trunc(predicate) + " " + trunc(object);
@@ -1,14 +1,16 @@
 package eu.knowledge.engine.reasoner.api;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.apache.jena.graph.Node;
 import org.apache.jena.sparql.core.Var;
 import org.apache.jena.sparql.graph.PrefixMappingZero;
-import org.apache.jena.sparql.sse.SSE;
 import org.apache.jena.sparql.util.FmtUtils;
 
 /**
@@ -19,6 +21,12 @@ import org.apache.jena.sparql.util.FmtUtils;
  */
 public class TripleVarBinding {
 
+	private static final NodeDictionary dictionary = NodeDictionary.getInstance();
+
+	/**
+	 * All values are canonical nodes of the {@link NodeDictionary}, so they can be
+	 * compared by reference.
+	 */
 	private Map<TripleNode, Node> tripleVarMapping;
 
 	/**
@@ -38,17 +46,17 @@ public class TripleVarBinding {
 
 			if (tp.getSubject().isVariable() && aBinding.containsKey(tp.getSubject())) {
 				tripleVar = new TripleNode(tp, tp.getSubject(), 0);
-				tripleVarMapping.put(tripleVar, aBinding.get(tp.getSubject()));
+				tripleVarMapping.put(tripleVar, dictionary.intern(aBinding.get(tp.getSubject())));
 				variableTripleVarMapping.put((Var) tp.getSubject(), tripleVar);
 			}
 			if (tp.getPredicate().isVariable() && aBinding.containsKey(tp.getPredicate())) {
 				tripleVar = new TripleNode(tp, tp.getPredicate(), 1);
-				tripleVarMapping.put(tripleVar, aBinding.get(tp.getPredicate()));
+				tripleVarMapping.put(tripleVar, dictionary.intern(aBinding.get(tp.getPredicate())));
 				variableTripleVarMapping.put((Var) tp.getPredicate(), tripleVar);
 			}
 			if (tp.getObject().isVariable() && aBinding.containsKey(tp.getObject())) {
 				tripleVar = new TripleNode(tp, tp.getObject(), 2);
-				tripleVarMapping.put(tripleVar, aBinding.get(tp.getObject()));
+				tripleVarMapping.put(tripleVar, dictionary.intern(aBinding.get(tp.getObject())));
 				variableTripleVarMapping.put((Var) tp.getObject(), tripleVar);
 			}
 		}
@@ -81,12 +89,12 @@ public class TripleVarBinding {
 					"Binding values should be concrete nodes (either RDF literals or URIs) and not '"
 							+ aLiteral.toString() + "'");
 
-		tripleVarMapping.put(aTripleVar, aLiteral);
+		tripleVarMapping.put(aTripleVar, dictionary.intern(aLiteral));
 		variableTripleVarMapping.put((Var) aTripleVar.node, aTripleVar);
 	}
 
 	public void put(TripleNode aTripleVar, String aLiteral) {
-		this.put(aTripleVar, (Node) SSE.parseNode(aLiteral));
+		this.put(aTripleVar, dictionary.parse(aLiteral));
 	}
 
 	/**
@@ -109,7 +117,8 @@ public class TripleVarBinding {
 
 	/**
 	 * True if two Bindings have a different value for at least one variable. Note
-	 * that it looks not at variable instances.
+	 * that it looks not at variable instances. Values are canonical nodes, so
+	 * comparing references is sufficient.
 	 */
 	public boolean isConflicting(TripleVarBinding tvb) {
 
@@ -118,7 +127,7 @@ public class TripleVarBinding {
 			assert e.getKey().node.isVariable();
 			l = tvb.getVarValue((Var) e.getKey().node);
 
-			if (l != null && !e.getValue().equals(l)) {
+			if (l != null && e.getValue() != l) {
 				return true;
 			}
 		}
@@ -137,6 +146,25 @@ public class TripleVarBinding {
 		return this.get(tripleVar);
 	}
 
+	/**
+	 * @return the variables bound by this binding.
+	 */
+	public Set<Var> getVars() {
+		return Collections.unmodifiableSet(this.variableTripleVarMapping.keySet());
+	}
+
+	/**
+	 * @return the values of the given variables in the same order, with
+	 *         {@code null} for variables that are not bound.
+	 */
+	public List<Node> getVarValues(List<Var> someVars) {
+		List<Node> values = new ArrayList<>(someVars.size());
+		for (Var v : someVars) {
+			values.add(this.getVarValue(v));
+		}
+		return values;
+	}
+
 	public Node get(TripleNode key) {
 		return this.tripleVarMapping.get(key);
 	}
@@ -157,13 +185,7 @@ public class TripleVarBinding {
 
 	public boolean containsVar(Var aVar) {
 		assert aVar instanceof Var;
-
-		for (TripleNode tNode : this.tripleVarMapping.keySet()) {
-			if (tNode.node.equals(aVar)) {
-				return true;
-			}
-		}
-		return false;
+		return this.variableTripleVarMapping.containsKey(aVar);
 	}
 
 	@Override
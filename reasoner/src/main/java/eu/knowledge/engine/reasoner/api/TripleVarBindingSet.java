@@ -1,6 +1,7 @@
 package eu.knowledge.engine.reasoner.api;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -150,7 +151,13 @@ public class TripleVarBindingSet {
 	}
 
 	/**
-	 * Simply the union between the two bindingsets. Does nothing complex for now.
+	 * The union of the two bindingsets together with the merged version of every
+	 * pair of non-conflicting bindings from both bindingsets.
+	 * 
+	 * Instead of checking every pair of bindings for conflicts, the bindings are
+	 * grouped by the variables they bind and compatible bindings are found via a
+	 * hash join on the variables that two groups share. Groups that do not share
+	 * any variables can never conflict, so there every pair is merged.
 	 * 
 	 * @param aGraphBindingSet
 	 * @return
@@ -163,23 +170,69 @@ public class TripleVarBindingSet {
 				gbs.add(tvb2);
 			}
 		} else {
-			// Cartesian product is the base case
 			gbs.addAll(aGraphBindingSet.getBindings());
 			gbs.addAll(this.bindings);
-			this.bindings.stream().parallel().forEach(tvb1 -> {
 
-				for (TripleVarBinding otherB : aGraphBindingSet.getBindings()) {
-					// always add a merged version of the two bindings, except when they conflict.
-					if (!tvb1.isConflicting(otherB)) {
-						gbs.add(tvb1.merge(otherB));
+			Map<Set<Var>, List<TripleVarBinding>> thisGroups = groupByVars(this.bindings);
+			Map<Set<Var>, List<TripleVarBinding>> otherGroups = groupByVars(aGraphBindingSet.getBindings());
+
+			for (Map.Entry<Set<Var>, List<TripleVarBinding>> thisGroup : thisGroups.entrySet()) {
+				for (Map.Entry<Set<Var>, List<TripleVarBinding>> otherGroup : otherGroups.entrySet()) {
+					List<Var> sharedVars = new ArrayList<>(thisGroup.getKey());
+					sharedVars.retainAll(otherGroup.getKey());
+
+					if (sharedVars.isEmpty()) {
+						// Cartesian product is the base case
+						thisGroup.getValue().stream().parallel().forEach(tvb1 -> {
+							for (TripleVarBinding otherB : otherGroup.getValue()) {
+								gbs.add(tvb1.merge(otherB));
+							}
+						});
+					} else {
+						join(thisGroup.getValue(), otherGroup.getValue(), sharedVars, gbs);
 					}
 				}
-			});
+			}
 		}
 
 		return gbs;
 	}
 
+	/**
+	 * Add the merged version of every pair of bindings from {@code someBindings}
+	 * and {@code someOtherBindings} that have the same values for
+	 * {@code someSharedVars} to {@code aResult}. The bindings in both lists should
+	 * bind (at least) all shared variables.
+	 */
+	private static void join(List<TripleVarBinding> someBindings, List<TripleVarBinding> someOtherBindings,
+			List<Var> someSharedVars, TripleVarBindingSet aResult) {
+
+		Map<List<Node>, List<TripleVarBinding>> index = new HashMap<>();
+		for (TripleVarBinding otherB : someOtherBindings) {
+			index.computeIfAbsent(otherB.getVarValues(someSharedVars), k -> new ArrayList<>()).add(otherB);
+		}
+
+		someBindings.stream().parallel().forEach(tvb1 -> {
+			List<TripleVarBinding> compatible = index.get(tvb1.getVarValues(someSharedVars));
+			if (compatible != null) {
+				for (TripleVarBinding otherB : compatible) {
+					aResult.add(tvb1.merge(otherB));
+				}
+			}
+		});
+	}
+
+	/**
+	 * @return the given bindings grouped by the variables they bind.
+	 */
+	private static Map<Set<Var>, List<TripleVarBinding>> groupByVars(Set<TripleVarBinding> someBindings) {
+		Map<Set<Var>, List<TripleVarBinding>> groups = new HashMap<>();
+		for (TripleVarBinding tvb : someBindings) {
+			groups.computeIfAbsent(tvb.getVars(), k -> new ArrayList<>()).add(tvb);
+		}
+		return groups;
+	}
+
 	public boolean isEmpty() {
 
 		return this.bindings.isEmpty();
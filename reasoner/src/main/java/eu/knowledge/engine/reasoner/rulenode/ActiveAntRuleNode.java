@@ -2,11 +2,11 @@ package eu.knowledge.engine.reasoner.rulenode;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.concurrent.Executor;
 
 import eu.knowledge.engine.reasoner.BaseRule;
 import eu.knowledge.engine.reasoner.Rule;
-import eu.knowledge.engine.reasoner.api.TripleVarBindingSet;
+import eu.knowledge.engine.reasoner.api.ColumnarTripleVarBindingSet;
 
 /**
  * Active means that it has a bindingsethandler and can be applied.
@@ -36,11 +36,11 @@ public class ActiveAntRuleNode extends AntRuleNode {
 	}
 
 	@Override
-	public Future<Void> applyRule() {
+	public CompletableFuture<Void> applyRule(Executor aResultExecutor) {
 		assert this.getRule() instanceof Rule;
 
 		var handler = ((Rule) this.getRule()).getSinkBindingSetHandler();
-		TripleVarBindingSet fullBindingSet = this.resultBindingSetInput.get().getFullBindingSet();
+		ColumnarTripleVarBindingSet fullBindingSet = this.resultBindingSetInput.getFullBindingSet();
 
 		CompletableFuture<Void> f;
 		if (!fullBindingSet.isEmpty()) {
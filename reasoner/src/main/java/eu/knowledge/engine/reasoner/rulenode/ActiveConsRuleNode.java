@@ -2,7 +2,7 @@ package eu.knowledge.engine.reasoner.rulenode;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.concurrent.Executor;
 
 import eu.knowledge.engine.reasoner.BaseRule;
 import eu.knowledge.engine.reasoner.Rule;
@@ -35,18 +35,18 @@ public class ActiveConsRuleNode extends ConsRuleNode {
 	}
 
 	@Override
-	public Future<Void> applyRule() {
+	public CompletableFuture<Void> applyRule(Executor aResultExecutor) {
 		assert this.readyForApplyRule();
 		assert this.getRule() instanceof Rule;
 		var handler = ((Rule) this.getRule()).getBindingSetHandler();
 
 		var previousBindingSetOutput = this.resultBindingSetOutput;
 
-		return handler.handle(this.filterBindingSetInput.get().toBindingSet()).thenAccept(result -> {
+		return handler.handle(this.filterBindingSetInput.get().toBindingSet()).thenAcceptAsync(result -> {
 			this.resultBindingSetOutput = result.toTripleVarBindingSet(this.getRule().getConsequent());
 			if (!this.resultBindingSetOutput.equals(previousBindingSetOutput))
 				this.isResultBindingSetOutputDirty = true;
-		});
+		}, aResultExecutor);
 	}
 
 	@Override
@@ -69,6 +69,13 @@ public abstract class AntRuleNode extends RuleNode implements AntSide {
 		return changed;
 	}
 
+	@Override
+	public void reset() {
+		super.reset();
+		this.resultBindingSetInput.clear();
+		this.filterBindingSetOutput = null;
+	}
+
 	@Override
 	public TripleVarBindingSet getFilterBindingSetOutput() {
 		return this.filterBindingSetOutput;
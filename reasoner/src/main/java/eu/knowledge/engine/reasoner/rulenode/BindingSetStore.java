@@ -10,6 +10,7 @@ import java.util.Set;
 import org.apache.jena.graph.Node;
 
 import eu.knowledge.engine.reasoner.BaseRule;
+import eu.knowledge.engine.reasoner.api.ColumnarTripleVarBindingSet;
 import eu.knowledge.engine.reasoner.api.TripleNode;
 import eu.knowledge.engine.reasoner.api.TriplePattern;
 import eu.knowledge.engine.reasoner.api.TripleVarBinding;
@@ -30,9 +31,11 @@ public class BindingSetStore {
 	private final Set<TriplePattern> graphPattern;
 
 	/**
-	 * Keep a cache and see if it improves performance.
+	 * Keep a cache and see if it improves performance. The bindingsets are
+	 * combined in their columnar form, which is only converted back when needed.
 	 */
-	private TripleVarBindingSet cache;
+	private ColumnarTripleVarBindingSet cache;
+	private TripleVarBindingSet bindingSetCache;
 
 	public BindingSetStore(Set<TriplePattern> aGraphPattern, Set<RuleNode> someNeighbors) {
 		this.graphPattern = aGraphPattern;
@@ -57,12 +60,23 @@ public class BindingSetStore {
 
 		boolean changed = previousBindingSet == null || !previousBindingSet.equals(aBindingSet);
 
-		if (changed)
+		if (changed) {
 			this.cache = null;
+			this.bindingSetCache = null;
+		}
 
 		return changed;
 	}
 
+	/**
+	 * Remove all bindingsets contributed by the neighbors.
+	 */
+	public void clear() {
+		this.neighborBindingSet.clear();
+		this.cache = null;
+		this.bindingSetCache = null;
+	}
+
 	public boolean haveAllNeighborsContributed() {
 		return this.neighborBindingSet.keySet().containsAll(neighbors);
 	}
@@ -79,6 +93,21 @@ public class BindingSetStore {
 	 * @return the bindingset with the combined bindingset of all neighbors.
 	 */
 	public TripleVarBindingSet get() {
+		if (this.bindingSetCache == null) {
+			this.bindingSetCache = this.getColumnar().toTripleVarBindingSet();
+		}
+		return this.bindingSetCache;
+	}
+
+	/**
+	 * @return the bindings of the combined bindingset of all neighbors in which
+	 *         all variable instances are present.
+	 */
+	public ColumnarTripleVarBindingSet getFullBindingSet() {
+		return this.getColumnar().getFullBindingSet();
+	}
+
+	private ColumnarTripleVarBindingSet getColumnar() {
 
 		if (this.cache != null) {
 			return this.cache;
@@ -88,14 +117,18 @@ public class BindingSetStore {
 		// contributed)
 		// assert haveAllNeighborsContributed();
 
-		TripleVarBindingSet combinedBS = new TripleVarBindingSet(graphPattern);
+		ColumnarTripleVarBindingSet combinedBS = new ColumnarTripleVarBindingSet(graphPattern);
 		for (TripleVarBindingSet bs : this.neighborBindingSet.values()) {
-			combinedBS = combinedBS.merge(bs);
+			ColumnarTripleVarBindingSet columnarBS = combinedBS.emptyCopy();
+			columnarBS.addAll(bs);
+			combinedBS = combinedBS.merge(columnarBS);
 		}
 
 		// NOTE: we merge the bindings with themselves here (when the bindings
 		// 'leave' the store), but it may be better to do it when they enter the
-		// store, or when they get translated/matched.
+		// store, or when they get translated/matched. Merging joins the bindings
+		// on their shared variables, so this does not create the full Cartesian
+		// product.
 		this.cache = combinedBS.merge(combinedBS);
 		return this.cache;
 	}
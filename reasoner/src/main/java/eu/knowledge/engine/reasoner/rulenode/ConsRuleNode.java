@@ -52,6 +52,13 @@ public abstract class ConsRuleNode extends RuleNode implements ConsSide {
 		return this.filterBindingSetInput.add(aNeighbor, bs);
 	}
 
+	@Override
+	public void reset() {
+		super.reset();
+		this.filterBindingSetInput.clear();
+		this.resultBindingSetOutput = null;
+	}
+
 	@Override
 	public TripleVarBindingSet getResultBindingSetOutput() {
 		return this.resultBindingSetOutput;
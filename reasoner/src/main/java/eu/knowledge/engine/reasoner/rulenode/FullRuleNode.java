@@ -8,7 +8,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import org.apache.jena.atlas.logging.Log;
@@ -20,6 +20,7 @@ import eu.knowledge.engine.reasoner.BaseRule;
 import eu.knowledge.engine.reasoner.ConsSide;
 import eu.knowledge.engine.reasoner.Match;
 import eu.knowledge.engine.reasoner.Rule;
+import eu.knowledge.engine.reasoner.api.ColumnarTripleVarBindingSet;
 import eu.knowledge.engine.reasoner.api.TripleVarBindingSet;
 
 /**
@@ -99,6 +100,15 @@ public class FullRuleNode extends RuleNode implements AntSide, ConsSide {
 		return changed;
 	}
 
+	@Override
+	public void reset() {
+		super.reset();
+		this.resultBindingSetInput.clear();
+		this.filterBindingSetInput.clear();
+		this.resultBindingSetOutput = null;
+		this.filterBindingSetOutput = null;
+	}
+
 	@Override
 	public TripleVarBindingSet getFilterBindingSetOutput() {
 		return this.filterBindingSetOutput;
@@ -161,22 +171,22 @@ public class FullRuleNode extends RuleNode implements AntSide, ConsSide {
 	}
 
 	@Override
-	public Future<Void> applyRule() {
+	public CompletableFuture<Void> applyRule(Executor aResultExecutor) {
 		assert this.readyForApplyRule();
 		assert this.getRule() instanceof Rule;
 		var handler = ((Rule) this.getRule()).getBindingSetHandler();
-		TripleVarBindingSet fullBindingSet = this.resultBindingSetInput.get().getFullBindingSet();
+		ColumnarTripleVarBindingSet fullBindingSet = this.resultBindingSetInput.getFullBindingSet();
 
 		var previousBindingSetOutput = this.resultBindingSetOutput;
 
 		CompletableFuture<Void> f;
 		if (!fullBindingSet.isEmpty()) {
-			f = handler.handle(fullBindingSet.toBindingSet()).thenAccept(result -> {
+			f = handler.handle(fullBindingSet.toBindingSet()).thenAcceptAsync(result -> {
 				this.resultBindingSetOutput = result.toTripleVarBindingSet(this.getRule().getConsequent());
 				if (!this.resultBindingSetOutput.equals(previousBindingSetOutput))
 					this.isResultBindingSetOutputDirty = true;
 
-			});
+			}, aResultExecutor);
 		} else {
 			f = new CompletableFuture<>();
 			this.resultBindingSetOutput = new TripleVarBindingSet(this.getRule().getConsequent());
@@ -1,7 +1,7 @@
 package eu.knowledge.engine.reasoner.rulenode;
 
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Future;
+import java.util.concurrent.Executor;
 
 import eu.knowledge.engine.reasoner.BaseRule;
 import eu.knowledge.engine.reasoner.api.BindingSet;
@@ -41,7 +41,7 @@ public class PassiveConsRuleNode extends ConsRuleNode {
 	}
 
 	@Override
-	public Future<Void> applyRule() {
+	public CompletableFuture<Void> applyRule(Executor aResultExecutor) {
 		assert false;
 		CompletableFuture<Void> f = new CompletableFuture<>();
 		f.completeExceptionally(new IllegalStateException("`applyRule` cannot be called for PassiveConsRuleNodes."));
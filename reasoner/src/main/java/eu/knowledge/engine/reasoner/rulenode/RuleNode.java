@@ -7,12 +7,15 @@ import java.util.LinkedList;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 
 import eu.knowledge.engine.reasoner.AntSide;
 import eu.knowledge.engine.reasoner.BaseRule;
 import eu.knowledge.engine.reasoner.Match;
 import eu.knowledge.engine.reasoner.ProactiveRule;
+import eu.knowledge.engine.reasoner.ReasonerPlan;
 import eu.knowledge.engine.reasoner.api.TriplePattern;
 import eu.knowledge.engine.reasoner.api.TripleVarBindingSet;
 
@@ -38,7 +41,21 @@ public abstract class RuleNode {
 
 	public abstract Set<RuleNode> getAllNeighbours();
 
-	public abstract Future<Void> applyRule();
+	/**
+	 * Apply the rule of this node to the current result binding set input.
+	 */
+	public Future<Void> applyRule() {
+		return this.applyRule(Runnable::run);
+	}
+
+	/**
+	 * Apply the rule of this node to the current result binding set input, where
+	 * the result binding set output of this node is updated by
+	 * {@code aResultExecutor} when the rule's handler has finished. This allows
+	 * the caller to make sure that this does not happen while it is reading or
+	 * changing the binding sets of the nodes.
+	 */
+	public abstract CompletableFuture<Void> applyRule(Executor aResultExecutor);
 
 	public abstract boolean readyForApplyRule();
 
@@ -56,6 +73,17 @@ public abstract class RuleNode {
 
 	public abstract Set<RuleNode> getAllSameLoopNeighbors();
 
+	/**
+	 * Forget all binding sets that were received, produced or scheduled by this
+	 * node, so that it can be used for another execution of the same
+	 * {@link ReasonerPlan}. The neighbours of this node remain untouched.
+	 */
+	public void reset() {
+		this.resultBindingSetOutputScheduled = false;
+		this.isFilterBindingSetOutputDirty = false;
+		this.isResultBindingSetOutputDirty = false;
+	}
+
 	public void setResultBindingSetInputAlreadyScheduledOrDone(boolean b) {
 		this.resultBindingSetOutputScheduled = b;
 	}
@@ -40,11 +40,26 @@ public class MatchNode {
 	 */
 	private Map<BaseRule, Set<Match>> consequentNeighbors;
 
+	/**
+	 * The outcome of matching this rule's antecedent against the other rules in
+	 * the store, per match configuration. An entry is removed whenever a rule is
+	 * added to or removed from the store that might change the outcome.
+	 */
+	private Map<EnumSet<MatchFlag>, Map<BaseRule, Set<Match>>> antecedentMatchCache;
+
+	/**
+	 * The outcome of matching this rule's consequent against the other rules in
+	 * the store, per match configuration. An entry is removed whenever a rule is
+	 * added to or removed from the store that might change the outcome.
+	 */
+	private Map<EnumSet<MatchFlag>, Map<BaseRule, Set<Match>>> consequentMatchCache;
+
 	public MatchNode(BaseRule aRule) {
 		this.rule = aRule;
 		this.antecedentNeighbors = new HashMap<>();
 		this.consequentNeighbors = new HashMap<>();
-
+		this.antecedentMatchCache = new HashMap<>();
+		this.consequentMatchCache = new HashMap<>();
 	}
 
 	public BaseRule getRule() {
@@ -82,9 +97,51 @@ public class MatchNode {
 		return this.store;
 	}
 
+	public Map<BaseRule, Set<Match>> getCachedAntecedentMatches(EnumSet<MatchFlag> aConfig) {
+		return this.antecedentMatchCache.get(aConfig);
+	}
+
+	public void setCachedAntecedentMatches(EnumSet<MatchFlag> aConfig, Map<BaseRule, Set<Match>> someMatches) {
+		this.antecedentMatchCache.put(EnumSet.copyOf(aConfig), someMatches);
+	}
+
+	public Map<BaseRule, Set<Match>> getCachedConsequentMatches(EnumSet<MatchFlag> aConfig) {
+		return this.consequentMatchCache.get(aConfig);
+	}
+
+	public void setCachedConsequentMatches(EnumSet<MatchFlag> aConfig, Map<BaseRule, Set<Match>> someMatches) {
+		this.consequentMatchCache.put(EnumSet.copyOf(aConfig), someMatches);
+	}
+
+	/**
+	 * Forget the antecedent matches of this rule, because a rule that (possibly)
+	 * matches it was added or removed.
+	 */
+	public void invalidateAntecedentMatches() {
+		this.antecedentMatchCache.clear();
+	}
+
+	/**
+	 * Forget the consequent matches of this rule, because a rule that (possibly)
+	 * matches it was added or removed.
+	 */
+	public void invalidateConsequentMatches() {
+		this.consequentMatchCache.clear();
+	}
+
+	/**
+	 * Remove all information about the given neighbor from this node. Used when
+	 * the neighbor is removed from the store.
+	 */
+	public void removeNeighbor(BaseRule aRule) {
+		this.antecedentNeighbors.remove(aRule);
+		this.consequentNeighbors.remove(aRule);
+	}
+
 	public void reset() {
 		this.antecedentNeighbors.clear();
 		this.consequentNeighbors.clear();
-
+		this.antecedentMatchCache.clear();
+		this.consequentMatchCache.clear();
 	}
 }
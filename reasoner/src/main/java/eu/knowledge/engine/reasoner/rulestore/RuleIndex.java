@@ -0,0 +1,157 @@
+package eu.knowledge.engine.reasoner.rulestore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.Var;
+
+import eu.knowledge.engine.reasoner.BaseRule;
+import eu.knowledge.engine.reasoner.api.TriplePattern;
+
+/**
+ * An index over the triple patterns of either the antecedents or the
+ * consequents of a collection of rules. Rules are indexed by the predicate and
+ * object of their triple patterns, where variables end up in a separate
+ * wildcard bucket. This allows us to quickly find the rules that can
+ * <i>possibly</i> match a given graph pattern, without going through the
+ * (costly) matching process for all rules.
+ *
+ * Note that the candidates returned by this index are a superset of the rules
+ * that actually match, so the actual matching still needs to happen.
+ */
+public class RuleIndex {
+
+	/**
+	 * The key used for variable predicates and objects.
+	 */
+	private static final Node WILDCARD = Node.ANY;
+
+	/**
+	 * Whether this index indexes the consequent ({@code true}) or the antecedent
+	 * ({@code false}) of the rules.
+	 */
+	private final boolean indexConsequent;
+
+	/**
+	 * predicate -> object -> rules
+	 */
+	private final Map<Node, Map<Node, Set<BaseRule>>> index = new HashMap<>();
+
+	/**
+	 * Create an empty index.
+	 *
+	 * @param anIndexConsequent whether the consequent ({@code true}) or the
+	 *                          antecedent ({@code false}) of the rules should be
+	 *                          indexed.
+	 */
+	public RuleIndex(boolean anIndexConsequent) {
+		this.indexConsequent = anIndexConsequent;
+	}
+
+	/**
+	 * Create an index that contains all the given rules.
+	 */
+	public RuleIndex(boolean anIndexConsequent, Collection<BaseRule> someRules) {
+		this(anIndexConsequent);
+		for (BaseRule r : someRules) {
+			this.add(r);
+		}
+	}
+
+	public void add(BaseRule aRule) {
+		for (TriplePattern tp : this.getIndexedPattern(aRule)) {
+			this.index.computeIfAbsent(toKey(tp.getPredicate()), k -> new HashMap<>())
+					.computeIfAbsent(toKey(tp.getObject()), k -> new HashSet<>()).add(aRule);
+		}
+	}
+
+	public void remove(BaseRule aRule) {
+		for (TriplePattern tp : this.getIndexedPattern(aRule)) {
+			Node predicateKey = toKey(tp.getPredicate());
+			Map<Node, Set<BaseRule>> objects = this.index.get(predicateKey);
+			if (objects != null) {
+				Node objectKey = toKey(tp.getObject());
+				Set<BaseRule> rules = objects.get(objectKey);
+				if (rules != null) {
+					rules.remove(aRule);
+					if (rules.isEmpty())
+						objects.remove(objectKey);
+				}
+				if (objects.isEmpty())
+					this.index.remove(predicateKey);
+			}
+		}
+	}
+
+	/**
+	 * @return all indexed rules of which at least one triple pattern can possibly
+	 *         match one of the triple patterns in {@code aGraphPattern}.
+	 */
+	public Set<BaseRule> getCandidates(Set<TriplePattern> aGraphPattern) {
+		Set<BaseRule> candidates = new HashSet<>();
+		for (TriplePattern tp : aGraphPattern) {
+			this.addCandidates(tp, candidates);
+		}
+		return candidates;
+	}
+
+	/**
+	 * @return all indexed rules of which at least one triple pattern can possibly
+	 *         match {@code aTriplePattern}.
+	 */
+	public Set<BaseRule> getCandidates(TriplePattern aTriplePattern) {
+		Set<BaseRule> candidates = new HashSet<>();
+		this.addCandidates(aTriplePattern, candidates);
+		return candidates;
+	}
+
+	private void addCandidates(TriplePattern aTriplePattern, Set<BaseRule> someCandidates) {
+		for (Map<Node, Set<BaseRule>> objects : lookup(this.index, aTriplePattern.getPredicate())) {
+			for (Set<BaseRule> rules : lookup(objects, aTriplePattern.getObject())) {
+				someCandidates.addAll(rules);
+			}
+		}
+	}
+
+	/**
+	 * A variable matches every key, while a concrete node only matches its own
+	 * key and the wildcard key.
+	 */
+	private static <T> Collection<T> lookup(Map<Node, T> aMap, Node aNode) {
+		if (aNode instanceof Var) {
+			return aMap.values();
+		}
+
+		List<T> values = new ArrayList<>(2);
+		T value = aMap.get(aNode);
+		if (value != null)
+			values.add(value);
+		value = aMap.get(WILDCARD);
+		if (value != null)
+			values.add(value);
+		return values;
+	}
+
+	private static Node toKey(Node aNode) {
+		return aNode instanceof Var ? WILDCARD : aNode;
+	}
+
+	private Set<TriplePattern> getIndexedPattern(BaseRule aRule) {
+		return this.indexConsequent ? aRule.getConsequent() : aRule.getAntecedent();
+	}
+
+	public boolean isIndexingConsequent() {
+		return this.indexConsequent;
+	}
+
+	@Override
+	public String toString() {
+		return "RuleIndex [indexConsequent=" + indexConsequent + ", index=" + index + "]";
+	}
+}
@@ -8,6 +8,7 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -43,16 +44,40 @@ public class RuleStore {
 	 */
 	private Map<BaseRule, MatchNode> ruleToRuleNode;
 
+	/**
+	 * Index on the antecedents of all the rules in this store. Used to find
+	 * candidate consequent neighbors.
+	 */
+	private RuleIndex antecedentIndex;
+
+	/**
+	 * Index on the consequents of all the rules in this store. Used to find
+	 * candidate antecedent neighbors.
+	 */
+	private RuleIndex consequentIndex;
+
 	/**
 	 * Instantiate an empty rule store.
 	 */
 	public RuleStore() {
 		ruleToRuleNode = new HashMap<>();
+		antecedentIndex = new RuleIndex(false);
+		consequentIndex = new RuleIndex(true);
 	}
 
+	/**
+	 * Add a rule to this store. Only the cached matches of the rules that might
+	 * match the new rule are invalidated, all other cached matches remain valid.
+	 */
 	public void addRule(BaseRule aRule) {
+		if (this.ruleToRuleNode.containsKey(aRule))
+			return;
+
 		MatchNode aRuleNode = new MatchNode(aRule);
 		this.ruleToRuleNode.put(aRule, aRuleNode);
+		this.antecedentIndex.add(aRule);
+		this.consequentIndex.add(aRule);
+		this.invalidateAffectedRules(aRule);
 	}
 
 	/**
@@ -65,6 +90,45 @@ public class RuleStore {
 		}
 	}
 
+	/**
+	 * Remove a rule from this store. Only the cached matches of the rules that
+	 * might match the removed rule are invalidated, all other cached matches
+	 * remain valid.
+	 * 
+	 * @return {@code true} if the rule was part of this store, {@code false}
+	 *         otherwise.
+	 */
+	public boolean removeRule(BaseRule aRule) {
+		MatchNode aRuleNode = this.ruleToRuleNode.remove(aRule);
+		if (aRuleNode == null)
+			return false;
+
+		this.antecedentIndex.remove(aRule);
+		this.consequentIndex.remove(aRule);
+		this.invalidateAffectedRules(aRule);
+
+		for (MatchNode r : this.ruleToRuleNode.values()) {
+			r.removeNeighbor(aRule);
+		}
+		return true;
+	}
+
+	/**
+	 * Invalidate the cached matches of all rules that might (have) match(ed) the
+	 * given rule.
+	 */
+	private void invalidateAffectedRules(BaseRule aRule) {
+		// rules whose antecedent might match the consequent of aRule
+		for (BaseRule r : this.antecedentIndex.getCandidates(aRule.getConsequent())) {
+			this.ruleToRuleNode.get(r).invalidateAntecedentMatches();
+		}
+
+		// rules whose consequent might match the antecedent of aRule
+		for (BaseRule r : this.consequentIndex.getCandidates(aRule.getAntecedent())) {
+			this.ruleToRuleNode.get(r).invalidateConsequentMatches();
+		}
+	}
+
 	/**
 	 * @return all the rules of this store.
 	 */
@@ -83,7 +147,10 @@ public class RuleStore {
 	/**
 	 * Calculate the antecedent neighbors of this rule. That means all the other
 	 * rules in {@code store} whose consequent matches this rule's antecedent. Note
-	 * that it also adds the same information to the neighbor.
+	 * that it also adds the same information to the neighbor.<br />
+	 * 
+	 * This method is cached to improve performance and only rules whose consequent
+	 * can possibly match (according to the {@link RuleIndex}) are considered.
 	 * 
 	 * @return A mapping from a neighbor rulenode and the way its consequent matches
 	 *         this rule's antecedent.
@@ -93,11 +160,17 @@ public class RuleStore {
 
 		assert aRuleNode != null;
 
-		Map<BaseRule, Set<Match>> newMapping = BaseRule.getMatches(aRule, this.getRules(), true, aConfig);
+		Map<BaseRule, Set<Match>> newMapping = aRuleNode.getCachedAntecedentMatches(aConfig);
+
+		if (newMapping == null) {
+			Set<BaseRule> candidates = this.consequentIndex.getCandidates(aRule.getAntecedent());
+			newMapping = Collections.unmodifiableMap(BaseRule.getMatches(aRule, candidates, true, aConfig));
+			aRuleNode.setCachedAntecedentMatches(aConfig, newMapping);
 
-		for (Map.Entry<BaseRule, Set<Match>> entry : newMapping.entrySet()) {
-			aRuleNode.setAntecedentNeighbor(entry.getKey(), Match.invertAll(entry.getValue()));
-			this.ruleToRuleNode.get(entry.getKey()).setConsequentNeighbor(aRule, entry.getValue());
+			for (Map.Entry<BaseRule, Set<Match>> entry : newMapping.entrySet()) {
+				aRuleNode.setAntecedentNeighbor(entry.getKey(), Match.invertAll(entry.getValue()));
+				this.ruleToRuleNode.get(entry.getKey()).setConsequentNeighbor(aRule, entry.getValue());
+			}
 		}
 
 		return newMapping;
@@ -126,7 +199,8 @@ public class RuleStore {
 	 * rules in {@code store} whose antecedent matches this rule's consequent. Note
 	 * that it also adds the same information to the neighbor.<br />
 	 * 
-	 * This method is cached to improve performance.
+	 * This method is cached to improve performance and only rules whose antecedent
+	 * can possibly match (according to the {@link RuleIndex}) are considered.
 	 * 
 	 * @return A mapping from a neighbor rulenode and the way its antecedent matches
 	 *         this rule's consequent.
@@ -136,11 +210,17 @@ public class RuleStore {
 
 		assert aRuleNode != null;
 
-		Map<BaseRule, Set<Match>> newMapping = BaseRule.getMatches(aRule, this.getRules(), false, aConfig);
+		Map<BaseRule, Set<Match>> newMapping = aRuleNode.getCachedConsequentMatches(aConfig);
+
+		if (newMapping == null) {
+			Set<BaseRule> candidates = this.antecedentIndex.getCandidates(aRule.getConsequent());
+			newMapping = Collections.unmodifiableMap(BaseRule.getMatches(aRule, candidates, false, aConfig));
+			aRuleNode.setCachedConsequentMatches(aConfig, newMapping);
 
-		for (Map.Entry<BaseRule, Set<Match>> entry : newMapping.entrySet()) {
-			aRuleNode.setConsequentNeighbor(entry.getKey(), Match.invertAll(entry.getValue()));
-			this.ruleToRuleNode.get(entry.getKey()).setAntecedentNeighbor(aRule, entry.getValue());
+			for (Map.Entry<BaseRule, Set<Match>> entry : newMapping.entrySet()) {
+				aRuleNode.setConsequentNeighbor(entry.getKey(), Match.invertAll(entry.getValue()));
+				this.ruleToRuleNode.get(entry.getKey()).setAntecedentNeighbor(aRule, entry.getValue());
+			}
 		}
 
 		return newMapping;
@@ -148,7 +228,7 @@ public class RuleStore {
 
 	/**
 	 * Resets all the rules in this store. I.e. removes the caching related to who's
-	 * the neighbor of who.
+	 * the neighbor of who, including the cached matches.
 	 */
 	public void reset() {
 		for (MatchNode r : this.ruleToRuleNode.values()) {
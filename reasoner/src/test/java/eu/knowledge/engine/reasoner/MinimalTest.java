@@ -1,5 +1,6 @@
 package eu.knowledge.engine.reasoner;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import java.net.URISyntaxException;
@@ -108,4 +109,40 @@ public class MinimalTest {
 		System.out.println("bindings: " + bind);
 		assertFalse(bind.isEmpty());
 	}
+
+	@Test
+	public void testResetPlan() throws InterruptedException, ExecutionException {
+		Set<TriplePattern> objective = new HashSet<>();
+		objective.add(new TriplePattern("?p <type> <Sensor>"));
+		objective.add(new TriplePattern("?p <hasValInC> ?q"));
+
+		ProactiveRule startRule = new ProactiveRule(objective, new HashSet<>());
+		this.store.addRule(startRule);
+
+		ReasonerPlan root = new ReasonerPlan(this.store, startRule);
+
+		BindingSet bs = new BindingSet();
+		Binding binding = new Binding();
+		binding.put("p", "<sensor1>");
+		bs.add(binding);
+
+		TaskBoard tb;
+		while ((tb = root.execute(bs)).hasTasks()) {
+			tb.executeScheduledTasks().get();
+		}
+		BindingSet first = root.getResults();
+		assertEquals(1, first.size());
+
+		// reuse the same plan with a different binding set
+		root.reset();
+		assertFalse(root.isDone());
+
+		bs = new BindingSet();
+		bs.add(new Binding());
+		while ((tb = root.execute(bs)).hasTasks()) {
+			tb.executeScheduledTasks().get();
+		}
+		BindingSet second = root.getResults();
+		assertEquals(2, second.size());
+	}
 }
@@ -1,5 +1,9 @@
 package eu.knowledge.engine.reasoner;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -8,6 +12,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -118,4 +123,94 @@ public class TaskBoardTest {
 		System.out.println(result);
 	}
 
+	@Test
+	public void testSlowTaskDoesNotBlockOtherTasks() throws InterruptedException, ExecutionException {
+		RuleStore aStore = new RuleStore();
+
+		// a fast knowledge base
+		aStore.addRule(new Rule(new HashSet<>(Arrays.asList(new TriplePattern("?a <p> ?b"))),
+				new DataBindingSetHandler(new Table(new String[] { "a", "b" }, new String[] { "<x1>,<y1>" }))));
+
+		// a slow knowledge base that answers when we want it to.
+		CompletableFuture<BindingSet> slowAnswer = new CompletableFuture<>();
+		aStore.addRule(new Rule(new HashSet<>(Arrays.asList(new TriplePattern("?c <r> ?d"))),
+				(TransformBindingSetHandler) bs -> slowAnswer));
+
+		// a rule that depends on the fast knowledge base only.
+		Set<TriplePattern> consequent = new HashSet<>(Arrays.asList(new TriplePattern("?x <r> ?y")));
+		var applied = new AtomicBoolean(false);
+		aStore.addRule(new Rule(new HashSet<>(Arrays.asList(new TriplePattern("?x <p> ?y"))), consequent, bs -> {
+			applied.set(true);
+			return new Rule.AntecedentToConsequentBindingSetHandler(consequent).handle(bs);
+		}));
+
+		ProactiveRule aStartRule = new ProactiveRule(new HashSet<>(Arrays.asList(new TriplePattern("?s <r> ?o"))),
+				new HashSet<>());
+		aStore.addRule(aStartRule);
+
+		ReasonerPlan plan = new ReasonerPlan(aStore, aStartRule);
+		CompletableFuture<Void> done = plan.executeAsync(new BindingSet());
+
+		// the rule is applied while the slow knowledge base did not answer yet.
+		assertTrue(applied.get());
+		assertFalse(done.isDone());
+
+		BindingSet slowBS = new BindingSet();
+		Binding slowB = new Binding();
+		slowB.put("c", "<x2>");
+		slowB.put("d", "<y2>");
+		slowBS.add(slowB);
+		slowAnswer.complete(slowBS);
+
+		done.get();
+		assertEquals(2, plan.getResults().size());
+	}
+
+	@Test
+	public void testPartialResultsBeforeSlowTask() throws InterruptedException, ExecutionException {
+		RuleStore aStore = new RuleStore();
+
+		// a fast knowledge base
+		aStore.addRule(new Rule(new HashSet<>(Arrays.asList(new TriplePattern("?a <r> ?b"))),
+				new DataBindingSetHandler(new Table(new String[] { "a", "b" }, new String[] { "<x1>,<y1>" }))));
+
+		// a slow knowledge base that answers when we want it to.
+		CompletableFuture<BindingSet> slowAnswer = new CompletableFuture<>();
+		aStore.addRule(new Rule(new HashSet<>(Arrays.asList(new TriplePattern("?c <r> ?d"))),
+				(TransformBindingSetHandler) bs -> slowAnswer));
+
+		ProactiveRule aStartRule = new ProactiveRule(new HashSet<>(Arrays.asList(new TriplePattern("?s <r> ?o"))),
+				new HashSet<>());
+		aStore.addRule(aStartRule);
+
+		ReasonerPlan plan = new ReasonerPlan(aStore, aStartRule);
+		List<BindingSet> partialResults = new ArrayList<>();
+		CompletableFuture<Void> done = plan.executeAsync(new BindingSet(), partialResults::add);
+
+		// the answer of the fast knowledge base is available before the slow one
+		// answers.
+		assertFalse(done.isDone());
+		assertEquals(1, partialResults.size());
+		Binding fastB = new Binding();
+		fastB.put("s", "<x1>");
+		fastB.put("o", "<y1>");
+		assertEquals(new BindingSet(fastB), partialResults.get(0));
+
+		BindingSet slowBS = new BindingSet();
+		Binding slowB = new Binding();
+		slowB.put("c", "<x2>");
+		slowB.put("d", "<y2>");
+		slowBS.add(slowB);
+		slowAnswer.complete(slowBS);
+
+		done.get();
+
+		// only the new binding is given again.
+		assertEquals(2, partialResults.size());
+		assertEquals(1, partialResults.get(1).size());
+		BindingSet allPartialResults = new BindingSet();
+		partialResults.forEach(allPartialResults::addAll);
+		assertEquals(plan.getResults(), allPartialResults);
+	}
+
 }
@@ -79,4 +79,35 @@ public class TransitivityTest {
 
 		assertEquals(15, result.size());
 	}
+
+	@Test
+	public void testReexecute() throws InterruptedException, ExecutionException {
+		Set<TriplePattern> aGoal = new HashSet<>();
+		aGoal.add(new TriplePattern("?x <isAncestorOf> ?y"));
+		ProactiveRule startRule = new ProactiveRule(aGoal, new HashSet<>());
+		store.addRule(startRule);
+
+		ReasonerPlan plan = new ReasonerPlan(store, startRule);
+
+		TaskBoard tb;
+		BindingSet bindingSet = new BindingSet();
+		bindingSet.add(new Binding());
+
+		while ((tb = plan.execute(bindingSet)).hasTasks()) {
+			tb.executeScheduledTasks().get();
+		}
+		assertEquals(15, plan.getResults().size());
+
+		// only the propagations of the new execution should be used.
+		plan.reset();
+		bindingSet = new BindingSet();
+		Binding b = new Binding();
+		b.put("x", "<barry>");
+		bindingSet.add(b);
+
+		while ((tb = plan.execute(bindingSet)).hasTasks()) {
+			tb.executeScheduledTasks().get();
+		}
+		assertEquals(4, plan.getResults().size());
+	}
 }
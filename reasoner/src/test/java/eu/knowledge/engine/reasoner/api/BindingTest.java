@@ -119,6 +119,49 @@ public class BindingTest {
 		// between IRIs and Literals?
 	}
 
+	@Test
+	public void testMergeJoinsOnSharedVariables() {
+		TriplePattern tp1 = new TriplePattern("?s <type> ?t");
+		TriplePattern tp2 = new TriplePattern("?s <hasVal> ?v");
+		TriplePattern tp3 = new TriplePattern("?x <hasUnit> ?u");
+		Set<TriplePattern> gp = new HashSet<>(Arrays.asList(tp1, tp2, tp3));
+
+		TripleVarBindingSet gbs1 = new TripleVarBindingSet(gp);
+		TripleVarBindingSet gbs2 = new TripleVarBindingSet(gp);
+		for (int i = 0; i < 10; i++) {
+			TripleVarBinding tvb1 = new TripleVarBinding();
+			tvb1.put(new TripleNode(tp1, "?s", 0), "<sensor" + i + ">");
+			tvb1.put(new TripleNode(tp1, "?t", 2), "<Sensor>");
+			gbs1.add(tvb1);
+
+			TripleVarBinding tvb2 = new TripleVarBinding();
+			tvb2.put(new TripleNode(tp2, "?s", 0), "<sensor" + (i % 5) + ">");
+			tvb2.put(new TripleNode(tp2, "?v", 2), Integer.toString(i));
+			gbs2.add(tvb2);
+
+			TripleVarBinding tvb3 = new TripleVarBinding();
+			tvb3.put(new TripleNode(tp3, "?x", 0), "<sensor" + i + ">");
+			tvb3.put(new TripleNode(tp3, "?u", 2), "<celsius>");
+			gbs2.add(tvb3);
+		}
+
+		// the expected result is the union plus all non-conflicting pairs.
+		Set<TripleVarBinding> expected = new HashSet<>(gbs1.getBindings());
+		expected.addAll(gbs2.getBindings());
+		for (TripleVarBinding tvb1 : gbs1.getBindings()) {
+			for (TripleVarBinding tvb2 : gbs2.getBindings()) {
+				if (!tvb1.isConflicting(tvb2))
+					expected.add(tvb1.merge(tvb2));
+			}
+		}
+
+		TripleVarBindingSet merge = gbs1.merge(gbs2);
+
+		// 10 + 20 bindings, 10 joined on ?s and 10 * 10 without shared variables.
+		assertEquals(140, merge.getBindings().size());
+		assertEquals(expected, merge.getBindings());
+	}
+
 	@Test
 	public void testParseAndFormatBinding() {
 		var b = new Binding("a", "<sensor2>");
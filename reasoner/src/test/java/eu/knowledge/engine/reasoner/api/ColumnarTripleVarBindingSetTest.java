@@ -0,0 +1,114 @@
+package eu.knowledge.engine.reasoner.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ColumnarTripleVarBindingSetTest {
+
+	private TriplePattern tp1 = new TriplePattern("?s <type> ?t");
+	private TriplePattern tp2 = new TriplePattern("?s <hasVal> ?v");
+	private TriplePattern tp3 = new TriplePattern("?x <hasUnit> ?u");
+	private Set<TriplePattern> gp = new HashSet<>(Arrays.asList(tp1, tp2, tp3));
+
+	private TripleVarBindingSet gbs1;
+	private TripleVarBindingSet gbs2;
+
+	@BeforeEach
+	public void setUp() {
+		gbs1 = new TripleVarBindingSet(gp);
+		gbs2 = new TripleVarBindingSet(gp);
+		for (int i = 0; i < 10; i++) {
+			TripleVarBinding tvb1 = new TripleVarBinding();
+			tvb1.put(new TripleNode(tp1, "?s", 0), "<sensor" + i + ">");
+			tvb1.put(new TripleNode(tp1, "?t", 2), "<Sensor>");
+			gbs1.add(tvb1);
+
+			TripleVarBinding tvb2 = new TripleVarBinding();
+			tvb2.put(new TripleNode(tp2, "?s", 0), "<sensor" + (i % 5) + ">");
+			tvb2.put(new TripleNode(tp2, "?v", 2), Integer.toString(i));
+			gbs2.add(tvb2);
+
+			TripleVarBinding tvb3 = new TripleVarBinding();
+			tvb3.put(new TripleNode(tp3, "?x", 0), "<sensor" + i + ">");
+			tvb3.put(new TripleNode(tp3, "?u", 2), "<celsius>");
+			gbs2.add(tvb3);
+		}
+	}
+
+	@Test
+	public void testConversion() {
+		ColumnarTripleVarBindingSet cbs = new ColumnarTripleVarBindingSet(gbs2);
+		assertEquals(20, cbs.size());
+		assertEquals(gbs2, cbs.toTripleVarBindingSet());
+		assertEquals(gbs2.toBindingSet(), cbs.toBindingSet());
+
+		// duplicates are ignored
+		for (TripleVarBinding tvb : gbs2.getBindings()) {
+			assertFalse(cbs.add(new TripleVarBinding(tvb)));
+		}
+		assertEquals(20, cbs.size());
+	}
+
+	@Test
+	public void testAddUnknownTripleVar() {
+		ColumnarTripleVarBindingSet cbs = new ColumnarTripleVarBindingSet(gp);
+		TripleVarBinding tvb = new TripleVarBinding();
+		tvb.put(new TripleNode(tp1, "?s", 0), "<sensor1>");
+		tvb.put(new TripleNode(new TriplePattern("?s <hasName> ?n"), "?n", 2), "\"sensor\"");
+		assertTrue(cbs.add(tvb));
+
+		// the triple var that does not occur in the graph pattern is dropped
+		TripleVarBinding expected = new TripleVarBinding();
+		expected.put(new TripleNode(tp1, "?s", 0), "<sensor1>");
+		assertEquals(1, cbs.size());
+		assertEquals(expected, cbs.toTripleVarBindingSet().getBindings().iterator().next());
+	}
+
+	@Test
+	public void testMergeEqualsTripleVarBindingSetMerge() {
+		ColumnarTripleVarBindingSet cbs1 = new ColumnarTripleVarBindingSet(gbs1);
+		ColumnarTripleVarBindingSet cbs2 = new ColumnarTripleVarBindingSet(gbs2);
+
+		ColumnarTripleVarBindingSet merge = cbs1.merge(cbs2);
+		assertEquals(140, merge.size());
+		assertEquals(gbs1.merge(gbs2), merge.toTripleVarBindingSet());
+
+		ColumnarTripleVarBindingSet selfMerge = merge.merge(merge);
+		assertEquals(merge.toTripleVarBindingSet().merge(merge.toTripleVarBindingSet()),
+				selfMerge.toTripleVarBindingSet());
+
+		// merging with an empty binding set keeps all bindings.
+		assertEquals(gbs2, cbs2.emptyCopy().merge(cbs2).toTripleVarBindingSet());
+	}
+
+	@Test
+	public void testFullAndCompatible() {
+		ColumnarTripleVarBindingSet merge = new ColumnarTripleVarBindingSet(gbs1)
+				.merge(new ColumnarTripleVarBindingSet(gbs2));
+		merge = merge.merge(merge);
+		TripleVarBindingSet tvbsMerge = gbs1.merge(gbs2);
+		tvbsMerge = tvbsMerge.merge(tvbsMerge);
+
+		ColumnarTripleVarBindingSet full = merge.getFullBindingSet();
+		assertEquals(tvbsMerge.getFullBindingSet(), full.toTripleVarBindingSet());
+		// 10 bindings joined on ?s times 10 bindings of ?x
+		assertEquals(100, full.size());
+
+		ColumnarTripleVarBindingSet filter = new ColumnarTripleVarBindingSet(gp);
+		TripleVarBinding tvb = new TripleVarBinding();
+		tvb.put(new TripleNode(tp1, "?s", 0), "<sensor1>");
+		filter.add(tvb);
+
+		ColumnarTripleVarBindingSet compatible = merge.keepCompatible(filter);
+		assertEquals(tvbsMerge.keepCompatible(filter.toTripleVarBindingSet()), compatible.toTripleVarBindingSet());
+		assertTrue(compatible.size() < merge.size());
+	}
+}
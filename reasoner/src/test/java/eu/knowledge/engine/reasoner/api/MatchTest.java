@@ -735,4 +735,65 @@ public class MatchTest {
 		assertEquals(1, matches.size());
 
 	}
+
+	@Test
+	public void testMatchesPerTripleOnlyPlausibleCandidates() {
+		TriplePattern target1 = new TriplePattern("?s <type> <Sensor>");
+		TriplePattern target2 = new TriplePattern("?s <hasVal> ?v");
+		Set<TriplePattern> targetGP = new HashSet<>(Arrays.asList(target1, target2));
+
+		BaseRule sensors = new Rule(new HashSet<>(),
+				new HashSet<>(Arrays.asList(new TriplePattern("?a <type> <Sensor>"))));
+		BaseRule actuators = new Rule(new HashSet<>(),
+				new HashSet<>(Arrays.asList(new TriplePattern("?a <type> <Actuator>"))));
+		BaseRule values = new Rule(new HashSet<>(), new HashSet<>(Arrays.asList(new TriplePattern("?a <hasVal> ?b"))));
+		BaseRule other = new Rule(new HashSet<>(), new HashSet<>(Arrays.asList(new TriplePattern("?a <other> ?b"))));
+		BaseRule anything = new Rule(new HashSet<>(), new HashSet<>(Arrays.asList(new TriplePattern("?a ?p ?b"))));
+
+		var matchesPerTriple = BaseRule.getMatchesPerTriplePerRule(targetGP,
+				Arrays.asList(sensors, actuators, values, other, anything), true);
+
+		assertEquals(Set.of(sensors, anything), rulesOf(matchesPerTriple.get(target1)));
+		assertEquals(Set.of(values, anything), rulesOf(matchesPerTriple.get(target2)));
+	}
+
+	@Test
+	public void testMatchBudget() {
+		Set<TriplePattern> target = new HashSet<>();
+		for (int i = 0; i < 5; i++) {
+			target.add(new TriplePattern("?x" + i + " <p> ?x" + (i + 1)));
+		}
+		BaseRule r1 = new ProactiveRule(target, new HashSet<>());
+
+		List<BaseRule> candidates = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			candidates.add(
+					new Rule(new HashSet<>(), new HashSet<>(Arrays.asList(new TriplePattern("?a" + i + " <p> ?b" + i)))));
+		}
+
+		EnumSet<MatchFlag> config = EnumSet.of(MatchFlag.ONLY_BIGGEST, MatchFlag.FULLY_COVERED);
+		var unlimited = BaseRule.getMatches(r1, new HashSet<>(candidates), true, config);
+		assertEquals(6, unlimited.size());
+
+		try {
+			BaseRule.setMatchBudget(3, 0);
+			var limited = BaseRule.getMatches(r1, new HashSet<>(candidates), true, config);
+
+			// only some of the full matches are found, but they are all valid.
+			assertFalse(limited.isEmpty());
+			for (Map.Entry<BaseRule, Set<Match>> entry : limited.entrySet()) {
+				assertTrue(unlimited.get(entry.getKey()).containsAll(entry.getValue()));
+			}
+		} finally {
+			BaseRule.setMatchBudget(0, 0);
+		}
+	}
+
+	private Set<BaseRule> rulesOf(Set<? extends Map<BaseRule, Set<Match>>> someCombiMatches) {
+		Set<BaseRule> rules = new HashSet<>();
+		for (Map<BaseRule, Set<Match>> cm : someCombiMatches) {
+			rules.addAll(cm.keySet());
+		}
+		return rules;
+	}
 }
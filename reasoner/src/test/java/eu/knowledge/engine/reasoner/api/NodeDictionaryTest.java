@@ -0,0 +1,89 @@
+package eu.knowledge.engine.reasoner.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.sse.SSE;
+import org.junit.jupiter.api.Test;
+
+public class NodeDictionaryTest {
+
+	private final NodeDictionary dictionary = NodeDictionary.getInstance();
+
+	@Test
+	public void testIntern() {
+		Node n1 = SSE.parseNode("<https://www.example.org/sensor1>");
+		Node n2 = SSE.parseNode("<https://www.example.org/sensor1>");
+		assertNotSame(n1, n2);
+
+		Node canonical = dictionary.intern(n1);
+		assertSame(canonical, dictionary.intern(n2));
+		assertSame(canonical, dictionary.parse("<https://www.example.org/sensor1>"));
+	}
+
+	@Test
+	public void testConcurrentIntern() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Node[]>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				futures.add(executor.submit(() -> {
+					Node[] nodes = new Node[1000];
+					for (int i = 0; i < nodes.length; i++)
+						nodes[i] = dictionary.intern(SSE.parseNode("<https://www.example.org/concurrent" + i + ">"));
+					return nodes;
+				}));
+			}
+
+			Node[] first = futures.get(0).get();
+			for (Future<Node[]> future : futures) {
+				Node[] nodes = future.get();
+				for (int i = 0; i < nodes.length; i++)
+					assertSame(first[i], nodes[i]);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testParseAndFormat() {
+		String literal = "\"22\"^^<http://www.w3.org/2001/XMLSchema#integer>";
+		Node n = dictionary.parse(literal);
+		assertTrue(n.isLiteral());
+		assertSame(n, dictionary.parse(literal));
+		assertEquals(literal, dictionary.format(n));
+		assertEquals("<https://www.example.org/sensor1>",
+				dictionary.format(dictionary.parse("<https://www.example.org/sensor1>")));
+	}
+
+	@Test
+	public void testConflictingWithSeparatelyParsedNodes() {
+		TriplePattern tp = new TriplePattern("?a <hasVal> ?b");
+		TripleVarBinding tvb1 = new TripleVarBinding();
+		tvb1.put(new TripleNode(tp, "?a", 0), SSE.parseNode("<sensor1>"));
+		tvb1.put(new TripleNode(tp, "?b", 2), SSE.parseNode("22"));
+
+		TripleVarBinding tvb2 = new TripleVarBinding();
+		tvb2.put(new TripleNode(tp, "?a", 0), SSE.parseNode("<sensor1>"));
+		tvb2.put(new TripleNode(tp, "?b", 2), "22");
+
+		TripleVarBinding tvb3 = new TripleVarBinding();
+		tvb3.put(new TripleNode(tp, "?a", 0), "<sensor1>");
+		tvb3.put(new TripleNode(tp, "?b", 2), "23");
+
+		assertFalse(tvb1.isConflicting(tvb2));
+		assertEquals(tvb1, tvb2);
+		assertTrue(tvb1.isConflicting(tvb3));
+	}
+}
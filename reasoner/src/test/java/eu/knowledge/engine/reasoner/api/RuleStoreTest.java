@@ -4,6 +4,8 @@
 package eu.knowledge.engine.reasoner.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -186,4 +188,45 @@ class RuleStoreTest {
 
 		store.printGraphVizCode(null);
 	}
+
+	@Test
+	void testIncrementalAddAndRemove() {
+		RuleStore store = new RuleStore();
+
+		BaseRule consumeRule = new ProactiveRule(new HashSet<>(Arrays.asList(new TriplePattern("?id rdf:type <Target>"),
+				new TriplePattern("?id <hasName> ?name"))), new HashSet<>());
+		store.addRule(consumeRule);
+
+		BaseRule produceTypeRule = new Rule(new HashSet<>(),
+				new HashSet<>(Arrays.asList(new TriplePattern("?id rdf:type <Target>"))));
+		store.addRule(produceTypeRule);
+
+		BaseRule produceOtherTypeRule = new Rule(new HashSet<>(),
+				new HashSet<>(Arrays.asList(new TriplePattern("?id rdf:type <Country>"))));
+		store.addRule(produceOtherTypeRule);
+
+		assertEquals(new HashSet<>(Arrays.asList(produceTypeRule)), store.getAntecedentNeighbors(consumeRule).keySet());
+
+		// a rule with a variable predicate should invalidate the cached matches
+		BaseRule produceAnythingRule = new Rule(new HashSet<>(),
+				new HashSet<>(Arrays.asList(new TriplePattern("?s ?p ?o"))));
+		store.addRule(produceAnythingRule);
+
+		assertEquals(new HashSet<>(Arrays.asList(produceTypeRule, produceAnythingRule)),
+				store.getAntecedentNeighbors(consumeRule).keySet());
+		assertEquals(new HashSet<>(Arrays.asList(consumeRule)),
+				store.getConsequentNeighbors(produceAnythingRule).keySet());
+
+		// a non-matching rule should leave the cached matches untouched
+		var cached = store.getAntecedentNeighbors(consumeRule);
+		store.addRule(new Rule(new HashSet<>(), new HashSet<>(Arrays.asList(new TriplePattern("?c <hasCapital> ?x")))));
+		assertSame(cached, store.getAntecedentNeighbors(consumeRule));
+
+		store.removeRule(produceTypeRule);
+		assertEquals(new HashSet<>(Arrays.asList(produceAnythingRule)),
+				store.getAntecedentNeighbors(consumeRule).keySet());
+
+		store.removeRule(produceAnythingRule);
+		assertTrue(store.getAntecedentNeighbors(consumeRule).isEmpty());
+	}
 }
@@ -3,6 +3,7 @@ package eu.knowledge.engine.smartconnector.api;
 import java.net.URI;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import eu.knowledge.engine.reasoner.Rule;
 
@@ -162,6 +163,32 @@ public interface SmartConnector {
 	CompletableFuture<AskResult> ask(AskKnowledgeInteraction anAKI, RecipientSelector aSelector,
 			BindingSet aBindingSet);
 
+	/**
+	 * Same as {@link #ask(AskKnowledgeInteraction, RecipientSelector, BindingSet)},
+	 * but the bindings of the answer are also given to
+	 * {@code aPartialResultHandler} as soon as they are derived, so the caller
+	 * does not have to wait for the slowest {@link KnowledgeBase} before it can
+	 * start using the first bindings. Every binding is given at most once and the
+	 * handler is never called concurrently. Together the partial results form the
+	 * {@link BindingSet} of the {@link AskResult}, which remains leading.
+	 *
+	 * The default implementation gives all bindings to the handler at once, when
+	 * the {@link AskResult} is available.
+	 *
+	 * @param aPartialResultHandler Receives the new bindings whenever they become
+	 *                              available. It should return quickly, because
+	 *                              the processing of the ask waits for it.
+	 * @see #ask(AskKnowledgeInteraction, RecipientSelector, BindingSet)
+	 */
+	default CompletableFuture<AskResult> ask(AskKnowledgeInteraction anAKI, RecipientSelector aSelector,
+			BindingSet aBindingSet, Consumer<BindingSet> aPartialResultHandler) {
+		return this.ask(anAKI, aSelector, aBindingSet).thenApply(askResult -> {
+			if (aPartialResultHandler != null && !askResult.getBindings().isEmpty())
+				aPartialResultHandler.accept(askResult.getBindings());
+			return askResult;
+		});
+	}
+
 	/**
 	 * Performs an
 	 * {@link #ask(AskKnowledgeInteraction, RecipientSelector, BindingSet)} with a
@@ -0,0 +1,139 @@
+package eu.knowledge.engine.rest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import eu.knowledge.engine.rest.RestServerHelper;
+import eu.knowledge.engine.test_utils.AsyncTester;
+import eu.knowledge.engine.test_utils.HttpTester;
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TestHandleBatch {
+	private static final int NUM_POSTS = 3;
+	private static final int MAX_HANDLE_REQUESTS = 2;
+
+	private final RestServerHelper rsh = new RestServerHelper();
+	private static int PORT = 8280;
+
+	@BeforeAll
+	public void setUpServer() throws InterruptedException {
+		rsh.start(PORT);
+	}
+
+	@Test
+	public void testBatchHandleRequestsAndResponses() throws IOException, InterruptedException {
+		URL url = new URL("http://localhost:" + PORT + "/rest/sc");
+
+		String kb1Id = "http://example.org/kb1";
+		String kb2Id = "http://example.org/kb2";
+		String reactKiId = kb1Id + "/interaction/reactki";
+		String postKiId = kb2Id + "/interaction/postki";
+
+		new HttpTester(url, "POST",
+				"{\"knowledgeBaseId\": \"" + kb1Id
+						+ "\", \"knowledgeBaseName\": \"KB1\", \"knowledgeBaseDescription\": \"KB1\"}",
+				Map.of("Content-Type", "application/json", "Accept", "*/*")).expectStatus(200);
+		new HttpTester(url, "POST",
+				"{\"knowledgeBaseId\": \"" + kb2Id
+						+ "\", \"knowledgeBaseName\": \"KB2\", \"knowledgeBaseDescription\": \"KB2\"}",
+				Map.of("Content-Type", "application/json", "Accept", "*/*")).expectStatus(200);
+
+		new HttpTester(new URL(url + "/ki"), "POST", """
+				{
+				  "knowledgeInteractionType": "ReactKnowledgeInteraction",
+				  "knowledgeInteractionName": "reactki",
+				  "argumentGraphPattern": "?a <http://example.org/p> ?b ."
+				}
+				""", Map.of("Knowledge-Base-Id", kb1Id, "Content-Type", "application/json", "Accept", "*/*"))
+				.expectStatus(200);
+		new HttpTester(new URL(url + "/ki"), "POST", """
+				{
+				  "knowledgeInteractionType": "PostKnowledgeInteraction",
+				  "knowledgeInteractionName": "postki",
+				  "argumentGraphPattern": "?a <http://example.org/p> ?b ."
+				}
+				""", Map.of("Knowledge-Base-Id", kb2Id, "Content-Type", "application/json", "Accept", "*/*"))
+				.expectStatus(200);
+
+		// the posts wait until their handle requests are answered.
+		var posts = new ArrayList<AsyncTester>();
+		for (int i = 0; i < NUM_POSTS; i++) {
+			String body = "[{\"a\": \"<http://example.org/s" + i + ">\", \"b\": \"<http://example.org/o" + i + ">\"}]";
+			var post = new AsyncTester(() -> {
+				try {
+					new HttpTester(new URL(url + "/post"), "POST", body,
+							Map.of("Knowledge-Base-Id", kb2Id, "Knowledge-Interaction-Id", postKiId, "Content-Type",
+									"application/json", "Accept", "*/*"))
+							.expectStatus(200);
+				} catch (MalformedURLException e) {
+					throw new AssertionError(e);
+				}
+			});
+			posts.add(post);
+			post.start();
+		}
+
+		// receive all handle requests, but never more than we asked for at once.
+		List<JsonObject> handleRequests = new ArrayList<>();
+		while (handleRequests.size() < NUM_POSTS) {
+			var handle = new HttpTester(new URL(url + "/handle/batch?maxHandleRequests=" + MAX_HANDLE_REQUESTS),
+					"GET", null, Map.of("Knowledge-Base-Id", kb1Id, "Accept", "*/*"));
+			handle.expectStatus(200);
+			JsonArray batch = Json.createReader(new StringReader(handle.getBody())).readArray();
+			assertTrue(batch.size() >= 1 && batch.size() <= MAX_HANDLE_REQUESTS);
+			for (JsonValue hr : batch) {
+				assertEquals(reactKiId, hr.asJsonObject().getString("knowledgeInteractionId"));
+				handleRequests.add(hr.asJsonObject());
+			}
+		}
+
+		// answer all of them at once, together with one that does not exist.
+		JsonArrayBuilder responses = Json.createArrayBuilder();
+		for (JsonObject hr : handleRequests) {
+			responses.add(Json.createObjectBuilder().add("knowledgeInteractionId", reactKiId)
+					.add("handleRequestId", hr.getInt("handleRequestId")).add("bindingSet", JsonValue.EMPTY_JSON_ARRAY));
+		}
+		responses.add(Json.createObjectBuilder().add("knowledgeInteractionId", reactKiId).add("handleRequestId", 9999)
+				.add("bindingSet", JsonValue.EMPTY_JSON_ARRAY));
+
+		var handleBatch = new HttpTester(new URL(url + "/handle/batch"), "POST", responses.build().toString(),
+				Map.of("Knowledge-Base-Id", kb1Id, "Content-Type", "application/json", "Accept", "*/*"));
+		handleBatch.expectStatus(200);
+		JsonArray results = Json.createReader(new StringReader(handleBatch.getBody())).readArray();
+		assertEquals(NUM_POSTS + 1, results.size());
+		for (int i = 0; i < NUM_POSTS; i++) {
+			assertEquals(handleRequests.get(i).getInt("handleRequestId"),
+					results.getJsonObject(i).getInt("handleRequestId"));
+			assertEquals(200, results.getJsonObject(i).getInt("status"));
+		}
+		assertEquals(404, results.getJsonObject(NUM_POSTS).getInt("status"));
+
+		for (AsyncTester post : posts) {
+			post.joinAndRethrow();
+		}
+	}
+
+	@AfterAll
+	public void cleanUp() {
+		TestUtil.unregisterAllKBs("http://localhost:" + PORT + "/rest");
+		rsh.cleanUp();
+	}
+}
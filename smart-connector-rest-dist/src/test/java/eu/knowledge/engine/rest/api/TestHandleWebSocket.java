@@ -0,0 +1,160 @@
+package eu.knowledge.engine.rest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.StringReader;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import eu.knowledge.engine.rest.RestServerHelper;
+import eu.knowledge.engine.test_utils.AsyncTester;
+import eu.knowledge.engine.test_utils.HttpTester;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TestHandleWebSocket {
+	private final RestServerHelper rsh = new RestServerHelper();
+	private static int PORT = 8280;
+
+	@BeforeAll
+	public void setUpServer() throws InterruptedException {
+		rsh.start(PORT);
+	}
+
+	@Test
+	public void testHandleRequestsOverWebSocket() throws Exception {
+		URL url = new URL("http://localhost:" + PORT + "/rest/sc");
+
+		String kb1Id = "http://example.org/kb1";
+		String kb2Id = "http://example.org/kb2";
+		String reactKiId = kb1Id + "/interaction/reactki";
+		String postKiId = kb2Id + "/interaction/postki";
+
+		new HttpTester(url, "POST",
+				"{\"knowledgeBaseId\": \"" + kb1Id
+						+ "\", \"knowledgeBaseName\": \"KB1\", \"knowledgeBaseDescription\": \"KB1\"}",
+				Map.of("Content-Type", "application/json", "Accept", "*/*")).expectStatus(200);
+		new HttpTester(url, "POST",
+				"{\"knowledgeBaseId\": \"" + kb2Id
+						+ "\", \"knowledgeBaseName\": \"KB2\", \"knowledgeBaseDescription\": \"KB2\"}",
+				Map.of("Content-Type", "application/json", "Accept", "*/*")).expectStatus(200);
+
+		new HttpTester(new URL(url + "/ki"), "POST", """
+				{
+				  "knowledgeInteractionType": "ReactKnowledgeInteraction",
+				  "knowledgeInteractionName": "reactki",
+				  "argumentGraphPattern": "?a <http://example.org/p> ?b ."
+				}
+				""", Map.of("Knowledge-Base-Id", kb1Id, "Content-Type", "application/json", "Accept", "*/*"))
+				.expectStatus(200);
+		new HttpTester(new URL(url + "/ki"), "POST", """
+				{
+				  "knowledgeInteractionType": "PostKnowledgeInteraction",
+				  "knowledgeInteractionName": "postki",
+				  "argumentGraphPattern": "?a <http://example.org/p> ?b ."
+				}
+				""", Map.of("Knowledge-Base-Id", kb2Id, "Content-Type", "application/json", "Accept", "*/*"))
+				.expectStatus(200);
+
+		BlockingQueue<JsonObject> messages = new LinkedBlockingQueue<>();
+		WebSocket ws = HttpClient.newHttpClient().newWebSocketBuilder().header("Knowledge-Base-Id", kb1Id)
+				.buildAsync(URI.create("ws://localhost:" + PORT + "/rest/sc/handle/ws"), new MessageListener(messages))
+				.get(10, TimeUnit.SECONDS);
+
+		try {
+			for (int i = 0; i < 2; i++) {
+				var post = post(url, kb2Id, postKiId, i);
+
+				// without credit the handle request waits at the server.
+				assertNull(messages.poll(2, TimeUnit.SECONDS), "Expected no handle request without credit.");
+
+				ws.sendText(Json.createObjectBuilder().add("messageType", "credit").add("credit", 1).build().toString(),
+						true).get(10, TimeUnit.SECONDS);
+
+				JsonObject message = messages.poll(10, TimeUnit.SECONDS);
+				assertNotNull(message, "Expected a handle request after granting credit.");
+				assertEquals("handleRequest", message.getString("messageType"));
+				JsonObject handleRequest = message.getJsonObject("handleRequest");
+				assertEquals(reactKiId, handleRequest.getString("knowledgeInteractionId"));
+
+				JsonObject handleResponse = Json.createObjectBuilder().add("messageType", "handleResponse")
+						.add("knowledgeInteractionId", reactKiId)
+						.add("handleResponse",
+								Json.createObjectBuilder()
+										.add("handleRequestId", handleRequest.getInt("handleRequestId"))
+										.add("bindingSet", JsonValue.EMPTY_JSON_ARRAY))
+						.build();
+				ws.sendText(handleResponse.toString(), true).get(10, TimeUnit.SECONDS);
+
+				post.joinAndRethrow();
+			}
+
+			// the single credit of every round has been used.
+			assertNull(messages.poll(1, TimeUnit.SECONDS));
+		} finally {
+			ws.sendClose(WebSocket.NORMAL_CLOSURE, "done").get(10, TimeUnit.SECONDS);
+		}
+	}
+
+	private AsyncTester post(URL url, String kbId, String kiId, int i) {
+		String body = "[{\"a\": \"<http://example.org/s" + i + ">\", \"b\": \"<http://example.org/o" + i + ">\"}]";
+		var post = new AsyncTester(() -> {
+			try {
+				new HttpTester(new URL(url + "/post"), "POST", body, Map.of("Knowledge-Base-Id", kbId,
+						"Knowledge-Interaction-Id", kiId, "Content-Type", "application/json", "Accept", "*/*"))
+						.expectStatus(200);
+			} catch (MalformedURLException e) {
+				throw new AssertionError(e);
+			}
+		});
+		post.start();
+		return post;
+	}
+
+	/**
+	 * Collects the JSON messages that the server sends over the WebSocket.
+	 */
+	private static class MessageListener implements WebSocket.Listener {
+
+		private final BlockingQueue<JsonObject> messages;
+		private final StringBuilder text = new StringBuilder();
+
+		public MessageListener(BlockingQueue<JsonObject> someMessages) {
+			this.messages = someMessages;
+		}
+
+		@Override
+		public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+			this.text.append(data);
+			if (last) {
+				this.messages.add(Json.createReader(new StringReader(this.text.toString())).readObject());
+				this.text.setLength(0);
+			}
+			webSocket.request(1);
+			return null;
+		}
+	}
+
+	@AfterAll
+	public void cleanUp() {
+		TestUtil.unregisterAllKBs("http://localhost:" + PORT + "/rest");
+		rsh.cleanUp();
+	}
+}
@@ -5,12 +5,15 @@ import java.net.InetSocketAddress;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.websocket.server.config.JettyWebSocketServletContainerInitializer;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.servlet.ServletContainer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.knowledge.engine.rest.api.impl.HandleWebSocketServlet;
+
 public class RestServer {
 
 	private static final Logger LOG = LoggerFactory.getLogger(RestServer.class);
@@ -47,6 +50,11 @@ public class RestServer {
 
 		ctx.addServlet(jerseyServlet, "/rest/*");
 
+		// knowledge bases can receive their handle requests over a WebSocket instead
+		// of long polling.
+		JettyWebSocketServletContainerInitializer.configure(ctx, null);
+		ctx.addServlet(new ServletHolder(new HandleWebSocketServlet()), "/rest/sc/handle/ws");
+
 		try {
 			server.start();
 			server.join();
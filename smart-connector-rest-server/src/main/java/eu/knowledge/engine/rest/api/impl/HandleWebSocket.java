@@ -0,0 +1,191 @@
+package eu.knowledge.engine.rest.api.impl;
+
+import java.io.IOException;
+
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.StatusCode;
+import org.eclipse.jetty.websocket.api.WriteCallback;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketConnect;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketError;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketMessage;
+import org.eclipse.jetty.websocket.api.annotations.WebSocket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import eu.knowledge.engine.rest.model.HandleResponse;
+
+/**
+ * A WebSocket connection over which a knowledge base receives its handle
+ * requests and sends back its handle responses. This is an alternative to
+ * long polling {@code GET /sc/handle} and posting to {@code POST /sc/handle},
+ * that saves an HTTP round trip per handle request.
+ *
+ * The client controls how many handle requests it receives with credits: every
+ * handle request uses one credit and handle requests wait at the server until
+ * the client grants new credits. All messages are JSON objects with a
+ * {@code messageType}. The client sends:
+ *
+ * <pre>
+ * {"messageType": "credit", "credit": 10}
+ * {"messageType": "handleResponse", "knowledgeInteractionId": "...", "handleResponse": {"handleRequestId": 1, "bindingSet": [...]}}
+ * </pre>
+ *
+ * and the server sends:
+ *
+ * <pre>
+ * {"messageType": "handleRequest", "handleRequest": {"handleRequestId": 1, "knowledgeInteractionId": "...", "bindingSet": [...]}}
+ * {"messageType": "error", "message": "...", "handleRequestId": 1}
+ * </pre>
+ */
+@WebSocket
+public class HandleWebSocket {
+
+	private static final Logger LOG = LoggerFactory.getLogger(HandleWebSocket.class);
+
+	static final String MESSAGE_TYPE = "messageType";
+	static final String TYPE_CREDIT = "credit";
+	static final String TYPE_HANDLE_RESPONSE = "handleResponse";
+	static final String TYPE_HANDLE_REQUEST = "handleRequest";
+	static final String TYPE_ERROR = "error";
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private final RestKnowledgeBase kb;
+	private volatile Session session;
+
+	public HandleWebSocket(RestKnowledgeBase aKnowledgeBase) {
+		this.kb = aKnowledgeBase;
+	}
+
+	@OnWebSocketConnect
+	public void onConnect(Session aSession) {
+		this.session = aSession;
+		if (!this.kb.attachWebSocket(this)) {
+			aSession.close(StatusCode.POLICY_VIOLATION,
+					"Only one connection per Knowledge-Base-Id is allowed and we already have one.");
+			return;
+		}
+		LOG.info("Knowledge Base {} connected to receive handle requests over a WebSocket.",
+				this.kb.getKnowledgeBaseId());
+	}
+
+	@OnWebSocketClose
+	public void onClose(int statusCode, String reason) {
+		LOG.info("WebSocket of Knowledge Base {} closed with status {}: {}", this.kb.getKnowledgeBaseId(), statusCode,
+				reason);
+		this.kb.detachWebSocket(this);
+	}
+
+	@OnWebSocketError
+	public void onError(Throwable cause) {
+		LOG.warn("Error on WebSocket of Knowledge Base {}: {}", this.kb.getKnowledgeBaseId(), cause.getMessage());
+		LOG.debug("", cause);
+	}
+
+	@OnWebSocketMessage
+	public void onMessage(String text) {
+		JsonNode message;
+		try {
+			message = MAPPER.readTree(text);
+		} catch (IOException e) {
+			this.sendError("Could not parse message as JSON: " + e.getMessage(), null);
+			return;
+		}
+
+		String type = message.path(MESSAGE_TYPE).asText();
+		if (TYPE_CREDIT.equals(type)) {
+			int credit = message.path(TYPE_CREDIT).asInt(0);
+			if (credit < 0) {
+				this.sendError("Credit must not be negative.", null);
+			} else {
+				this.kb.addWebSocketCredit(this, credit);
+			}
+		} else if (TYPE_HANDLE_RESPONSE.equals(type)) {
+			this.handleResponse(message);
+		} else {
+			this.sendError("Unknown messageType '" + type + "', expected '" + TYPE_CREDIT + "' or '"
+					+ TYPE_HANDLE_RESPONSE + "'.", null);
+		}
+	}
+
+	private void handleResponse(JsonNode message) {
+		String knowledgeInteractionId = message.path("knowledgeInteractionId").asText(null);
+		HandleResponse handleResponse;
+		try {
+			handleResponse = MAPPER.treeToValue(message.path(TYPE_HANDLE_RESPONSE), HandleResponse.class);
+		} catch (IOException | IllegalArgumentException e) {
+			this.sendError("Invalid handleResponse: " + e.getMessage(), null);
+			return;
+		}
+		Integer handleRequestId = handleResponse == null ? null : handleResponse.getHandleRequestId();
+
+		if (handleRequestId == null || handleResponse.getBindingSet() == null) {
+			this.sendError("A handleResponse must have a handleRequestId and a bindingSet.", handleRequestId);
+		} else if (knowledgeInteractionId == null || !this.kb.hasKnowledgeInteraction(knowledgeInteractionId)) {
+			this.sendError("Knowledge Interaction not found, because its ID must match an existing KI: "
+					+ knowledgeInteractionId, handleRequestId);
+		} else if (!this.kb.hasHandleRequestId(handleRequestId)) {
+			this.sendError("Handle request id " + handleRequestId
+					+ " not found. Are you sure it is still being processed?", handleRequestId);
+		} else {
+			try {
+				this.kb.finishHandleRequest(knowledgeInteractionId, handleResponse);
+			} catch (IllegalArgumentException e) {
+				this.sendError(e.getMessage(), handleRequestId);
+			}
+		}
+	}
+
+	/**
+	 * @return {@code false} if the handle request could not be sent, because the
+	 *         connection is closed.
+	 */
+	boolean sendHandleRequest(eu.knowledge.engine.rest.model.HandleRequest handleRequest) {
+		ObjectNode message = MAPPER.createObjectNode();
+		message.put(MESSAGE_TYPE, TYPE_HANDLE_REQUEST);
+		message.set(TYPE_HANDLE_REQUEST, MAPPER.valueToTree(handleRequest));
+		return this.send(message);
+	}
+
+	private void sendError(String errorMessage, Integer handleRequestId) {
+		ObjectNode message = MAPPER.createObjectNode();
+		message.put(MESSAGE_TYPE, TYPE_ERROR);
+		message.put("message", errorMessage);
+		if (handleRequestId != null)
+			message.put("handleRequestId", handleRequestId);
+		this.send(message);
+	}
+
+	private boolean send(ObjectNode message) {
+		Session s = this.session;
+		if (s == null || !s.isOpen())
+			return false;
+
+		String text;
+		try {
+			text = MAPPER.writeValueAsString(message);
+		} catch (IOException e) {
+			LOG.error("Could not serialize WebSocket message.", e);
+			return false;
+		}
+		s.getRemote().sendString(text, new WriteCallback() {
+			@Override
+			public void writeFailed(Throwable x) {
+				LOG.warn("Could not send message over WebSocket of Knowledge Base {}: {}",
+						HandleWebSocket.this.kb.getKnowledgeBaseId(), x.getMessage());
+			}
+		});
+		return true;
+	}
+
+	void close(String reason) {
+		Session s = this.session;
+		if (s != null && s.isOpen())
+			s.close(StatusCode.NORMAL, reason);
+	}
+}
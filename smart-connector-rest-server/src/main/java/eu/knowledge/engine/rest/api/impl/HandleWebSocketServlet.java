@@ -0,0 +1,82 @@
+package eu.knowledge.engine.rest.api.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jetty.websocket.server.JettyServerUpgradeRequest;
+import org.eclipse.jetty.websocket.server.JettyServerUpgradeResponse;
+import org.eclipse.jetty.websocket.server.JettyWebSocketServlet;
+import org.eclipse.jetty.websocket.server.JettyWebSocketServletFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Upgrades requests of knowledge bases that want to receive their handle
+ * requests over a {@link HandleWebSocket}. The knowledge base is identified by
+ * the {@code Knowledge-Base-Id} header or, because browsers cannot set headers
+ * on WebSocket requests, by the {@code knowledgeBaseId} query parameter.
+ */
+public class HandleWebSocketServlet extends JettyWebSocketServlet {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger LOG = LoggerFactory.getLogger(HandleWebSocketServlet.class);
+
+	private static final String KNOWLEDGE_BASE_ID_HEADER = "Knowledge-Base-Id";
+	private static final String KNOWLEDGE_BASE_ID_PARAM = "knowledgeBaseId";
+
+	private final RestKnowledgeBaseManager manager = RestKnowledgeBaseManager.newInstance();
+
+	@Override
+	protected void configure(JettyWebSocketServletFactory factory) {
+		// Like with long polling, the client should show that it is still alive
+		// within the inactivity timeout (for example by sending a ping).
+		factory.setIdleTimeout(Duration.ofSeconds(RestKnowledgeBase.INACTIVITY_TIMEOUT_SECONDS));
+		factory.setCreator(this::createWebSocket);
+	}
+
+	private Object createWebSocket(JettyServerUpgradeRequest request, JettyServerUpgradeResponse response) {
+		String knowledgeBaseId = request.getHeader(KNOWLEDGE_BASE_ID_HEADER);
+		if (knowledgeBaseId == null) {
+			Map<String, List<String>> params = request.getParameterMap();
+			List<String> values = params.get(KNOWLEDGE_BASE_ID_PARAM);
+			if (values != null && !values.isEmpty())
+				knowledgeBaseId = values.get(0);
+		}
+
+		try {
+			if (knowledgeBaseId == null) {
+				response.sendError(HttpServletResponse.SC_BAD_REQUEST, "The " + KNOWLEDGE_BASE_ID_HEADER
+						+ " header or " + KNOWLEDGE_BASE_ID_PARAM + " query parameter is required.");
+				return null;
+			}
+
+			if (!this.manager.hasKB(knowledgeBaseId)) {
+				if (this.manager.hasSuspendedKB(knowledgeBaseId)) {
+					this.manager.removeSuspendedKB(knowledgeBaseId);
+					response.sendError(HttpServletResponse.SC_NOT_FOUND,
+							"This knowledge base has been suspended due to inactivity. Please reregister the knowledge base and its knowledge interactions.");
+				} else {
+					response.sendError(HttpServletResponse.SC_NOT_FOUND,
+							"A Knowledge Base for the given Knowledge-Base-Id cannot be found.");
+				}
+				return null;
+			}
+
+			RestKnowledgeBase kb = this.manager.getKB(knowledgeBaseId);
+			if (kb.hasAsyncResponse() || kb.hasWebSocket()) {
+				response.sendError(HttpServletResponse.SC_CONFLICT,
+						"Only one connection per Knowledge-Base-Id is allowed and we already have one.");
+				return null;
+			}
+			return new HandleWebSocket(kb);
+		} catch (IOException e) {
+			LOG.warn("Could not refuse WebSocket request of Knowledge Base {}.", knowledgeBaseId, e);
+			return null;
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package eu.knowledge.engine.rest.api.impl;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -8,16 +9,22 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import org.apache.jena.sparql.graph.PrefixMappingZero;
 import org.apache.jena.sparql.util.FmtUtils;
+import org.glassfish.jersey.server.ChunkedOutput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import eu.knowledge.engine.rest.api.JacksonJsonProvider;
 import eu.knowledge.engine.rest.api.NotFoundException;
 import eu.knowledge.engine.rest.model.AskExchangeInfo;
 import eu.knowledge.engine.rest.model.AskResult;
@@ -39,6 +46,7 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.container.AsyncResponse;
 import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
 import jakarta.ws.rs.core.SecurityContext;
@@ -48,6 +56,27 @@ public class ProactiveApiServiceImpl {
 
 	private static final Logger LOG = LoggerFactory.getLogger(ProactiveApiServiceImpl.class);
 
+	private static final String SSE_MEDIA_TYPE = "text/event-stream";
+
+	private static final String JSON_MEDIA_TYPE = "application/json; charset=UTF-8";
+
+	/**
+	 * The mapper of the JSON responses, so the events of a streamed ask contain
+	 * the same JSON (e.g. the same date format) as the response of a normal ask.
+	 */
+	private static final ObjectMapper MAPPER = new JacksonJsonProvider().locateMapper(Object.class,
+			MediaType.APPLICATION_JSON_TYPE);
+
+	/**
+	 * Writes the events of streamed asks, so a slow client does not delay the
+	 * processing of its ask. The threads do not keep the JVM alive.
+	 */
+	private static final ExecutorService EVENT_WRITER = Executors.newCachedThreadPool(r -> {
+		Thread t = Executors.defaultThreadFactory().newThread(r);
+		t.setDaemon(true);
+		return t;
+	});
+
 	private RestKnowledgeBaseManager manager = RestKnowledgeBaseManager.newInstance();
 
 	@POST
@@ -69,110 +98,249 @@ public class ProactiveApiServiceImpl {
 			recipientAndBindingSetObject = new RecipientAndBindingSet(recipientAndBindingSet);
 		} catch (IllegalArgumentException e) {
 			LOG.debug("", e);
-			var response = new ResponseMessage();
-			response.setMessageType("error");
-			response.setMessage(e.getMessage());
-			asyncResponse.resume(Response.status(Status.BAD_REQUEST).entity(response).build());
+			asyncResponse.resume(this.errorResponse(Status.BAD_REQUEST, e.getMessage()));
 			return;
 		}
 
-		if (knowledgeBaseId == null || knowledgeInteractionId == null) {
-			var response = new ResponseMessage();
-			response.setMessageType("error");
-			response.setMessage("Both Knowledge-Base-Id and Knowledge-Interaction-Id headers should be non-null.");
-			asyncResponse.resume(Response.status(Status.BAD_REQUEST).entity(response).build());
+		Response invalid = this.checkAskKnowledgeInteraction(knowledgeBaseId, knowledgeInteractionId);
+		if (invalid != null) {
+			asyncResponse.resume(invalid);
 			return;
 		}
 
+		var kb = this.manager.getKB(knowledgeBaseId);
+		KnowledgeInteractionWithId ki = kb.getKnowledgeInteraction(knowledgeInteractionId);
+
+		try {
+			var askFuture = kb.ask(knowledgeInteractionId, recipientAndBindingSetObject.recipient,
+					recipientAndBindingSetObject.bindingSet);
+
+			askFuture.thenAccept(askResult -> {
+				LOG.debug("AskResult received, resuming async response: {}", askResult);
+				asyncResponse.resume(Response.status(Status.OK).entity(this.toAskResult(askResult, ki)).build());
+			});
+
+		} catch (URISyntaxException | InterruptedException | ExecutionException e) {
+			LOG.trace("", e);
+			asyncResponse.resume(this.errorResponse(Status.INTERNAL_SERVER_ERROR,
+					"Something went wrong while sending a POST or while waiting on the REACT."));
+		} catch (IllegalArgumentException e) {
+			LOG.trace("", e);
+			asyncResponse.resume(this.errorResponse(Status.BAD_REQUEST, e.getMessage()));
+		}
+	}
+
+	/**
+	 * Same as {@link #scAskPost}, but the response is a stream of server-sent
+	 * events. Every time the smart connector derives new bindings, they are sent
+	 * in a {@code bindings} event, so the client can use them before the slowest
+	 * knowledge base answered. The stream ends with a {@code result} event that
+	 * contains the complete {@link AskResult} (or an {@code error} event if the ask
+	 * failed). Problems with the request itself are reported with a normal error
+	 * response, just like {@link #scAskPost}.
+	 */
+	@POST
+	@Path("/ask/stream")
+	@Consumes({ "application/json; charset=UTF-8" })
+	@Produces({ SSE_MEDIA_TYPE, "application/json; charset=UTF-8" })
+	public Response scAskStreamPost(
+			@Parameter(description = "The Knowledge Base Id for which to execute the ask.", required = true) @HeaderParam("Knowledge-Base-Id") String knowledgeBaseId,
+			@Parameter(description = "The Ask Knowledge Interaction Id to execute.", required = true) @HeaderParam("Knowledge-Interaction-Id") String knowledgeInteractionId,
+
+			@Parameter(description = "The keys bindings are allowed to be incomplete, but they must correspond to the binding keys that were defined in the knowledge interaction.", required = true) @NotNull @Valid JsonNode recipientAndBindingSet,
+			@Context SecurityContext securityContext) {
+
+		LOG.debug("scAskStreamPost called for KB {} and KI {} - {}", knowledgeBaseId, knowledgeInteractionId,
+				recipientAndBindingSet);
+
+		RecipientAndBindingSet recipientAndBindingSetObject;
+		try {
+			recipientAndBindingSetObject = new RecipientAndBindingSet(recipientAndBindingSet);
+		} catch (IllegalArgumentException e) {
+			LOG.debug("", e);
+			return this.errorResponse(Status.BAD_REQUEST, e.getMessage());
+		}
+
+		Response invalid = this.checkAskKnowledgeInteraction(knowledgeBaseId, knowledgeInteractionId);
+		if (invalid != null)
+			return invalid;
+
+		var kb = this.manager.getKB(knowledgeBaseId);
+		KnowledgeInteractionWithId ki = kb.getKnowledgeInteraction(knowledgeInteractionId);
+
+		// chunks that are written before the response is sent are queued by the
+		// output, so the partial results cannot get lost.
+		ChunkedOutput<String> output = new ChunkedOutput<>(String.class);
+		EventStream events = new EventStream(output);
+		try {
+			var askFuture = kb.ask(knowledgeInteractionId, recipientAndBindingSetObject.recipient,
+					recipientAndBindingSetObject.bindingSet,
+					partialBindings -> events.send("bindings", this.bindingSetToList(partialBindings)));
+
+			askFuture.whenComplete((askResult, throwable) -> {
+				LOG.debug("AskResult received, ending event stream: {}", askResult);
+				try {
+					if (throwable == null && askResult != null) {
+						events.send("result", this.toAskResult(askResult, ki));
+					} else {
+						if (throwable != null)
+							LOG.warn("Processing the streamed ask failed.", throwable);
+						var response = new ResponseMessage();
+						response.setMessageType("error");
+						response.setMessage("Something went wrong while processing the ask.");
+						events.send("error", response);
+					}
+				} finally {
+					events.close();
+				}
+			});
+		} catch (URISyntaxException | InterruptedException | ExecutionException e) {
+			LOG.trace("", e);
+			return this.errorResponse(Status.INTERNAL_SERVER_ERROR,
+					"Something went wrong while sending a POST or while waiting on the REACT.");
+		} catch (IllegalArgumentException e) {
+			LOG.trace("", e);
+			return this.errorResponse(Status.BAD_REQUEST, e.getMessage());
+		}
+
+		return Response.ok(output, SSE_MEDIA_TYPE).build();
+	}
+
+	/**
+	 * Checks whether the given ids refer to an existing Ask Knowledge Interaction.
+	 * 
+	 * @return the error response to send if they do not, or {@code null} if they
+	 *         do.
+	 */
+	private Response checkAskKnowledgeInteraction(String knowledgeBaseId, String knowledgeInteractionId) {
+		if (knowledgeBaseId == null || knowledgeInteractionId == null) {
+			return this.errorResponse(Status.BAD_REQUEST,
+					"Both Knowledge-Base-Id and Knowledge-Interaction-Id headers should be non-null.");
+		}
+
 		var kb = this.manager.getKB(knowledgeBaseId);
 		if (kb == null) {
 			if (this.manager.hasSuspendedKB(knowledgeBaseId)) {
 				this.manager.removeSuspendedKB(knowledgeBaseId);
-				var response = new ResponseMessage();
-				response.setMessageType("error");
-				response.setMessage(
+				return this.errorResponse(Status.NOT_FOUND,
 						"This knowledge base has been suspended due to inactivity. Please reregister the knowledge base and its knowledge interactions.");
-				asyncResponse.resume(Response.status(Status.NOT_FOUND).entity(response).build());
-				return;
 			} else {
-				var response = new ResponseMessage();
-				response.setMessageType("error");
-				response.setMessage("Smart connector not found, because its ID is unknown.");
-				asyncResponse.resume(Response.status(Status.NOT_FOUND).entity(response).build());
-				return;
+				return this.errorResponse(Status.NOT_FOUND, "Smart connector not found, because its ID is unknown.");
 			}
 		}
 
 		try {
 			new URI(knowledgeInteractionId);
 		} catch (URISyntaxException e) {
-			var response = new ResponseMessage();
-			response.setMessageType("error");
-			response.setMessage("Knowledge interaction not found, because its ID must be a valid URI.");
-			asyncResponse.resume(Response.status(Status.BAD_REQUEST).entity(response).build());
-			return;
+			return this.errorResponse(Status.BAD_REQUEST,
+					"Knowledge interaction not found, because its ID must be a valid URI.");
 		}
 
 		if (!kb.hasKnowledgeInteraction(knowledgeInteractionId)) {
-			var response = new ResponseMessage();
-			response.setMessageType("error");
-			response.setMessage("Knowledge Interaction not found, because its ID is unknown.");
-			asyncResponse.resume(Response.status(Status.NOT_FOUND).entity(response).build());
-			return;
+			return this.errorResponse(Status.NOT_FOUND, "Knowledge Interaction not found, because its ID is unknown.");
 		}
 
 		KnowledgeInteractionWithId ki = kb.getKnowledgeInteraction(knowledgeInteractionId);
 		if (!ki.getKnowledgeInteractionType().equals("AskKnowledgeInteraction")) {
-			var response = new ResponseMessage();
-			response.setMessageType("error");
-			response.setMessage("Given Knowledge Interaction ID should have type AskKnowledgeInteraction and not "
-					+ ki.getKnowledgeInteractionType() + ".");
-			asyncResponse.resume(Response.status(Status.BAD_REQUEST).entity(response).build());
-			return;
+			return this.errorResponse(Status.BAD_REQUEST,
+					"Given Knowledge Interaction ID should have type AskKnowledgeInteraction and not "
+							+ ki.getKnowledgeInteractionType() + ".");
 		}
+		return null;
+	}
 
-		try {
-			var askFuture = kb.ask(knowledgeInteractionId, recipientAndBindingSetObject.recipient,
-					recipientAndBindingSetObject.bindingSet);
+	private Response errorResponse(Status status, String message) {
+		var response = new ResponseMessage();
+		response.setMessageType("error");
+		response.setMessage(message);
+		return Response.status(status).entity(response).type(JSON_MEDIA_TYPE).build();
+	}
 
-			askFuture.thenAccept(askResult -> {
+	private AskResult toAskResult(eu.knowledge.engine.smartconnector.api.AskResult askResult,
+			KnowledgeInteractionWithId ki) {
+		List<AskExchangeInfo> infos = askResult.getExchangeInfoPerKnowledgeBase().stream()
+				.map(aei -> new AskExchangeInfo().bindingSet(this.bindingSetToList(aei.getBindings()))
+						.knowledgeBaseId(aei.getKnowledgeBaseId().toString())
+						.knowledgeInteractionId(aei.getKnowledgeInteractionId().toString())
+						.exchangeStart(Date.from(aei.getExchangeStart()))
+						.initiator(toInitiatorEnumAsk(aei.getInitiator()))
+						.exchangeEnd(Date.from(aei.getExchangeEnd())).status(aei.getStatus().toString())
+						.failedMessage(aei.getFailedMessage()))
+				.collect(Collectors.toList());
+
+		LOG.debug("Bindings in result is {}", askResult.getBindings());
+		LOG.debug("KnowledgeGapsEnabled is {}", ki.getKnowledgeGapsEnabled());
+
+		AskResult ar = new AskResult().bindingSet(this.bindingSetToList(askResult.getBindings())).exchangeInfo(infos);
+		// distinguish between knowledge gaps enabled or not to produce an AskResult
+		// or an AskResultWithGaps
+		if (ki.getKnowledgeGapsEnabled()) {
+			LOG.info("Knowledge gaps in result is {}", askResult.getKnowledgeGaps());
+			ar.knowledgeGaps(this.knowledgeGapsToList(askResult.getKnowledgeGaps()));
+		}
+		return ar;
+	}
 
-				LOG.debug("AskResult received, resuming async response: {}", askResult);
-				List<AskExchangeInfo> infos = askResult.getExchangeInfoPerKnowledgeBase().stream()
-						.map(aei -> new AskExchangeInfo().bindingSet(this.bindingSetToList(aei.getBindings()))
-								.knowledgeBaseId(aei.getKnowledgeBaseId().toString())
-								.knowledgeInteractionId(aei.getKnowledgeInteractionId().toString())
-								.exchangeStart(Date.from(aei.getExchangeStart()))
-								.exchangeStart(Date.from(aei.getExchangeStart()))
-								.initiator(toInitiatorEnumAsk(aei.getInitiator()))
-								.exchangeEnd(Date.from(aei.getExchangeEnd())).status(aei.getStatus().toString())
-								.failedMessage(aei.getFailedMessage()))
-						.collect(Collectors.toList());
-
-				LOG.debug("Bindings in result is {}", askResult.getBindings());
-				LOG.debug("KnowledgeGapsEnabled is {}", ki.getKnowledgeGapsEnabled());
-				
-				AskResult ar = new AskResult().bindingSet(this.bindingSetToList(askResult.getBindings())).exchangeInfo(infos);
-				// distinguish between knowledge gaps enabled or not to produce an AskResult or an AskResultWithGaps
-				if (ki.getKnowledgeGapsEnabled()) {
-					LOG.info("Knowledge gaps in result is {}", askResult.getKnowledgeGaps());
-					ar.knowledgeGaps(this.knowledgeGapsToList(askResult.getKnowledgeGaps()));					
+	/**
+	 * The server-sent events of a streamed ask. Events are written in order on
+	 * the {@link #EVENT_WRITER}, so the thread that sends them never waits for
+	 * the client. Failures (e.g. because the client went away) do not influence
+	 * the ask itself.
+	 */
+	private static class EventStream {
+
+		private final ChunkedOutput<String> output;
+		private CompletableFuture<Void> lastWrite = CompletableFuture.completedFuture(null);
+
+		public EventStream(ChunkedOutput<String> anOutput) {
+			this.output = anOutput;
+		}
+
+		/**
+		 * Writes an event with the given name and the JSON representation of the
+		 * given data.
+		 */
+		public void send(String event, Object data) {
+			String chunk;
+			try {
+				chunk = "event: " + event + "\ndata: " + MAPPER.writeValueAsString(data) + "\n\n";
+			} catch (IOException e) {
+				LOG.error("Could not serialize the {} event of an ask.", event, e);
+				return;
+			}
+			this.then(() -> {
+				if (this.output.isClosed())
+					return;
+				try {
+					this.output.write(chunk);
+				} catch (IOException e) {
+					LOG.debug("Could not send the {} event of an ask.", event, e);
+					this.closeQuietly();
 				}
-				asyncResponse.resume(Response.status(Status.OK).entity(ar).build());					
 			});
+		}
 
-		} catch (URISyntaxException | InterruptedException | ExecutionException e) {
-			LOG.trace("", e);
-			var response = new ResponseMessage();
-			response.setMessageType("error");
-			response.setMessage("Something went wrong while sending a POST or while waiting on the REACT.");
-			asyncResponse.resume(Response.status(Status.INTERNAL_SERVER_ERROR).entity(response).build());
-		} catch (IllegalArgumentException e) {
-			LOG.trace("", e);
-			var response = new ResponseMessage();
-			response.setMessageType("error");
-			response.setMessage(e.getMessage());
-			asyncResponse.resume(Response.status(Status.BAD_REQUEST).entity(response).build());
+		/**
+		 * Closes the stream after all events are written.
+		 */
+		public void close() {
+			this.then(this::closeQuietly);
+		}
+
+		private synchronized void then(Runnable write) {
+			// also after a failed write, so the stream is always closed.
+			this.lastWrite = this.lastWrite.handleAsync((result, throwable) -> {
+				write.run();
+				return null;
+			}, EVENT_WRITER);
+		}
+
+		private void closeQuietly() {
+			try {
+				this.output.close();
+			} catch (IOException e) {
+				LOG.debug("Could not close the event stream of an ask.", e);
+			}
 		}
 	}
 
@@ -3,23 +3,32 @@ package eu.knowledge.engine.rest.api.impl;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import eu.knowledge.engine.rest.api.NotFoundException;
+import eu.knowledge.engine.rest.model.HandleResponse;
+import eu.knowledge.engine.rest.model.HandleResponseResult;
+import eu.knowledge.engine.rest.model.HandleResponseWithKnowledgeInteractionId;
 import eu.knowledge.engine.rest.model.KnowledgeInteractionWithId;
 import eu.knowledge.engine.rest.model.ResponseMessage;
 import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.container.AsyncResponse;
 import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.container.TimeoutHandler;
@@ -52,6 +61,31 @@ public class ReactiveApiServiceImpl {
 			throws NotFoundException, IOException {
 
 		LOG.debug("scHandleGet() called by KB: {}", knowledgeBaseId);
+		this.waitForHandleRequests(knowledgeBaseId, 0, asyncResponse);
+	}
+
+	@GET
+	@Path("/handle/batch")
+	@Consumes({ "application/json; charset=UTF-8" })
+	@Produces({ "application/json; charset=UTF-8", "text/plain; charset=UTF-8" })
+	public void scHandleBatchGet(
+			@Parameter(description = "The Knowledge Base Id for which to execute the ask.", required = true) @HeaderParam("Knowledge-Base-Id") @NotNull String knowledgeBaseId,
+			@Parameter(description = "The maximum number of handle requests to return at once.") @QueryParam("maxHandleRequests") @DefaultValue("10") @Min(1) @Max(50) int maxHandleRequests,
+			@Suspended final AsyncResponse asyncResponse, @Context SecurityContext securityContext)
+			throws NotFoundException, IOException {
+
+		LOG.debug("scHandleBatchGet() called by KB: {}", knowledgeBaseId);
+		this.waitForHandleRequests(knowledgeBaseId, maxHandleRequests, asyncResponse);
+	}
+
+	/**
+	 * Long poll for handle requests of the given knowledge base.
+	 * 
+	 * @param maxHandleRequests The maximum number of handle requests to return as
+	 *                          a list, or 0 to return a single handle request.
+	 */
+	private void waitForHandleRequests(String knowledgeBaseId, int maxHandleRequests,
+			final AsyncResponse asyncResponse) {
 		asyncResponse.setTimeout(LONGPOLL_TIMEOUT, TimeUnit.SECONDS);
 		try {
 			// validate kb id
@@ -89,8 +123,11 @@ public class ReactiveApiServiceImpl {
 
 				asyncResponse.setTimeoutHandler(handler);
 
-				if (!kb.hasAsyncResponse()) {
-					kb.waitForHandleRequest(asyncResponse);
+				if (!kb.hasAsyncResponse() && !kb.hasWebSocket()) {
+					if (maxHandleRequests > 0)
+						kb.waitForHandleRequests(asyncResponse, maxHandleRequests);
+					else
+						kb.waitForHandleRequest(asyncResponse);
 				} else {
 					var response = new ResponseMessage();
 					response.setMessageType("error");
@@ -147,7 +184,7 @@ public class ReactiveApiServiceImpl {
 	public Response scHandlePost(
 			@Parameter(description = "The Knowledge Base Id for which to execute the ask.", required = true) @HeaderParam("Knowledge-Base-Id") @NotNull String knowledgeBaseId,
 			@Parameter(description = "The Post Knowledge Interaction Id to execute.", required = true) @HeaderParam("Knowledge-Interaction-Id") @NotNull String knowledgeInteractionId,
-			@Parameter(description = "") @Valid @NotNull eu.knowledge.engine.rest.model.HandleResponse responseBody,
+			@Parameter(description = "") @Valid @NotNull HandleResponse responseBody,
 			@Context SecurityContext securityContext) throws NotFoundException {
 
 		LOG.info("scHandlePost() called with {}, {}", knowledgeBaseId, knowledgeInteractionId);
@@ -174,50 +211,102 @@ public class ReactiveApiServiceImpl {
 		if (manager.hasKB(knowledgeBaseId)) {
 			// knowledgebase exists
 			RestKnowledgeBase kb = manager.getKB(knowledgeBaseId);
+			return this.finishHandleRequest(kb, knowledgeInteractionId, responseBody);
+		} else {
+			return this.knowledgeBaseNotFound(knowledgeBaseId);
+		}
+	}
 
-			if (kb.hasKnowledgeInteraction(knowledgeInteractionId)) {
-				// knowledge interaction exists
+	@POST
+	@Path("/handle/batch")
+	@Consumes({ "application/json; charset=UTF-8" })
+	@Produces({ "application/json; charset=UTF-8", "text/plain; charset=UTF-8" })
+	public Response scHandleBatchPost(
+			@Parameter(description = "The Knowledge Base Id for which to execute the ask.", required = true) @HeaderParam("Knowledge-Base-Id") @NotNull String knowledgeBaseId,
+			@Parameter(description = "") @Valid @NotNull List<HandleResponseWithKnowledgeInteractionId> responseBody,
+			@Context SecurityContext securityContext) throws NotFoundException {
 
-				if (kb.hasHandleRequestId(responseBody.getHandleRequestId())) {
+		LOG.info("scHandleBatchPost() called with {} and {} handle responses", knowledgeBaseId, responseBody.size());
+		LOG.debug("scHandleBatchPost() received this response body: {}", responseBody);
 
-					try {
-						kb.finishHandleRequest(knowledgeInteractionId, responseBody);
-					} catch (IllegalArgumentException e) {
-						var response = new ResponseMessage();
-						response.setMessageType("error");
-						response.setMessage(e.getMessage());
-						return Response.status(Status.BAD_REQUEST).entity(response).build();
-					}
+		try {
+			new URI(knowledgeBaseId);
+		} catch (URISyntaxException e) {
+			var response = new ResponseMessage();
+			response.setMessageType("error");
+			response.setMessage(
+					"Smart Connector not found, because its ID must be a valid URI and not " + knowledgeBaseId);
+			return Response.status(Status.BAD_REQUEST).entity(response).build();
+		}
 
-					return Response.ok().build();
-				} else {
+		if (!manager.hasKB(knowledgeBaseId)) {
+			return this.knowledgeBaseNotFound(knowledgeBaseId);
+		}
+
+		RestKnowledgeBase kb = manager.getKB(knowledgeBaseId);
+		var results = new ArrayList<HandleResponseResult>(responseBody.size());
+		for (HandleResponseWithKnowledgeInteractionId item : responseBody) {
+			var handleResponse = new HandleResponse().handleRequestId(item.getHandleRequestId())
+					.bindingSet(item.getBindingSet());
+			Response r = this.finishHandleRequest(kb, item.getKnowledgeInteractionId(), handleResponse);
+
+			var result = new HandleResponseResult().handleRequestId(item.getHandleRequestId()).status(r.getStatus());
+			if (r.getEntity() instanceof ResponseMessage message)
+				result.setMessage(message.getMessage());
+			results.add(result);
+		}
+		return Response.ok(results).build();
+	}
+
+	/**
+	 * @return the response to a single handle response of the knowledge base.
+	 */
+	private Response finishHandleRequest(RestKnowledgeBase kb, String knowledgeInteractionId,
+			HandleResponse responseBody) {
+		if (kb.hasKnowledgeInteraction(knowledgeInteractionId)) {
+			// knowledge interaction exists
+
+			if (kb.hasHandleRequestId(responseBody.getHandleRequestId())) {
+
+				try {
+					kb.finishHandleRequest(knowledgeInteractionId, responseBody);
+				} catch (IllegalArgumentException e) {
 					var response = new ResponseMessage();
 					response.setMessageType("error");
-					response.setMessage("Handle request id " + responseBody.getHandleRequestId()
-							+ " not found. Are you sure it is still being processed?");
-					return Response.status(Status.NOT_FOUND).entity(response).build();
+					response.setMessage(e.getMessage());
+					return Response.status(Status.BAD_REQUEST).entity(response).build();
 				}
+
+				return Response.ok().build();
 			} else {
 				var response = new ResponseMessage();
 				response.setMessageType("error");
-				response.setMessage("Knowledge Interaction not found, because its ID must match an existing KI: "
-						+ knowledgeInteractionId);
-				return Response.status(Status.BAD_REQUEST).entity(response).build();
-			}
-		} else {
-			if (manager.hasSuspendedKB(knowledgeBaseId)) {
-				manager.removeSuspendedKB(knowledgeBaseId);
-				var response = new ResponseMessage();
-				response.setMessageType("error");
-				response.setMessage(
-						"This knowledge base has been suspended due to inactivity. Please reregister the knowledge base and its knowledge interactions.");
-				return Response.status(Status.NOT_FOUND).entity(response).build();
-			} else {
-				var response = new ResponseMessage();
-				response.setMessageType("error");
-				response.setMessage("A Knowledge Base for the given Knowledge-Base-Id cannot be found.");
+				response.setMessage("Handle request id " + responseBody.getHandleRequestId()
+						+ " not found. Are you sure it is still being processed?");
 				return Response.status(Status.NOT_FOUND).entity(response).build();
 			}
+		} else {
+			var response = new ResponseMessage();
+			response.setMessageType("error");
+			response.setMessage("Knowledge Interaction not found, because its ID must match an existing KI: "
+					+ knowledgeInteractionId);
+			return Response.status(Status.BAD_REQUEST).entity(response).build();
+		}
+	}
+
+	private Response knowledgeBaseNotFound(String knowledgeBaseId) {
+		if (manager.hasSuspendedKB(knowledgeBaseId)) {
+			manager.removeSuspendedKB(knowledgeBaseId);
+			var response = new ResponseMessage();
+			response.setMessageType("error");
+			response.setMessage(
+					"This knowledge base has been suspended due to inactivity. Please reregister the knowledge base and its knowledge interactions.");
+			return Response.status(Status.NOT_FOUND).entity(response).build();
+		} else {
+			var response = new ResponseMessage();
+			response.setMessageType("error");
+			response.setMessage("A Knowledge Base for the given Knowledge-Base-Id cannot be found.");
+			return Response.status(Status.NOT_FOUND).entity(response).build();
 		}
 	}
 
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -19,6 +20,7 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import jakarta.ws.rs.container.AsyncResponse;
@@ -92,6 +94,26 @@ public class RestKnowledgeBase implements KnowledgeBase {
 	 */
 	private AsyncResponse asyncResponse;
 
+	/**
+	 * The maximum number of handle requests to return at once via the
+	 * {@link #asyncResponse}, or 0 if it expects a single handle request instead
+	 * of a list.
+	 */
+	private int asyncResponseBatchSize = 0;
+
+	/**
+	 * Can be null, if the client does not receive its handle requests over a
+	 * WebSocket. Only one of {@link #asyncResponse} and {@link #webSocket} is
+	 * used at a time.
+	 */
+	private volatile HandleWebSocket webSocket;
+
+	/**
+	 * The number of handle requests the client is still willing to receive over
+	 * its {@link #webSocket}.
+	 */
+	private int webSocketCredit;
+
 	/**
 	 * The Smart connector of this KB asks us to handle a certain request
 	 * (Ask,Post). These should be send to the asyncContext, but if it is not
@@ -107,6 +129,11 @@ public class RestKnowledgeBase implements KnowledgeBase {
 	private final Map<Integer, HandleRequest> beingProcessedHandleRequests;
 	private SmartConnector sc;
 	private Map<URI, KnowledgeInteraction> knowledgeInteractions;
+	/**
+	 * The reverse of {@link #knowledgeInteractions}, to quickly find the id of the
+	 * knowledge interaction of a handle request.
+	 */
+	private Map<KnowledgeInteraction, URI> knowledgeInteractionIds;
 
 	private static int QUEUE_SIZE = 50;
 
@@ -194,12 +221,14 @@ public class RestKnowledgeBase implements KnowledgeBase {
 	private Timer inactivityTimer;
 
 	private boolean suspended = false;
+	private volatile boolean isStopped = false;
 
 	public RestKnowledgeBase(eu.knowledge.engine.rest.model.SmartConnector scModel, final Runnable onReady) {
 		this.knowledgeBaseId = scModel.getKnowledgeBaseId();
 		this.knowledgeBaseName = scModel.getKnowledgeBaseName();
 		this.knowledgeBaseDescription = scModel.getKnowledgeBaseDescription();
 		this.knowledgeInteractions = new HashMap<>();
+		this.knowledgeInteractionIds = new IdentityHashMap<>();
 		this.toBeProcessedHandleRequests = new ArrayBlockingQueue<>(QUEUE_SIZE);
 
 		// use a mapping with a maximum capacity and removing the oldest one if new
@@ -258,36 +287,31 @@ public class RestKnowledgeBase implements KnowledgeBase {
 	protected void tryProcessHandleRequestElseEnqueue(HandleRequest handleRequest) {
 		boolean sentToKnowledgeBase = false;
 		synchronized (this.asyncResponseLock) {
-			if (this.asyncResponse != null) {
+			if (this.asyncResponse != null && this.asyncResponseBatchSize > 0) {
+				// the request is either sent, cancelled or returned as undelivered.
+				sentToKnowledgeBase = this.sendToAsyncResponse(List.of(handleRequest)).isEmpty();
+			} else if (this.asyncResponse != null) {
 				this.beingProcessedHandleRequests.put(handleRequest.getHandleRequestId(), handleRequest);
 				// immediately process
-				// retrieve corresponding KnowledgeInteractionId
-				if (this.knowledgeInteractions.containsValue(handleRequest.getKnowledgeInteraction())) {
-
-					String knowledgeInteractionId = null;
-					for (var entry : this.knowledgeInteractions.entrySet()) {
-						if (entry.getValue().equals(handleRequest.getKnowledgeInteraction())) {
-							knowledgeInteractionId = entry.getKey().toString();
-						}
-					}
-					assert knowledgeInteractionId != null;
-
-					eu.knowledge.engine.rest.model.HandleRequest handleRequestModel = new eu.knowledge.engine.rest.model.HandleRequest()
-							.bindingSet(handleRequest.getBindingSet())
-							.handleRequestId(handleRequest.getHandleRequestId())
-							.knowledgeInteractionId(knowledgeInteractionId);
-
-					if (handleRequest.getRequestingKnowledgeBaseId() != null) {
-						handleRequestModel
-								.requestingKnowledgeBaseId(handleRequest.getRequestingKnowledgeBaseId().toString());
-					}
-
+				var handleRequestModel = this.toHandleRequestModel(handleRequest);
+				if (handleRequestModel != null) {
 					sentToKnowledgeBase = this.asyncResponse
 							.resume(Response.status(200).entity(handleRequestModel).build());
 					// Even if unsuccesful, we want to reset the asyncResponse object, as it
 					// is somehow faulty. So we will wait for a new request.
 					this.resetAsyncResponse();
 				}
+			} else if (this.webSocket != null) {
+				if (this.webSocketCredit > 0) {
+					sentToKnowledgeBase = this.sendToWebSocket(handleRequest);
+				}
+				if (!sentToKnowledgeBase && !this.toBeProcessedHandleRequests.offer(handleRequest)) {
+					// The client controls the pace with its credits, so instead of cancelling the
+					// oldest request that it is about to receive, we refuse the new one.
+					handleRequest.getFuture().completeExceptionally(new KnowledgeEngineException(new Exception(
+							"Handle request queue is full, because the knowledge base does not grant enough credit.")));
+				}
+				return;
 			}
 		}
 
@@ -315,17 +339,198 @@ public class RestKnowledgeBase implements KnowledgeBase {
 		}
 	}
 
+	/**
+	 * @return the model of the handle request that is sent to the client, or
+	 *         {@code null} if its knowledge interaction is no longer registered.
+	 */
+	private eu.knowledge.engine.rest.model.HandleRequest toHandleRequestModel(HandleRequest handleRequest) {
+		// retrieve corresponding KnowledgeInteractionId
+		URI knowledgeInteractionId = this.knowledgeInteractionIds.get(handleRequest.getKnowledgeInteraction());
+		if (knowledgeInteractionId == null) {
+			return null;
+		}
+
+		eu.knowledge.engine.rest.model.HandleRequest handleRequestModel = new eu.knowledge.engine.rest.model.HandleRequest()
+				.bindingSet(handleRequest.getBindingSet()).handleRequestId(handleRequest.getHandleRequestId())
+				.knowledgeInteractionId(knowledgeInteractionId.toString());
+
+		if (handleRequest.getRequestingKnowledgeBaseId() != null) {
+			handleRequestModel.requestingKnowledgeBaseId(handleRequest.getRequestingKnowledgeBaseId().toString());
+		}
+		return handleRequestModel;
+	}
+
+	/**
+	 * Should be called while holding the {@link #asyncResponseLock}.
+	 */
+	private boolean sendToWebSocket(HandleRequest handleRequest) {
+		var handleRequestModel = this.toHandleRequestModel(handleRequest);
+		if (handleRequestModel == null) {
+			return false;
+		}
+		this.beingProcessedHandleRequests.put(handleRequest.getHandleRequestId(), handleRequest);
+		if (this.webSocket.sendHandleRequest(handleRequestModel)) {
+			this.webSocketCredit--;
+			return true;
+		} else {
+			this.beingProcessedHandleRequests.remove(handleRequest.getHandleRequestId());
+			return false;
+		}
+	}
+
 	public boolean hasAsyncResponse() {
 		return this.asyncResponse != null;
 	}
 
+	public boolean hasWebSocket() {
+		return this.webSocket != null;
+	}
+
+	/**
+	 * Use the given WebSocket to send handle requests to the client, instead of
+	 * long polling.
+	 * 
+	 * @return {@code false} if the client already has a long polling request or
+	 *         WebSocket.
+	 */
+	public boolean attachWebSocket(HandleWebSocket aWebSocket) {
+		synchronized (this.asyncResponseLock) {
+			if (this.asyncResponse != null || this.webSocket != null) {
+				return false;
+			}
+			this.webSocket = aWebSocket;
+			this.webSocketCredit = 0;
+		}
+		// the open connection shows that the client is active.
+		this.cancelInactivityTimeout();
+		return true;
+	}
+
+	public void detachWebSocket(HandleWebSocket aWebSocket) {
+		synchronized (this.asyncResponseLock) {
+			if (this.webSocket != aWebSocket) {
+				return;
+			}
+			this.webSocket = null;
+			this.webSocketCredit = 0;
+		}
+		if (!this.suspended && !this.isStopped)
+			this.resetInactivityTimeout();
+	}
+
+	/**
+	 * The client of the WebSocket is willing to receive {@code credit} more handle
+	 * requests, so send the handle requests that are waiting.
+	 */
+	public void addWebSocketCredit(HandleWebSocket aWebSocket, int credit) {
+		synchronized (this.asyncResponseLock) {
+			if (this.webSocket != aWebSocket) {
+				return;
+			}
+			this.webSocketCredit += credit;
+
+			HandleRequest hr;
+			while (this.webSocketCredit > 0 && (hr = this.toBeProcessedHandleRequests.poll()) != null) {
+				if (!this.sendToWebSocket(hr)) {
+					hr.getFuture().completeExceptionally(new KnowledgeEngineException(
+							new Exception("Could not send the handle request over the WebSocket.")));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Should be called while holding the {@link #asyncResponseLock}. Handle
+	 * requests whose knowledge interaction is no longer registered are cancelled.
+	 * 
+	 * @return the handle requests that could not be sent to the client and should
+	 *         be processed later.
+	 */
+	private List<HandleRequest> sendToAsyncResponse(List<HandleRequest> handleRequests) {
+		var sendable = new ArrayList<HandleRequest>(handleRequests.size());
+		var handleRequestModels = new ArrayList<eu.knowledge.engine.rest.model.HandleRequest>(handleRequests.size());
+		for (HandleRequest hr : handleRequests) {
+			var handleRequestModel = this.toHandleRequestModel(hr);
+			if (handleRequestModel != null) {
+				this.beingProcessedHandleRequests.put(hr.getHandleRequestId(), hr);
+				sendable.add(hr);
+				handleRequestModels.add(handleRequestModel);
+			} else {
+				hr.getFuture().completeExceptionally(new KnowledgeEngineException(
+						new Exception("The knowledge interaction of this handle request is no longer registered.")));
+			}
+		}
+		if (handleRequestModels.isEmpty()) {
+			return List.of();
+		}
+
+		boolean sent = this.asyncResponse.resume(Response.status(200).entity(handleRequestModels).build());
+		// Even if unsuccesful, we want to reset the asyncResponse object, as it
+		// is somehow faulty. So we will wait for a new request.
+		this.resetAsyncResponse();
+		if (sent) {
+			return List.of();
+		}
+
+		sendable.forEach(hr -> this.beingProcessedHandleRequests.remove(hr.getHandleRequestId()));
+		return sendable;
+	}
+
+	/**
+	 * Put the given handle requests back in front of the queue, so that they are
+	 * sent before the ones that arrived later. Should be called while holding the
+	 * {@link #asyncResponseLock}.
+	 */
+	private void requeueHandleRequests(List<HandleRequest> handleRequests) {
+		var waiting = new ArrayList<HandleRequest>(handleRequests);
+		HandleRequest hr;
+		while ((hr = this.toBeProcessedHandleRequests.poll()) != null) {
+			waiting.add(hr);
+		}
+		for (HandleRequest waitingHr : waiting) {
+			if (!this.toBeProcessedHandleRequests.offer(waitingHr)) {
+				waitingHr.getFuture().completeExceptionally(new KnowledgeEngineException(
+						new Exception("Handle request queue is full. This request has been cancelled.")));
+			}
+		}
+	}
+
 	public void resetAsyncResponse() {
 		this.asyncResponse = null;
+		this.asyncResponseBatchSize = 0;
 		this.resetInactivityTimeout();
 	}
 
+	/**
+	 * Wait for at most {@code maxHandleRequests} handle requests, which are
+	 * returned as a list via the given async response. Handle requests that are
+	 * already waiting are returned immediately.
+	 */
+	public void waitForHandleRequests(AsyncResponse asyncResponse, int maxHandleRequests) {
+		synchronized (this.asyncResponseLock) {
+			this.asyncResponse = asyncResponse;
+			this.asyncResponseBatchSize = Math.max(1, Math.min(maxHandleRequests, QUEUE_SIZE));
+
+			var handleRequests = new ArrayList<HandleRequest>();
+			HandleRequest hr;
+			while (handleRequests.size() < this.asyncResponseBatchSize
+					&& (hr = this.toBeProcessedHandleRequests.poll()) != null) {
+				handleRequests.add(hr);
+			}
+			if (!handleRequests.isEmpty()) {
+				var undelivered = this.sendToAsyncResponse(handleRequests);
+				if (!undelivered.isEmpty()) {
+					LOG.debug("Could not send {} handle request(s) to knowledge base {}, requeueing them.",
+							undelivered.size(), this.knowledgeBaseId);
+					this.requeueHandleRequests(undelivered);
+				}
+			}
+		}
+	}
+
 	public void waitForHandleRequest(AsyncResponse asyncResponse) {
 
+		this.asyncResponseBatchSize = 0;
 		this.asyncResponse = asyncResponse;
 		HandleRequest hr = toBeProcessedHandleRequests.poll();
 		if (hr != null) {
@@ -421,6 +626,7 @@ public class RestKnowledgeBase implements KnowledgeBase {
 
 			kiId = this.sc.register(askKI);
 			this.knowledgeInteractions.put(kiId, askKI);
+			this.knowledgeInteractionIds.put(askKI, kiId);
 		} else if (type.equals("AnswerKnowledgeInteraction")) {
 
 			eu.knowledge.engine.rest.model.AnswerKnowledgeInteraction aki = (eu.knowledge.engine.rest.model.AnswerKnowledgeInteraction) ki;
@@ -434,6 +640,7 @@ public class RestKnowledgeBase implements KnowledgeBase {
 			kiId = this.sc.register(answerKI, this.answerHandler);
 
 			this.knowledgeInteractions.put(kiId, answerKI);
+			this.knowledgeInteractionIds.put(answerKI, kiId);
 		} else if (type.equals("PostKnowledgeInteraction")) {
 
 			eu.knowledge.engine.rest.model.PostKnowledgeInteraction pki = (eu.knowledge.engine.rest.model.PostKnowledgeInteraction) ki;
@@ -457,6 +664,7 @@ public class RestKnowledgeBase implements KnowledgeBase {
 			kiId = this.sc.register(postKI);
 
 			this.knowledgeInteractions.put(kiId, postKI);
+			this.knowledgeInteractionIds.put(postKI, kiId);
 		} else if (type.equals("ReactKnowledgeInteraction")) {
 
 			eu.knowledge.engine.rest.model.ReactKnowledgeInteraction rki = (eu.knowledge.engine.rest.model.ReactKnowledgeInteraction) ki;
@@ -480,6 +688,7 @@ public class RestKnowledgeBase implements KnowledgeBase {
 			kiId = this.sc.register(reactKI, this.reactHandler);
 
 			this.knowledgeInteractions.put(kiId, reactKI);
+			this.knowledgeInteractionIds.put(reactKI, kiId);
 		} else {
 			throw new IllegalArgumentException(String.format(
 					"Unexpected value for knowledgeInteractionType: %s. Must be one of: AskKnowledgeInteraction, AnswerKnowledgeInteraction, PostKnowledgeInteraction, ReactKnowledgeInteraction",
@@ -588,6 +797,7 @@ public class RestKnowledgeBase implements KnowledgeBase {
 			LOG.warn("Tried to delete an unknown knowledge interaction '{}'. Ignored.", kiId);
 			return;
 		}
+		this.knowledgeInteractionIds.remove(ki);
 
 		if (ki instanceof AskKnowledgeInteraction) {
 			this.sc.unregister((AskKnowledgeInteraction) ki);
@@ -608,6 +818,18 @@ public class RestKnowledgeBase implements KnowledgeBase {
 	public CompletableFuture<eu.knowledge.engine.smartconnector.api.AskResult> ask(String kiId,
 			RecipientSelector recipientSelector, List<Map<String, String>> bindings)
 			throws URISyntaxException, InterruptedException, ExecutionException {
+		return this.ask(kiId, recipientSelector, bindings, null);
+	}
+
+	/**
+	 * Same as {@link #ask(String, RecipientSelector, List)}, but the bindings of
+	 * the answer are also given to {@code partialResultHandler} as soon as the
+	 * smart connector derives them.
+	 */
+	public CompletableFuture<eu.knowledge.engine.smartconnector.api.AskResult> ask(String kiId,
+			RecipientSelector recipientSelector, List<Map<String, String>> bindings,
+			Consumer<BindingSet> partialResultHandler)
+			throws URISyntaxException, InterruptedException, ExecutionException {
 		KnowledgeInteraction ki;
 		try {
 			ki = this.knowledgeInteractions.get(new URI(kiId));
@@ -624,7 +846,8 @@ public class RestKnowledgeBase implements KnowledgeBase {
 		// ASK the bindings to the smart connector and wait for a response. If
 		// anything misbehaves, this will throw and it's up to the caller of this
 		// method to handle it.
-		var askFuture = this.sc.ask((AskKnowledgeInteraction) ki, recipientSelector, listToBindingSet(bindings));
+		var askFuture = this.sc.ask((AskKnowledgeInteraction) ki, recipientSelector, listToBindingSet(bindings),
+				partialResultHandler);
 
 		return askFuture.handle((r, e) -> {
 
@@ -755,8 +978,12 @@ public class RestKnowledgeBase implements KnowledgeBase {
 	}
 
 	public void stop() {
+		this.isStopped = true;
 		if (this.hasAsyncResponse())
 			this.cancelAsyncResponse();
+		HandleWebSocket ws = this.webSocket;
+		if (ws != null)
+			ws.close("The Knowledge Base is stopping.");
 		this.cancelInactivityTimeout();
 		this.sc.stop();
 		this.cancelAndClearAllHandleRequests();
@@ -828,6 +1055,10 @@ public class RestKnowledgeBase implements KnowledgeBase {
 		if (!overwrite && this.inactivityTimer != null) {
 			return;
 		}
+		if (this.webSocket != null) {
+			// the open WebSocket shows that the client is active.
+			return;
+		}
 
 		this.inactivityTimer = new Timer();
 
@@ -2,6 +2,7 @@ package eu.knowledge.engine.smartconnector.impl;
 
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import eu.knowledge.engine.reasoner.Rule;
 import eu.knowledge.engine.smartconnector.api.AnswerHandler;
@@ -94,6 +95,42 @@ public interface InteractionProcessor {
 	 */
 	PostPlan planPostFromKnowledgeBase(MyKnowledgeInteractionInfo aPKI, RecipientSelector aSelector);
 
+	/**
+	 * Plan and execute an {@link AskKnowledgeInteraction} from MyKnowledgeBase in
+	 * one go. Since the plan is never handed out to the caller, it can be reused
+	 * for subsequent asks of the same {@link AskKnowledgeInteraction} as long as
+	 * the other knowledge bases and the domain knowledge did not change.
+	 *
+	 * @see #planAskFromKnowledgeBase(MyKnowledgeInteractionInfo,
+	 *      RecipientSelector)
+	 */
+	CompletableFuture<AskResult> askFromKnowledgeBase(MyKnowledgeInteractionInfo anAKI, RecipientSelector aSelector,
+			BindingSet aBindingSet);
+
+	/**
+	 * Same as
+	 * {@link #askFromKnowledgeBase(MyKnowledgeInteractionInfo, RecipientSelector, BindingSet)},
+	 * but the bindings are also given to {@code aPartialResultHandler} as soon as
+	 * they are derived.
+	 *
+	 * @param aPartialResultHandler Receives the new bindings, or {@code null} if
+	 *                              only the {@link AskResult} is needed.
+	 */
+	CompletableFuture<AskResult> askFromKnowledgeBase(MyKnowledgeInteractionInfo anAKI, RecipientSelector aSelector,
+			BindingSet aBindingSet, Consumer<BindingSet> aPartialResultHandler);
+
+	/**
+	 * Plan and execute a {@link PostKnowledgeInteraction} from MyKnowledgeBase in
+	 * one go. Since the plan is never handed out to the caller, it can be reused
+	 * for subsequent posts of the same {@link PostKnowledgeInteraction} as long as
+	 * the other knowledge bases and the domain knowledge did not change.
+	 *
+	 * @see #planPostFromKnowledgeBase(MyKnowledgeInteractionInfo,
+	 *      RecipientSelector)
+	 */
+	CompletableFuture<PostResult> postFromKnowledgeBase(MyKnowledgeInteractionInfo aPKI, RecipientSelector aSelector,
+			BindingSet someArguments);
+
 	/**
 	 * Interprets the given {@link AskMessage} and returns an {@link AnswerMessage}
 	 * by delegating the {@link BindingSet} to the correct {@link AnswerHandler}, OR
@@ -1,12 +1,20 @@
 package eu.knowledge.engine.smartconnector.impl;
 
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.jena.graph.NodeFactory;
@@ -34,6 +42,7 @@ import eu.knowledge.engine.reasoner.Rule;
 import eu.knowledge.engine.smartconnector.api.AnswerExchangeInfo;
 import eu.knowledge.engine.smartconnector.api.AnswerKnowledgeInteraction;
 import eu.knowledge.engine.smartconnector.api.AskPlan;
+import eu.knowledge.engine.smartconnector.api.AskResult;
 import eu.knowledge.engine.smartconnector.api.Binding;
 import eu.knowledge.engine.smartconnector.api.BindingSet;
 import eu.knowledge.engine.smartconnector.api.BindingValidator;
@@ -41,6 +50,7 @@ import eu.knowledge.engine.smartconnector.api.CommunicativeAct;
 import eu.knowledge.engine.smartconnector.api.GraphPattern;
 import eu.knowledge.engine.smartconnector.api.MatchStrategy;
 import eu.knowledge.engine.smartconnector.api.PostPlan;
+import eu.knowledge.engine.smartconnector.api.PostResult;
 import eu.knowledge.engine.smartconnector.api.ReactExchangeInfo;
 import eu.knowledge.engine.smartconnector.api.ReactKnowledgeInteraction;
 import eu.knowledge.engine.smartconnector.api.RecipientSelector;
@@ -50,7 +60,7 @@ import eu.knowledge.engine.smartconnector.messaging.AskMessage;
 import eu.knowledge.engine.smartconnector.messaging.PostMessage;
 import eu.knowledge.engine.smartconnector.messaging.ReactMessage;
 
-public class InteractionProcessorImpl implements InteractionProcessor {
+public class InteractionProcessorImpl implements InteractionProcessor, KnowledgeBaseStoreListener {
 
 	private final Logger LOG;
 
@@ -78,6 +88,71 @@ public class InteractionProcessorImpl implements InteractionProcessor {
 
 	private static boolean VALIDATE_OUTGOING_BINDINGS_WRT_INCOMING_BINDINGS_DEFAULT = true;
 
+	/**
+	 * Idle plans of earlier asks and posts that can be reused by subsequent asks
+	 * and posts of the same knowledge interaction. A plan is removed from the cache
+	 * while it is being executed, so it is never used by two interactions at the
+	 * same time.
+	 */
+	private final Map<PlanCacheKey, ReasonerProcessor> planCache = new ConcurrentHashMap<>();
+
+	/**
+	 * The versions of the other knowledge bases and the domain knowledge the plans
+	 * in the {@link #planCache} were made with.
+	 */
+	private long planCacheOtherKnowledgeBaseStoreVersion = -1;
+	private long planCacheDomainKnowledgeVersion = -1;
+
+	/**
+	 * Incremented every time the domain knowledge or reasoner setting changes,
+	 * because this invalidates the cached plans.
+	 */
+	private final AtomicLong domainKnowledgeVersion = new AtomicLong();
+
+	/**
+	 * The graph pattern of recipient selectors that select knowledge bases by
+	 * their id.
+	 */
+	private static final String KNOWLEDGE_BASE_PATTERN = new RecipientSelector().getPattern().getPattern();
+
+	private static final int MAX_CACHED_SELECTOR_QUERIES = 100;
+
+	/**
+	 * The parsed SPARQL queries of recent recipient selectors, so they do not have
+	 * to be parsed for every interaction.
+	 */
+	private final Map<String, Query> selectorQueryCache = Collections
+			.synchronizedMap(new LinkedHashMap<String, Query>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, Query> eldest) {
+					return size() > MAX_CACHED_SELECTOR_QUERIES;
+				}
+			});
+
+	private static final Resource MY_ACT = ResourceFactory.createResource(Vocab.ONTO_URI + "myAct");
+	private static final Resource OTHER_ACT = ResourceFactory.createResource(Vocab.ONTO_URI + "otherAct");
+
+	private static final int MAX_CACHED_COMMUNICATIVE_ACT_MATCHES = 1000;
+
+	/**
+	 * Whether the communicative acts of two knowledge interactions match. This only
+	 * depends on their purposes and the (fixed) ontology, so the results are shared
+	 * by all smart connectors and never become outdated. There are usually only a
+	 * few distinct communicative acts in a network, but since the purposes are
+	 * chosen by the knowledge bases only the most recently used ones are kept.
+	 */
+	private static final Map<ActPairKey, Boolean> COMMUNICATIVE_ACT_MATCHES = Collections
+			.synchronizedMap(new LinkedHashMap<ActPairKey, Boolean>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<ActPairKey, Boolean> eldest) {
+					return size() > MAX_CACHED_COMMUNICATIVE_ACT_MATCHES;
+				}
+			});
+
 	private static final Query query = QueryFactory.create(
 			"ASK WHERE { ?req <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> ?someClass . FILTER NOT EXISTS {?sat <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> ?someClass .} VALUES (?req ?sat) {} }");
 
@@ -96,6 +171,9 @@ public class InteractionProcessorImpl implements InteractionProcessor {
 		assert !this.ontology.isEmpty();
 
 		reasoner = ReasonerRegistry.getRDFSSimpleReasoner().bindSchema(this.ontology);
+
+		if (this.myKnowledgeBaseStore != null)
+			this.myKnowledgeBaseStore.addListener(this);
 	}
 
 	@Override
@@ -103,55 +181,188 @@ public class InteractionProcessorImpl implements InteractionProcessor {
 		assert anAKI != null : "the knowledge interaction should be non-null";
 		assert aSelector != null : "the selector should be non-null";
 
-		var myKnowledgeInteraction = anAKI.getKnowledgeInteraction();
+		ReasonerProcessor processor = this.createProcessor(anAKI, aSelector);
 
-		// retrieve other knowledge bases
-		Set<OtherKnowledgeBase> otherKnowledgeBases = this.otherKnowledgeBaseStore.getOtherKnowledgeBases();
+		// give the caller something to chew on while it waits. This method starts the
+		// interaction process as far as it can until it is blocked because it waits for
+		// outstanding message replies. Then it returns the future. Threads from the
+		// MessageDispatcher will finish this process and the thread that handles the
+		// last reply message will complete the future and notify the caller
+		// KnowledgeBase.
+		processor.planAskInteraction(anAKI);
+		return new AskPlanImpl(processor);
+	}
+
+	@Override
+	public CompletableFuture<AskResult> askFromKnowledgeBase(MyKnowledgeInteractionInfo anAKI,
+			RecipientSelector aSelector, BindingSet aBindingSet) {
+		return this.askFromKnowledgeBase(anAKI, aSelector, aBindingSet, null);
+	}
+
+	@Override
+	public CompletableFuture<AskResult> askFromKnowledgeBase(MyKnowledgeInteractionInfo anAKI,
+			RecipientSelector aSelector, BindingSet aBindingSet, Consumer<BindingSet> aPartialResultHandler) {
+		if (aBindingSet == null) {
+			throw new IllegalArgumentException("the binding set should be non-null");
+		}
+
+		PlanCacheKey key = this.createPlanCacheKey(anAKI, aSelector);
+		ReasonerProcessor processor = this.checkoutPlan(key);
+		if (processor == null) {
+			processor = this.createProcessor(anAKI, aSelector);
+			processor.planAskInteraction(anAKI);
+		}
+
+		final ReasonerProcessor finalProcessor = processor;
+		return processor.executeAskInteraction(aBindingSet, aPartialResultHandler).whenComplete((r, e) -> {
+			if (e == null)
+				this.releasePlan(key, finalProcessor);
+		});
+	}
+
+	/**
+	 * Creates a new {@link ReasonerProcessor} with all the other knowledge
+	 * interactions that are relevant for the given knowledge interaction and
+	 * selector.
+	 */
+	private ReasonerProcessor createProcessor(MyKnowledgeInteractionInfo aKI, RecipientSelector aSelector) {
 
-		// use RecipientSelector to make a subset. We could do this in the easy way, but
-		// in the future we hope that these RecipientSelectors can be merged with the
-		// regular Knowledge Interaction graph pattern. Therefore we use a more
-		// complicated algorithm to create a subset of the other knowledge bases.
-		Set<OtherKnowledgeBase> filteredOtherKnowledgeBases = filterOtherKnowledgeBases(otherKnowledgeBases, aSelector);
+		// use RecipientSelector to make a subset of the other knowledge bases.
+		Set<OtherKnowledgeBase> filteredOtherKnowledgeBases = filterOtherKnowledgeBases(aSelector);
 
 		Set<KnowledgeInteractionInfo> otherKnowledgeInteractions = new HashSet<>();
 
 		for (OtherKnowledgeBase otherKB : filteredOtherKnowledgeBases) {
 			// Use the knowledge interactions from the other KB
 			var knowledgeInteractions = otherKB.getKnowledgeInteractions().stream().filter((r) -> {
-				return anAKI.getKnowledgeInteraction().includeMetaKIs() ? true : !r.isMeta();
+				return aKI.getKnowledgeInteraction().includeMetaKIs() ? true : !r.isMeta();
 			});
 
 			otherKnowledgeInteractions.addAll(knowledgeInteractions.collect(Collectors.toList()));
 		}
 
 		// But filter on the communicative act. These have to match!
-		filterWithCommunicativeActMatcher(anAKI, otherKnowledgeInteractions);
+		filterWithCommunicativeActMatcher(aKI, otherKnowledgeInteractions);
 
-		// create a new SingleInteractionProcessor to handle this ask.
-		SingleInteractionProcessor processor;
-		if (this.reasonerEnabled) {
-			processor = new ReasonerProcessor(otherKnowledgeInteractions, messageRouter,
-					this.additionalDomainKnowledge);
-		} else {
-			processor = new ReasonerProcessor(otherKnowledgeInteractions, messageRouter,
-					this.additionalDomainKnowledge);
-			((ReasonerProcessor) processor).setMatchStrategy(MatchStrategy.ENTRY_LEVEL);
+		// create a new SingleInteractionProcessor to handle this interaction.
+		ReasonerProcessor processor = new ReasonerProcessor(otherKnowledgeInteractions, this.messageRouter,
+				this.additionalDomainKnowledge);
+		if (!this.reasonerEnabled) {
+			processor.setMatchStrategy(MatchStrategy.ENTRY_LEVEL);
 		}
+		return processor;
+	}
 
-		// give the caller something to chew on while it waits. This method starts the
-		// interaction process as far as it can until it is blocked because it waits for
-		// outstanding message replies. Then it returns the future. Threads from the
-		// MessageDispatcher will finish this process and the thread that handles the
-		// last reply message will complete the future and notify the caller
-		// KnowledgeBase.
-		processor.planAskInteraction(anAKI);
-		return new AskPlanImpl(processor);
+	/**
+	 * @return the key under which the plan for the given knowledge interaction
+	 *         and selector is cached, given the current state of the other
+	 *         knowledge bases and domain knowledge.
+	 */
+	private PlanCacheKey createPlanCacheKey(MyKnowledgeInteractionInfo aKI, RecipientSelector aSelector) {
+		MatchStrategy strategy = aKI.getKnowledgeInteraction().getMatchStrategy();
+		if (strategy == null)
+			strategy = this.reasonerEnabled ? MatchStrategy.NORMAL_LEVEL : MatchStrategy.ENTRY_LEVEL;
+
+		return new PlanCacheKey(aKI.getId(), strategy, createQuery(aSelector.getPattern(), aSelector.getBindingSet()),
+				this.otherKnowledgeBaseStore.getVersion(), this.domainKnowledgeVersion.get());
 	}
 
-	private Set<OtherKnowledgeBase> filterOtherKnowledgeBases(Set<OtherKnowledgeBase> otherKnowledgeBases,
-			RecipientSelector aSelector) {
+	/**
+	 * Take a cached plan out of the cache, so that no other interaction uses it at
+	 * the same time.
+	 * 
+	 * @return a reset processor whose plan can be executed again, or {@code null}
+	 *         if no plan is available.
+	 */
+	private ReasonerProcessor checkoutPlan(PlanCacheKey aKey) {
+		this.invalidatePlanCacheIfOutdated(aKey);
+		ReasonerProcessor processor = this.planCache.remove(aKey);
+		if (processor != null) {
+			LOG.trace("Reusing cached plan for KI <{}>.", aKey.knowledgeInteractionId);
+			processor.reset();
+		}
+		return processor;
+	}
+
+	/**
+	 * Put the plan back into the cache after its interaction finished, unless the
+	 * other knowledge bases or domain knowledge changed in the meantime.
+	 */
+	private void releasePlan(PlanCacheKey aKey, ReasonerProcessor aProcessor) {
+		this.invalidatePlanCacheIfOutdated(aKey);
+		if (aKey.otherKnowledgeBaseStoreVersion == this.otherKnowledgeBaseStore.getVersion()
+				&& aKey.domainKnowledgeVersion == this.domainKnowledgeVersion.get()
+				&& this.isStillRegistered(aKey.knowledgeInteractionId)) {
+			this.planCache.putIfAbsent(aKey, aProcessor);
+		}
+	}
+
+	/**
+	 * @return whether the given knowledge interaction of my knowledge base was not
+	 *         unregistered while its plan was executing.
+	 */
+	private boolean isStillRegistered(URI aKnowledgeInteractionId) {
+		return this.myKnowledgeBaseStore == null
+				|| this.myKnowledgeBaseStore.getKnowledgeInteractionById(aKnowledgeInteractionId) != null;
+	}
 
+	@Override
+	public void knowledgeInteractionRegistered(KnowledgeInteractionInfo ki) {
+		// new knowledge interactions of my knowledge base do not change the plans of
+		// the other ones.
+	}
+
+	@Override
+	public void knowledgeInteractionUnregistered(KnowledgeInteractionInfo ki) {
+		this.planCache.keySet().removeIf(key -> key.knowledgeInteractionId.equals(ki.getId()));
+	}
+
+	@Override
+	public void smartConnectorStopping() {
+		this.planCache.clear();
+	}
+
+	/**
+	 * Removes all cached plans if they were made with other knowledge bases or
+	 * domain knowledge than the current ones.
+	 */
+	private void invalidatePlanCacheIfOutdated(PlanCacheKey aKey) {
+		long otherKnowledgeBaseStoreVersion = this.otherKnowledgeBaseStore.getVersion();
+		long currentDomainKnowledgeVersion = this.domainKnowledgeVersion.get();
+		synchronized (this.planCache) {
+			if (this.planCacheOtherKnowledgeBaseStoreVersion != otherKnowledgeBaseStoreVersion
+					|| this.planCacheDomainKnowledgeVersion != currentDomainKnowledgeVersion) {
+				LOG.debug("Other knowledge bases or domain knowledge changed, clearing {} cached plan(s).",
+						this.planCache.size());
+				this.planCache.clear();
+				this.planCacheOtherKnowledgeBaseStoreVersion = otherKnowledgeBaseStoreVersion;
+				this.planCacheDomainKnowledgeVersion = currentDomainKnowledgeVersion;
+			}
+		}
+	}
+
+	private Set<OtherKnowledgeBase> filterOtherKnowledgeBases(RecipientSelector aSelector) {
+
+		// Selectors that only select knowledge bases by their id (including the
+		// wildcard selector) are answered with the store instead of a query over
+		// the RDF of all other knowledge bases.
+		if (KNOWLEDGE_BASE_PATTERN.equals(aSelector.getPattern().getPattern())) {
+			Set<URI> ids = this.toKnowledgeBaseIds(aSelector.getBindingSet());
+			if (ids != null) {
+				if (ids.isEmpty()) {
+					return this.otherKnowledgeBaseStore.getOtherKnowledgeBases();
+				}
+				Set<OtherKnowledgeBase> filtered = new HashSet<>();
+				for (URI id : ids) {
+					OtherKnowledgeBase okb = this.otherKnowledgeBaseStore.getOtherKnowledgeBase(id);
+					if (okb != null)
+						filtered.add(okb);
+				}
+				return filtered;
+			}
+		}
+
+		Set<OtherKnowledgeBase> otherKnowledgeBases = this.otherKnowledgeBaseStore.getOtherKnowledgeBases();
 		Set<OtherKnowledgeBase> filtered = new HashSet<>();
 
 		// convert to RDF
@@ -162,7 +373,13 @@ public class InteractionProcessorImpl implements InteractionProcessor {
 
 		String queryString = createQuery(aSelector.getPattern(), aSelector.getBindingSet());
 		LOG.debug("Query: {}", queryString);
-		Query q = QueryFactory.create(queryString);
+		Query q = this.selectorQueryCache.computeIfAbsent(queryString, qs -> {
+			Query parsed = QueryFactory.create(qs);
+			// resolve the result variables now, so executing the shared query does not
+			// modify it.
+			parsed.setResultVars();
+			return parsed;
+		});
 		QueryExecution qe = QueryExecutionFactory.create(q, m);
 		ResultSet rs = qe.execSelect();
 
@@ -182,6 +399,25 @@ public class InteractionProcessorImpl implements InteractionProcessor {
 		return filtered;
 	}
 
+	/**
+	 * @return the ids of the knowledge bases bound to the {@code kb} variable, or
+	 *         {@code null} if some binding is not a knowledge base id.
+	 */
+	private Set<URI> toKnowledgeBaseIds(BindingSet bs) {
+		Set<URI> ids = new HashSet<>();
+		for (Binding b : bs) {
+			String kbId = b.get("kb");
+			if (kbId == null || !kbId.startsWith("<") || !kbId.endsWith(">"))
+				return null;
+			try {
+				ids.add(new URI(kbId.substring(1, kbId.length() - 1)));
+			} catch (URISyntaxException e) {
+				return null;
+			}
+		}
+		return ids;
+	}
+
 	private String createQuery(GraphPattern gp, BindingSet bs) {
 		// then query to retrieve the selected KBs.
 		String queryString = "SELECT * WHERE { " + gp.getPattern() + " } VALUES (?kb) { ";
@@ -274,40 +510,8 @@ public class InteractionProcessorImpl implements InteractionProcessor {
 		assert aPKI != null : "the knowledge interaction should be non-null";
 		assert aSelector != null : "the selector should be non-null";
 
-		var myKnowledgeInteraction = aPKI.getKnowledgeInteraction();
-
-		// retrieve other knowledge bases
-		Set<OtherKnowledgeBase> otherKnowledgeBases = this.otherKnowledgeBaseStore.getOtherKnowledgeBases();
-
-		// use RecipientSelector to make a subset. We could do this in the easy way, but
-		// in the future we hope that these RecipientSelectors can be merged with the
-		// regular Knowledge Interaction graph pattern. Therefore we use a more
-		// complicated algorithm to create a subset of the other knowledge bases.
-		Set<OtherKnowledgeBase> filteredOtherKnowledgeBases = filterOtherKnowledgeBases(otherKnowledgeBases, aSelector);
-
-		Set<KnowledgeInteractionInfo> otherKnowledgeInteractions = new HashSet<>();
+		ReasonerProcessor processor = this.createProcessor(aPKI, aSelector);
 
-		for (OtherKnowledgeBase otherKB : filteredOtherKnowledgeBases) {
-			// Use the knowledge interactions from the other KB
-			var knowledgeInteractions = otherKB.getKnowledgeInteractions().stream().filter((r) -> {
-				return aPKI.getKnowledgeInteraction().includeMetaKIs() ? true : !r.isMeta();
-			});
-			otherKnowledgeInteractions.addAll(knowledgeInteractions.collect(Collectors.toList()));
-		}
-
-		// But filter on the communicative act. These have to match!
-		filterWithCommunicativeActMatcher(aPKI, otherKnowledgeInteractions);
-
-		// create a new SingleInteractionProcessor to handle this ask.
-		SingleInteractionProcessor processor;
-		if (this.reasonerEnabled) {
-			processor = new ReasonerProcessor(otherKnowledgeInteractions, this.messageRouter,
-					this.additionalDomainKnowledge);
-		} else {
-			processor = new ReasonerProcessor(otherKnowledgeInteractions, this.messageRouter,
-					this.additionalDomainKnowledge);
-			((ReasonerProcessor) processor).setMatchStrategy(MatchStrategy.ENTRY_LEVEL);
-		}
 		// give the caller something to chew on while it waits. This method starts the
 		// interaction process as far as it can until it is blocked because it waits for
 		// outstanding message replies. Then it returns the future. Threads from the
@@ -319,6 +523,27 @@ public class InteractionProcessorImpl implements InteractionProcessor {
 		return new PostPlanImpl(processor);
 	}
 
+	@Override
+	public CompletableFuture<PostResult> postFromKnowledgeBase(MyKnowledgeInteractionInfo aPKI,
+			RecipientSelector aSelector, BindingSet someArguments) {
+		if (someArguments == null) {
+			throw new IllegalArgumentException("the binding set should be non-null");
+		}
+
+		PlanCacheKey key = this.createPlanCacheKey(aPKI, aSelector);
+		ReasonerProcessor processor = this.checkoutPlan(key);
+		if (processor == null) {
+			processor = this.createProcessor(aPKI, aSelector);
+			processor.planPostInteraction(aPKI);
+		}
+
+		final ReasonerProcessor finalProcessor = processor;
+		return processor.executePostInteraction(someArguments).whenComplete((r, e) -> {
+			if (e == null)
+				this.releasePlan(key, finalProcessor);
+		});
+	}
+
 	@Override
 	public CompletableFuture<ReactMessage> processPostFromMessageRouter(PostMessage aPostMsg) {
 		URI reactKnowledgeInteractionId = aPostMsg.getToKnowledgeInteraction();
@@ -417,106 +642,102 @@ public class InteractionProcessorImpl implements InteractionProcessor {
 
 		Instant start = Instant.now();
 
-		boolean doTheyMatch = false;
-
-		Model m = ModelFactory.createDefaultModel();
-
-		// first add my knowledge interaction communicative act
 		CommunicativeAct myAct = myKI.getKnowledgeInteraction().getAct();
-		Resource myActResource = ResourceFactory.createResource(myKI.id + "/act");
+		otherKIs.removeIf(otherKI -> !this.communicativeActsMatch(myAct, otherKI.getKnowledgeInteraction().getAct()));
 
-		m.add(myActResource, RDF.type, Vocab.COMMUNICATIVE_ACT);
+		LOG.trace("Communicative Act time: {}ms", Duration.between(start, Instant.now()).toMillis());
+	}
 
-		Resource myRequirementPurpose = ResourceFactory.createResource(myActResource + "/requirement");
-		Resource mySatisfactionPurpose = ResourceFactory.createResource(myActResource + "/satisfaction");
+	/**
+	 * Whether the two communicative acts match does not depend on the knowledge
+	 * interactions they belong to, so it is only determined once for every
+	 * combination of purposes.
+	 */
+	private boolean communicativeActsMatch(CommunicativeAct myAct, CommunicativeAct otherAct) {
+		var key = new ActPairKey(myAct, otherAct);
+		Boolean match = COMMUNICATIVE_ACT_MATCHES.get(key);
+		if (match == null) {
+			match = this.determineCommunicativeActsMatch(myAct, otherAct);
+			COMMUNICATIVE_ACT_MATCHES.putIfAbsent(key, match);
+		}
+		return match;
+	}
 
-		m.add(myActResource, Vocab.HAS_REQ, myRequirementPurpose);
-		m.add(mySatisfactionPurpose, Vocab.HAS_SAT, mySatisfactionPurpose);
+	/**
+	 * Use the reasoner to check whether all purposes that either act requires are
+	 * satisfied by the other act.
+	 */
+	private boolean determineCommunicativeActsMatch(CommunicativeAct myAct, CommunicativeAct otherAct) {
+		Model m = ModelFactory.createDefaultModel();
 
-		// give the purposes the correct types
-		for (Resource r : myAct.getRequirementPurposes()) {
-			m.add(myRequirementPurpose, RDF.type, r);
-		}
-		for (Resource r : myAct.getSatisfactionPurposes()) {
-			m.add(mySatisfactionPurpose, RDF.type, r);
-		}
+		Resource myRequirementPurpose = this.addCommunicativeAct(m, MY_ACT, myAct, true);
+		Resource mySatisfactionPurpose = this.addCommunicativeAct(m, MY_ACT, myAct, false);
+		Resource otherRequirementPurpose = this.addCommunicativeAct(m, OTHER_ACT, otherAct, true);
+		Resource otherSatisfactionPurpose = this.addCommunicativeAct(m, OTHER_ACT, otherAct, false);
+
+		// then apply the reasoner
+		InfModel infModel = ModelFactory.createInfModel(this.reasoner.bind(m.getGraph()));
 
-		// then add the other knowledge interaction communicative act
-		for (KnowledgeInteractionInfo otherKI : otherKIs) {
-			CommunicativeAct otherAct = otherKI.getKnowledgeInteraction().getAct();
-			Resource otherActResource = ResourceFactory.createResource(otherKI.id + "/act");
+		// query the model from both my and the other perspective (both should match)
+		Var reqVar = Var.alloc("req");
+		Var satVar = Var.alloc("sat");
+		org.apache.jena.sparql.engine.binding.Binding theFirstBinding = BindingFactory.binding(reqVar,
+				NodeFactory.createURI(myRequirementPurpose.toString()), satVar,
+				NodeFactory.createURI(otherSatisfactionPurpose.toString()));
 
-			m.add(otherActResource, RDF.type, Vocab.COMMUNICATIVE_ACT);
+		org.apache.jena.sparql.engine.binding.Binding theSecondBinding = BindingFactory.binding(reqVar,
+				NodeFactory.createURI(otherRequirementPurpose.toString()), satVar,
+				NodeFactory.createURI(mySatisfactionPurpose.toString()));
 
-			Resource otherRequirementPurpose = ResourceFactory.createResource(otherActResource + "/requirement");
-			Resource otherSatisfactionPurpose = ResourceFactory.createResource(otherActResource + "/satisfaction");
+		Query q = (Query) query.clone();
+		ElementData de = ((ElementData) ((ElementGroup) q.getQueryPattern()).getLast());
 
-			m.add(otherActResource, Vocab.HAS_REQ, otherRequirementPurpose);
-			m.add(otherSatisfactionPurpose, Vocab.HAS_SAT, otherSatisfactionPurpose);
+		List<org.apache.jena.sparql.engine.binding.Binding> data = de.getRows();
+		data.add(theFirstBinding);
+		data.add(theSecondBinding);
 
-			// give the purposes the correct types
-			for (Resource r : otherAct.getRequirementPurposes()) {
-				m.add(otherRequirementPurpose, RDF.type, r);
-			}
-			for (Resource r : otherAct.getSatisfactionPurposes()) {
-				m.add(otherSatisfactionPurpose, RDF.type, r);
-			}
-		}
+		QueryExecution myQe = QueryExecutionFactory.create(q, infModel);
+		boolean execAskMy = myQe.execAsk();
+		myQe.close();
 
-		// then apply the reasoner
-		InfModel infModel = ModelFactory.createInfModel(this.reasoner.bind(m.getGraph()));
+		return !execAskMy;
+	}
 
-		// query the model from both my and the other perspective (both should match)
-		// TODO can we do this with a single query execution? This might be a lot
-		// faster. either we set multiple iris for the same params. Or we change the ASK
-		// to include myReq/otherReq and mySat/otherSat vars.
-
-		// my and other perspective
-		var iter = otherKIs.iterator();
-		while (iter.hasNext()) {
-			KnowledgeInteractionInfo otherKI = iter.next();
-			Resource otherActResource = ResourceFactory.createResource(otherKI.id + "/act");
-			Resource otherRequirementPurpose = ResourceFactory.createResource(otherActResource + "/requirement");
-			Resource otherSatisfactionPurpose = ResourceFactory.createResource(otherActResource + "/satisfaction");
-
-			Var reqVar = Var.alloc("req");
-			Var satVar = Var.alloc("sat");
-			org.apache.jena.sparql.engine.binding.Binding theFirstBinding = BindingFactory.binding(reqVar,
-					NodeFactory.createURI(myRequirementPurpose.toString()), satVar,
-					NodeFactory.createURI(otherSatisfactionPurpose.toString()));
-
-			org.apache.jena.sparql.engine.binding.Binding theSecondBinding = BindingFactory.binding(reqVar,
-					NodeFactory.createURI(otherRequirementPurpose.toString()), satVar,
-					NodeFactory.createURI(mySatisfactionPurpose.toString()));
-
-			Query q = (Query) query.clone();
-			ElementData de = ((ElementData) ((ElementGroup) q.getQueryPattern()).getLast());
-
-			List<org.apache.jena.sparql.engine.binding.Binding> data = de.getRows();
-			data.add(theFirstBinding);
-			data.add(theSecondBinding);
-
-			QueryExecution myQe = QueryExecutionFactory.create(q, infModel);
-			boolean execAskMy = myQe.execAsk();
-			myQe.close();
-
-			doTheyMatch = !execAskMy;
-
-			if (!doTheyMatch) {
-				iter.remove();
+	/**
+	 * Add the given communicative act to the model.
+	 * 
+	 * @return the resource of its requirement or satisfaction purpose.
+	 */
+	private Resource addCommunicativeAct(Model m, Resource anActResource, CommunicativeAct anAct,
+			boolean requirement) {
+		m.add(anActResource, RDF.type, Vocab.COMMUNICATIVE_ACT);
+		if (requirement) {
+			Resource requirementPurpose = ResourceFactory.createResource(anActResource + "/requirement");
+			m.add(anActResource, Vocab.HAS_REQ, requirementPurpose);
+			for (Resource r : anAct.getRequirementPurposes()) {
+				m.add(requirementPurpose, RDF.type, r);
+			}
+			return requirementPurpose;
+		} else {
+			Resource satisfactionPurpose = ResourceFactory.createResource(anActResource + "/satisfaction");
+			m.add(satisfactionPurpose, Vocab.HAS_SAT, satisfactionPurpose);
+			for (Resource r : anAct.getSatisfactionPurposes()) {
+				m.add(satisfactionPurpose, RDF.type, r);
 			}
+			return satisfactionPurpose;
 		}
-		LOG.trace("Communicative Act time ({}): {}ms", doTheyMatch, Duration.between(start, Instant.now()).toMillis());
 	}
 
 	@Override
 	public void setDomainKnowledge(Set<Rule> someRules) {
 		this.additionalDomainKnowledge = someRules;
+		this.domainKnowledgeVersion.incrementAndGet();
 	}
 
 	@Override
 	public void setReasonerEnabled(boolean aReasonerEnabled) {
 		this.reasonerEnabled = aReasonerEnabled;
+		this.domainKnowledgeVersion.incrementAndGet();
 	}
 
 	@Override
@@ -524,4 +745,83 @@ public class InteractionProcessorImpl implements InteractionProcessor {
 		return this.reasonerEnabled;
 	}
 
+	/**
+	 * The key of a cached plan. Plans can only be reused for the same knowledge
+	 * interaction, match strategy and selector, and only as long as the other
+	 * knowledge bases and domain knowledge did not change.
+	 */
+	private static class PlanCacheKey {
+		private final URI knowledgeInteractionId;
+		private final MatchStrategy matchStrategy;
+		private final String selectorQuery;
+		private final long otherKnowledgeBaseStoreVersion;
+		private final long domainKnowledgeVersion;
+
+		public PlanCacheKey(URI aKnowledgeInteractionId, MatchStrategy aMatchStrategy, String aSelectorQuery,
+				long anOtherKnowledgeBaseStoreVersion, long aDomainKnowledgeVersion) {
+			this.knowledgeInteractionId = aKnowledgeInteractionId;
+			this.matchStrategy = aMatchStrategy;
+			this.selectorQuery = aSelectorQuery;
+			this.otherKnowledgeBaseStoreVersion = anOtherKnowledgeBaseStoreVersion;
+			this.domainKnowledgeVersion = aDomainKnowledgeVersion;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(knowledgeInteractionId, matchStrategy, selectorQuery, otherKnowledgeBaseStoreVersion,
+					domainKnowledgeVersion);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof PlanCacheKey))
+				return false;
+			PlanCacheKey other = (PlanCacheKey) obj;
+			return Objects.equals(knowledgeInteractionId, other.knowledgeInteractionId)
+					&& matchStrategy == other.matchStrategy && Objects.equals(selectorQuery, other.selectorQuery)
+					&& otherKnowledgeBaseStoreVersion == other.otherKnowledgeBaseStoreVersion
+					&& domainKnowledgeVersion == other.domainKnowledgeVersion;
+		}
+	}
+
+	/**
+	 * The key of a pair of communicative acts in the
+	 * {@link #COMMUNICATIVE_ACT_MATCHES} cache, which only consists of their
+	 * purposes.
+	 */
+	private static class ActPairKey {
+		private final Set<Resource> myRequirementPurposes;
+		private final Set<Resource> mySatisfactionPurposes;
+		private final Set<Resource> otherRequirementPurposes;
+		private final Set<Resource> otherSatisfactionPurposes;
+
+		public ActPairKey(CommunicativeAct myAct, CommunicativeAct otherAct) {
+			this.myRequirementPurposes = Set.copyOf(myAct.getRequirementPurposes());
+			this.mySatisfactionPurposes = Set.copyOf(myAct.getSatisfactionPurposes());
+			this.otherRequirementPurposes = Set.copyOf(otherAct.getRequirementPurposes());
+			this.otherSatisfactionPurposes = Set.copyOf(otherAct.getSatisfactionPurposes());
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(myRequirementPurposes, mySatisfactionPurposes, otherRequirementPurposes,
+					otherSatisfactionPurposes);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof ActPairKey))
+				return false;
+			ActPairKey other = (ActPairKey) obj;
+			return myRequirementPurposes.equals(other.myRequirementPurposes)
+					&& mySatisfactionPurposes.equals(other.mySatisfactionPurposes)
+					&& otherRequirementPurposes.equals(other.otherRequirementPurposes)
+					&& otherSatisfactionPurposes.equals(other.otherSatisfactionPurposes);
+		}
+	}
+
 }
@@ -2,7 +2,9 @@ package eu.knowledge.engine.smartconnector.impl;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -41,6 +43,14 @@ public class KnowledgeBaseStoreImpl implements KnowledgeBaseStore {
 	private final Logger LOG;
 	private final KnowledgeBase knowledgeBase;
 	private final Map<URI, MyKnowledgeInteractionInfo> kiis = new ConcurrentHashMap<>();
+
+	/**
+	 * The ids of the registered knowledge interaction objects, so we do not have to
+	 * scan all {@link #kiis} to find the info of a knowledge interaction object.
+	 * Knowledge interactions are compared by identity. Both maps are changed
+	 * together while holding the lock of this map.
+	 */
+	private final Map<KnowledgeInteraction, URI> kiIds = Collections.synchronizedMap(new IdentityHashMap<>());
 	private final List<KnowledgeBaseStoreListener> listeners = new CopyOnWriteArrayList<>();
 
 	public KnowledgeBaseStoreImpl(LoggerProvider loggerProvider, KnowledgeBase knowledgeBase) {
@@ -70,9 +80,8 @@ public class KnowledgeBaseStoreImpl implements KnowledgeBaseStore {
 
 	@Override
 	public MyKnowledgeInteractionInfo getKnowledgeInteractionByObject(KnowledgeInteraction ki) {
-
-		return this.kiis.values().stream().filter((storedKI) -> storedKI.getKnowledgeInteraction() == ki).findFirst()
-				.orElse(null);
+		URI id = this.kiIds.get(ki);
+		return id == null ? null : this.kiis.get(id);
 	}
 
 	@Override
@@ -142,11 +151,7 @@ public class KnowledgeBaseStoreImpl implements KnowledgeBaseStore {
 
 	@Override
 	public void unregister(AskKnowledgeInteraction anAskKI) {
-		this.kiis.entrySet().stream().filter(e -> e.getValue().getKnowledgeInteraction() == anAskKI).findFirst()
-				.ifPresent(e -> {
-					this.kiis.remove(e.getKey());
-					this.listeners.forEach(l -> l.knowledgeInteractionUnregistered(e.getValue()));
-				});
+		this.unregisterKnowledgeInteraction(anAskKI);
 	}
 
 	@Override
@@ -161,11 +166,7 @@ public class KnowledgeBaseStoreImpl implements KnowledgeBaseStore {
 
 	@Override
 	public void unregister(AnswerKnowledgeInteraction anAnswerKI) {
-		this.kiis.entrySet().stream().filter(e -> e.getValue().getKnowledgeInteraction() == anAnswerKI).findFirst()
-				.ifPresent(e -> {
-					this.kiis.remove(e.getKey());
-					this.listeners.forEach(l -> l.knowledgeInteractionUnregistered(e.getValue()));
-				});
+		this.unregisterKnowledgeInteraction(anAnswerKI);
 	}
 
 	@Override
@@ -180,11 +181,7 @@ public class KnowledgeBaseStoreImpl implements KnowledgeBaseStore {
 
 	@Override
 	public void unregister(PostKnowledgeInteraction aPostKI) {
-		this.kiis.entrySet().stream().filter(e -> e.getValue().getKnowledgeInteraction() == aPostKI).findFirst()
-				.ifPresent(e -> {
-					this.kiis.remove(e.getKey());
-					this.listeners.forEach(l -> l.knowledgeInteractionUnregistered(e.getValue()));
-				});
+		this.unregisterKnowledgeInteraction(aPostKI);
 	}
 
 	@Override
@@ -199,18 +196,30 @@ public class KnowledgeBaseStoreImpl implements KnowledgeBaseStore {
 
 	@Override
 	public void unregister(ReactKnowledgeInteraction anReactKI) {
-		this.kiis.entrySet().stream().filter(e -> e.getValue().getKnowledgeInteraction() == anReactKI).findFirst()
-				.ifPresent(e -> {
-					this.kiis.remove(e.getKey());
-					this.listeners.forEach(l -> l.knowledgeInteractionUnregistered(e.getValue()));
-				});
+		this.unregisterKnowledgeInteraction(anReactKI);
 	}
 
 	private void tryPut(MyKnowledgeInteractionInfo kii) throws IllegalArgumentException {
-		var existing = this.kiis.putIfAbsent(kii.id, kii);
-		if (existing != null) {
-			throw new IllegalArgumentException("A Knowledge Interaction with that URI was already registered.");
+		synchronized (this.kiIds) {
+			if (this.kiIds.containsKey(kii.getKnowledgeInteraction())) {
+				throw new IllegalArgumentException("This Knowledge Interaction was already registered.");
+			}
+			var existing = this.kiis.putIfAbsent(kii.id, kii);
+			if (existing != null) {
+				throw new IllegalArgumentException("A Knowledge Interaction with that URI was already registered.");
+			}
+			this.kiIds.put(kii.getKnowledgeInteraction(), kii.id);
+		}
+	}
+
+	private void unregisterKnowledgeInteraction(KnowledgeInteraction ki) {
+		MyKnowledgeInteractionInfo kii;
+		synchronized (this.kiIds) {
+			URI id = this.kiIds.remove(ki);
+			kii = id == null ? null : this.kiis.remove(id);
 		}
+		if (kii != null)
+			this.listeners.forEach(l -> l.knowledgeInteractionUnregistered(kii));
 	}
 
 	private URI generateId(KnowledgeInteraction aKI, boolean isMeta) {
@@ -1,11 +1,16 @@
 package eu.knowledge.engine.smartconnector.impl;
 
 import java.net.URI;
+import java.util.Collections;
+import java.util.Set;
 
+import eu.knowledge.engine.reasoner.api.TriplePattern;
 import eu.knowledge.engine.smartconnector.api.AnswerKnowledgeInteraction;
 import eu.knowledge.engine.smartconnector.api.AskKnowledgeInteraction;
+import eu.knowledge.engine.smartconnector.api.GraphPattern;
 import eu.knowledge.engine.smartconnector.api.KnowledgeInteraction;
 import eu.knowledge.engine.smartconnector.api.PostKnowledgeInteraction;
+import eu.knowledge.engine.smartconnector.api.ReactKnowledgeInteraction;
 
 public class KnowledgeInteractionInfo {
 
@@ -18,6 +23,15 @@ public class KnowledgeInteractionInfo {
 	protected final KnowledgeInteractionInfo.Type type;
 	protected final KnowledgeInteraction knowledgeInteraction;
 
+	/**
+	 * The graph patterns of the knowledge interaction translated into reasoner
+	 * triple patterns. They are translated once, when first needed, because this
+	 * knowledge interaction takes part in every reasoner plan of its smart
+	 * connector and of the smart connectors it is shared with.
+	 */
+	private volatile Set<TriplePattern> firstTriplePatterns;
+	private volatile Set<TriplePattern> secondTriplePatterns;
+
 	public KnowledgeInteractionInfo(URI id, URI knowledgeBaseId, KnowledgeInteraction knowledgeInteraction) {
 		this.id = id;
 		if (knowledgeInteraction instanceof AskKnowledgeInteraction) {
@@ -58,6 +72,51 @@ public class KnowledgeInteractionInfo {
 				+ "isMeta=" + this.isMeta() + "]";
 	}
 
+	/**
+	 * @return the pattern (for ASK and ANSWER) or the argument (for POST and REACT)
+	 *         graph pattern as an unmodifiable set of reasoner triple patterns.
+	 */
+	public Set<TriplePattern> getFirstTriplePatterns() {
+		Set<TriplePattern> tps = this.firstTriplePatterns;
+		if (tps == null) {
+			GraphPattern gp;
+			if (this.knowledgeInteraction instanceof AskKnowledgeInteraction)
+				gp = ((AskKnowledgeInteraction) this.knowledgeInteraction).getPattern();
+			else if (this.knowledgeInteraction instanceof AnswerKnowledgeInteraction)
+				gp = ((AnswerKnowledgeInteraction) this.knowledgeInteraction).getPattern();
+			else if (this.knowledgeInteraction instanceof PostKnowledgeInteraction)
+				gp = ((PostKnowledgeInteraction) this.knowledgeInteraction).getArgument();
+			else
+				gp = ((ReactKnowledgeInteraction) this.knowledgeInteraction).getArgument();
+
+			tps = Collections.unmodifiableSet(ReasonerProcessor.translateGraphPatternTo(gp));
+			this.firstTriplePatterns = tps;
+		}
+		return tps;
+	}
+
+	/**
+	 * @return the result graph pattern (for POST and REACT) as an unmodifiable set
+	 *         of reasoner triple patterns, or {@code null} if there is none.
+	 */
+	public Set<TriplePattern> getSecondTriplePatterns() {
+		Set<TriplePattern> tps = this.secondTriplePatterns;
+		if (tps == null) {
+			GraphPattern gp = null;
+			if (this.knowledgeInteraction instanceof PostKnowledgeInteraction)
+				gp = ((PostKnowledgeInteraction) this.knowledgeInteraction).getResult();
+			else if (this.knowledgeInteraction instanceof ReactKnowledgeInteraction)
+				gp = ((ReactKnowledgeInteraction) this.knowledgeInteraction).getResult();
+
+			if (gp == null)
+				return null;
+
+			tps = Collections.unmodifiableSet(ReasonerProcessor.translateGraphPatternTo(gp));
+			this.secondTriplePatterns = tps;
+		}
+		return tps;
+	}
+
 	public boolean isMeta() {
 		return this.knowledgeInteraction.isMeta();
 	}
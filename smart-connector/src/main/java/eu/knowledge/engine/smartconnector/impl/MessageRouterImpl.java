@@ -39,6 +39,7 @@ public class MessageRouterImpl implements MessageRouter, SmartConnectorEndpoint
 	private static final int DEFAULT_WAIT_TIMEOUT = 10;
 
 	private final SmartConnectorImpl smartConnector;
+	private final KnowledgeBaseStore knowledgeBaseStore;
 	private final Map<UUID, CompletableFuture<AnswerMessage>> openAskMessages = Collections
 			.synchronizedMap(new LinkedHashMap<UUID, CompletableFuture<AnswerMessage>>() {
 				private static final long serialVersionUID = 1L;
@@ -80,10 +81,11 @@ public class MessageRouterImpl implements MessageRouter, SmartConnectorEndpoint
 	/** Indicates if we already called myKnowledgeBase.smartConnectorReady(this) */
 	private boolean smartConnectorReadyNotified = false;
 
-	public MessageRouterImpl(SmartConnectorImpl smartConnector) {
+	public MessageRouterImpl(SmartConnectorImpl smartConnector, KnowledgeBaseStore knowledgeBaseStore) {
 		this.LOG = smartConnector.getLogger(MessageRouterImpl.class);
 
 		this.smartConnector = smartConnector;
+		this.knowledgeBaseStore = knowledgeBaseStore;
 	}
 
 	private int getWaitTimeout() {
@@ -120,7 +122,11 @@ public class MessageRouterImpl implements MessageRouter, SmartConnectorEndpoint
 		});
 
 		this.openAskMessages.put(askMessage.getMessageId(), future);
-		messageDispatcher.send(askMessage);
+		final CompletableFuture<AnswerMessage> answerFuture = future;
+		messageDispatcher.send(askMessage).exceptionally(e -> {
+			answerFuture.completeExceptionally(e);
+			return null;
+		});
 
 		LOG.debug("Sent AskMessage: {}", askMessage);
 
@@ -152,11 +158,15 @@ public class MessageRouterImpl implements MessageRouter, SmartConnectorEndpoint
 				else
 					LOG.error(
 							"The ReactMessage future should complete either exceptionally or normally. Not with both ReactMessage and Exception null.");
-			this.openAskMessages.remove(postMessage.getMessageId());
+			this.openPostMessages.remove(postMessage.getMessageId());
 		});
 
 		this.openPostMessages.put(postMessage.getMessageId(), future);
-		messageDispatcher.send(postMessage);
+		final CompletableFuture<ReactMessage> reactFuture = future;
+		messageDispatcher.send(postMessage).exceptionally(e -> {
+			reactFuture.completeExceptionally(e);
+			return null;
+		});
 		LOG.debug("Sent PostMessage: {}", postMessage);
 
 		return future;
@@ -286,6 +296,12 @@ public class MessageRouterImpl implements MessageRouter, SmartConnectorEndpoint
 		return this.smartConnector.getKnowledgeBaseId();
 	}
 
+	@Override
+	public boolean isMetaKnowledgeInteraction(URI knowledgeInteractionId) {
+		KnowledgeInteractionInfo kii = this.knowledgeBaseStore.getKnowledgeInteractionById(knowledgeInteractionId);
+		return kii != null && kii.isMeta();
+	}
+
 	public String getConfigProperty(String key, String defaultValue) {
 		// We might replace this with something a bit more fancy in the future...
 		String value = System.getenv(key);
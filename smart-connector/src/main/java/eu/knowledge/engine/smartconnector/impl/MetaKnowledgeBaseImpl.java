@@ -36,6 +36,7 @@ import org.slf4j.Logger;
 
 import eu.knowledge.engine.smartconnector.api.AnswerKnowledgeInteraction;
 import eu.knowledge.engine.smartconnector.api.AskKnowledgeInteraction;
+import eu.knowledge.engine.smartconnector.api.Binding;
 import eu.knowledge.engine.smartconnector.api.BindingSet;
 import eu.knowledge.engine.smartconnector.api.CommunicativeAct;
 import eu.knowledge.engine.smartconnector.api.GraphPattern;
@@ -70,6 +71,14 @@ public class MetaKnowledgeBaseImpl implements MetaKnowledgeBase, KnowledgeBaseSt
 	private ReactKnowledgeInteraction metaReactChangedKI;
 	private ReactKnowledgeInteraction metaReactRemovedKI;
 
+	/**
+	 * The bindings that represent this knowledge base and its knowledge
+	 * interactions. Other knowledge bases ask for them often (for example when the
+	 * network is repopulated), but they only change when a knowledge interaction
+	 * is (un)registered. Guarded by {@code this}.
+	 */
+	private BindingSet metaBindings;
+
 	public MetaKnowledgeBaseImpl(LoggerProvider loggerProvider, MessageRouter aMessageRouter,
 			KnowledgeBaseStore aKnowledgeBaseStore) {
 		this.LOG = loggerProvider.getLogger(this.getClass());
@@ -193,6 +202,39 @@ public class MetaKnowledgeBaseImpl implements MetaKnowledgeBase, KnowledgeBaseSt
 	 */
 	private BindingSet fillMetaBindings(BindingSet incoming) {
 
+		// copy the cached bindings, because the caller may change them.
+		BindingSet bindings = new BindingSet();
+		for (Binding b : this.getMetaBindings()) {
+			bindings.add(b.clone());
+		}
+
+		if (incoming != null) {
+			Util.removeRedundantBindingsAnswer(incoming, bindings);
+		}
+
+		return bindings;
+	}
+
+	/**
+	 * @return the cached binding set that represents this knowledge base and all
+	 *         its knowledge interactions, which is (re)created when needed.
+	 */
+	private synchronized BindingSet getMetaBindings() {
+		if (this.metaBindings == null) {
+			this.metaBindings = this.createMetaBindings();
+		}
+		return this.metaBindings;
+	}
+
+	/**
+	 * Forget the cached meta bindings, because the knowledge interactions changed.
+	 */
+	private synchronized void invalidateMetaBindings() {
+		this.metaBindings = null;
+	}
+
+	private BindingSet createMetaBindings() {
+
 		// first create a RDF version of this KnowledgeBase
 		Model m = ModelFactory.createDefaultModel();
 
@@ -294,12 +336,6 @@ public class MetaKnowledgeBaseImpl implements MetaKnowledgeBase, KnowledgeBaseSt
 
 		LOG.trace("BindingSet: {}", bindings);
 
-		String val = bindings.iterator().next().get("isMeta");
-
-		if (incoming != null) {
-			Util.removeRedundantBindingsAnswer(incoming, bindings);
-		}
-
 		return bindings;
 	}
 
@@ -562,6 +598,7 @@ public class MetaKnowledgeBaseImpl implements MetaKnowledgeBase, KnowledgeBaseSt
 
 	@Override
 	public void knowledgeInteractionRegistered(KnowledgeInteractionInfo ki) {
+		this.invalidateMetaBindings();
 		if (!ki.isMeta()) {
 			var kiInfo = this.knowledgeBaseStore.getKnowledgeInteractionByObject(this.metaPostChangedKI);
 			try {
@@ -575,6 +612,7 @@ public class MetaKnowledgeBaseImpl implements MetaKnowledgeBase, KnowledgeBaseSt
 
 	@Override
 	public void knowledgeInteractionUnregistered(KnowledgeInteractionInfo ki) {
+		this.invalidateMetaBindings();
 		if (!ki.isMeta()) {
 			var kiInfo = this.knowledgeBaseStore.getKnowledgeInteractionByObject(this.metaPostChangedKI);
 			try {
@@ -1,5 +1,6 @@
 package eu.knowledge.engine.smartconnector.impl;
 
+import java.net.URI;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
@@ -29,6 +30,19 @@ public interface OtherKnowledgeBaseStore {
 	 */
 	Set<OtherKnowledgeBase> getOtherKnowledgeBases();
 
+	/**
+	 * @param anId The id of a knowledge base.
+	 * @return The {@link OtherKnowledgeBase} with the given id, or {@code null} if
+	 *         it is not in this store.
+	 */
+	default OtherKnowledgeBase getOtherKnowledgeBase(URI anId) {
+		for (OtherKnowledgeBase okb : this.getOtherKnowledgeBases()) {
+			if (okb.getId().equals(anId))
+				return okb;
+		}
+		return null;
+	}
+
 	/**
 	 * Update an already existing knowledge base with changed data.
 	 *
@@ -50,6 +64,13 @@ public interface OtherKnowledgeBaseStore {
 	 */
 	void removeKnowledgeBase(OtherKnowledgeBase kb);
 
+	/**
+	 * @return A number that changes whenever the contents of this store (might)
+	 *         have changed. It can be used to detect whether information derived
+	 *         from the {@link OtherKnowledgeBase}s is still up to date.
+	 */
+	long getVersion();
+
 	/**
 	 * Shut down the OtherKnowledgeBaseStore
 	 */
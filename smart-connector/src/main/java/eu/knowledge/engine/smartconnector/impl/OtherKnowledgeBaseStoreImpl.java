@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 
@@ -21,6 +22,20 @@ public class OtherKnowledgeBaseStoreImpl implements OtherKnowledgeBaseStore, Kno
 
 	private final Map<URI, OtherKnowledgeBase> otherKnowledgeBases;
 
+	/**
+	 * The ids of the new knowledge bases of which we are currently retrieving the
+	 * metadata, to prevent asking them multiple times. An id is removed when its
+	 * knowledge base disappears, so the metadata that arrives afterwards is
+	 * ignored. Use it under its own lock when it is combined with a change of
+	 * {@link #otherKnowledgeBases}.
+	 */
+	private final Set<URI> pendingIds = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Incremented every time the other knowledge bases change.
+	 */
+	private final AtomicLong version = new AtomicLong();
+
 	public OtherKnowledgeBaseStoreImpl(SmartConnectorImpl sc, MetaKnowledgeBase metaKnowledgeBase) {
 		this.sc = sc;
 		this.LOG = this.sc.getLogger(this.getClass());
@@ -39,6 +54,11 @@ public class OtherKnowledgeBaseStoreImpl implements OtherKnowledgeBaseStore, Kno
 		return Collections.unmodifiableSet(new HashSet<>(this.otherKnowledgeBases.values()));
 	}
 
+	@Override
+	public OtherKnowledgeBase getOtherKnowledgeBase(URI anId) {
+		return this.otherKnowledgeBases.get(anId);
+	}
+
 	@Override
 	public CompletableFuture<Void> populate() {
 		// retrieve ids from knowledge directory
@@ -47,46 +67,83 @@ public class OtherKnowledgeBaseStoreImpl implements OtherKnowledgeBaseStore, Kno
 		Set<CompletableFuture<?>> futures = new HashSet<>();
 
 		// remove other knowledgebases that are no longer available.
-		Set<URI> noLongerAvailableIds = new HashSet<>(this.otherKnowledgeBases.keySet());
-		noLongerAvailableIds.removeAll(newIds);
-
-		for (URI id : noLongerAvailableIds) {
-			this.otherKnowledgeBases.remove(id);
-		}
+		this.removeUnavailable(newIds);
 
 		// update the information with new or already existing other knowledge bases.
 		for (URI id : newIds) {
 
 			if (!id.equals(this.sc.getKnowledgeBaseId())) {
+				futures.add(this.retrieveOtherKnowledgeBase(id, false));
+			} else {
+				this.LOG.trace("Skipping myself: {}", this.sc.getKnowledgeBaseId());
+			}
+		}
 
-				// retrieve metadata about other knowledge base
-				CompletableFuture<Void> otherKnowledgeBaseFuture = this.metaKnowledgeBase.getOtherKnowledgeBase(id)
-						.thenAccept(otherKnowledgeBase -> {
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()]));
+	}
 
-							assert otherKnowledgeBase != null : "The other knowledge base should be non-null.";
+	/**
+	 * Remove the other knowledge bases that are not in the given set of ids.
+	 *
+	 * @return the number of removed knowledge bases.
+	 */
+	private int removeUnavailable(Set<URI> availableIds) {
+		Set<URI> noLongerAvailableIds = new HashSet<>(this.otherKnowledgeBases.keySet());
+		noLongerAvailableIds.addAll(this.pendingIds);
+		noLongerAvailableIds.removeAll(availableIds);
 
-							try {
-								this.otherKnowledgeBases.put(otherKnowledgeBase.getId(), otherKnowledgeBase);
-							} catch (Throwable t) {
-								this.LOG.error("Adding an other knowledgebase should succeed.", t);
-							}
-						}).handle((r, e) -> {
+		int removed = 0;
+		for (URI id : noLongerAvailableIds) {
+			this.removePendingId(id);
+			if (this.otherKnowledgeBases.remove(id) != null) {
+				this.version.incrementAndGet();
+				removed++;
+			}
+		}
+		return removed;
+	}
 
-							if (r == null && e != null) {
-								LOG.debug("An exception has occured while adding {} an other Knowledge Base ", id, e);
-								return null;
-							} else {
-								return r;
-							}
-						});
+	/**
+	 * Retrieve the metadata of the other knowledge base with the given id and put
+	 * it in the store.
+	 *
+	 * @param onlyIfAbsent Whether to keep the knowledge base that was added or
+	 *                     updated (via its meta knowledge interactions) while we
+	 *                     were waiting for the metadata, because it is newer. The
+	 *                     id should be in {@link #pendingIds}, and the metadata is
+	 *                     ignored if the knowledge base disappeared meanwhile.
+	 */
+	private CompletableFuture<Void> retrieveOtherKnowledgeBase(URI id, boolean onlyIfAbsent) {
+		return this.metaKnowledgeBase.getOtherKnowledgeBase(id).thenAccept(otherKnowledgeBase -> {
+
+			assert otherKnowledgeBase != null : "The other knowledge base should be non-null.";
+
+			try {
+				if (onlyIfAbsent) {
+					synchronized (this.pendingIds) {
+						if (!this.pendingIds.remove(id)) {
+							LOG.debug("Ignoring the metadata of {}, because it disappeared meanwhile.", id);
+						} else if (this.otherKnowledgeBases.putIfAbsent(otherKnowledgeBase.getId(),
+								otherKnowledgeBase) == null) {
+							this.version.incrementAndGet();
+						}
+					}
+				} else {
+					this.otherKnowledgeBases.put(otherKnowledgeBase.getId(), otherKnowledgeBase);
+					this.version.incrementAndGet();
+				}
+			} catch (Throwable t) {
+				this.LOG.error("Adding an other knowledgebase should succeed.", t);
+			}
+		}).handle((r, e) -> {
 
-				futures.add(otherKnowledgeBaseFuture);
+			if (r == null && e != null) {
+				LOG.debug("An exception has occured while adding {} an other Knowledge Base ", id, e);
+				return null;
 			} else {
-				this.LOG.trace("Skipping myself: {}", this.sc.getKnowledgeBaseId());
+				return r;
 			}
-		}
-
-		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()]));
+		});
 	}
 
 	@Override
@@ -98,6 +155,7 @@ public class OtherKnowledgeBaseStoreImpl implements OtherKnowledgeBaseStore, Kno
 
 		try {
 			this.otherKnowledgeBases.put(kb.getId(), kb);
+			this.version.incrementAndGet();
 		} catch (Throwable t) {
 			this.LOG.error("Adding an other knowledgebase should succeed.", t);
 		}
@@ -105,38 +163,75 @@ public class OtherKnowledgeBaseStoreImpl implements OtherKnowledgeBaseStore, Kno
 
 	@Override
 	public void updateKnowledgeBase(OtherKnowledgeBase kb) {
-		if (!this.otherKnowledgeBases.containsKey(kb.getId())) {
+		if (!this.otherKnowledgeBases.containsKey(kb.getId()) && !this.pendingIds.contains(kb.getId())) {
 			LOG.warn("Tried to update knowledge base {}, but it is not in my store! Skipped it.", kb.getId());
 			return;
 		}
 
 		try {
 			this.otherKnowledgeBases.put(kb.getId(), kb);
+			this.version.incrementAndGet();
 		} catch (Throwable t) {
 			this.LOG.error("Updating an other knowledgebase should succeed.", t);
 		}
 	}
 
+	/**
+	 * Stop waiting for the metadata of the knowledge base with the given id. Must
+	 * be called before it is removed from {@link #otherKnowledgeBases}, so a
+	 * retrieval that is in progress cannot put it back.
+	 *
+	 * @return whether we were retrieving its metadata.
+	 */
+	private boolean removePendingId(URI id) {
+		synchronized (this.pendingIds) {
+			return this.pendingIds.remove(id);
+		}
+	}
+
 	@Override
 	public void removeKnowledgeBase(OtherKnowledgeBase kb) {
+		boolean wasPending = this.removePendingId(kb.getId());
 		if (!this.otherKnowledgeBases.containsKey(kb.getId())) {
-			LOG.warn("Tried to remove knowledge base {}, but it isn't even in my store! Skipped it.", kb.getId());
+			if (!wasPending)
+				LOG.warn("Tried to remove knowledge base {}, but it isn't even in my store! Skipped it.",
+						kb.getId());
 			return;
 		}
 
 		try {
 			this.otherKnowledgeBases.remove(kb.getId());
+			this.version.incrementAndGet();
 		} catch (Throwable t) {
 			this.LOG.error("Removing an other knowledgebase should succeed.", t);
 		}
 	}
 
+	/**
+	 * Only the knowledge bases that appeared or disappeared are processed. New
+	 * knowledge bases are asked for their metadata and removed knowledge bases are
+	 * dropped from the store. Changes of existing knowledge bases reach us via
+	 * their meta knowledge interactions.
+	 */
+	@Override
+	public void knowledgeBaseIdSetChanged(Set<URI> knowledgeBaseIds) {
+		int removed = this.removeUnavailable(knowledgeBaseIds);
+
+		int added = 0;
+		for (URI id : knowledgeBaseIds) {
+			if (!id.equals(this.sc.getKnowledgeBaseId()) && !this.otherKnowledgeBases.containsKey(id)
+					&& this.pendingIds.add(id)) {
+				added++;
+				this.retrieveOtherKnowledgeBase(id, true).whenComplete((r, e) -> this.pendingIds.remove(id));
+			}
+		}
+
+		if (added > 0 || removed > 0)
+			LOG.info("List of Smart Connectors changed, {} new and {} removed knowledge bases", added, removed);
+	}
+
 	@Override
-	public void knowledgeBaseIdSetChanged() {
-		LOG.info("List of Smart Connectors changed, repopulating the OtherKnowledgeBaseStore");
-		// it might be too brute force to start a complete repopulate when something
-		// changes. Can we refactor this to be more specific (i.e. which
-		// KnowledgeBaseIds were changed?).
-		this.populate();
+	public long getVersion() {
+		return this.version.get();
 	}
 }
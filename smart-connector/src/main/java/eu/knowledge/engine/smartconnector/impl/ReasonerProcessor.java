@@ -10,14 +10,13 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.sparql.core.TriplePath;
 import org.apache.jena.sparql.core.Var;
-import org.apache.jena.sparql.graph.PrefixMappingZero;
-import org.apache.jena.sparql.serializer.SerializationContext;
 import org.apache.jena.sparql.syntax.ElementPathBlock;
-import org.apache.jena.sparql.util.FmtUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.helpers.MessageFormatter;
@@ -29,12 +28,11 @@ import eu.knowledge.engine.reasoner.ProactiveRule;
 import eu.knowledge.engine.reasoner.ReasonerPlan;
 import eu.knowledge.engine.reasoner.Rule;
 import eu.knowledge.engine.reasoner.SinkBindingSetHandler;
-import eu.knowledge.engine.reasoner.TaskBoard;
 import eu.knowledge.engine.reasoner.TransformBindingSetHandler;
+import eu.knowledge.engine.reasoner.api.NodeDictionary;
 import eu.knowledge.engine.reasoner.api.TriplePattern;
 import eu.knowledge.engine.reasoner.rulenode.RuleNode;
 import eu.knowledge.engine.reasoner.rulestore.RuleStore;
-import eu.knowledge.engine.smartconnector.api.AnswerKnowledgeInteraction;
 import eu.knowledge.engine.smartconnector.api.AskExchangeInfo;
 import eu.knowledge.engine.smartconnector.api.AskKnowledgeInteraction;
 import eu.knowledge.engine.smartconnector.api.AskResult;
@@ -49,7 +47,6 @@ import eu.knowledge.engine.smartconnector.api.MatchStrategy;
 import eu.knowledge.engine.smartconnector.api.PostExchangeInfo;
 import eu.knowledge.engine.smartconnector.api.PostKnowledgeInteraction;
 import eu.knowledge.engine.smartconnector.api.PostResult;
-import eu.knowledge.engine.smartconnector.api.ReactKnowledgeInteraction;
 import eu.knowledge.engine.smartconnector.impl.KnowledgeInteractionInfo.Type;
 import eu.knowledge.engine.smartconnector.messaging.AnswerMessage;
 import eu.knowledge.engine.smartconnector.messaging.AskMessage;
@@ -73,8 +70,8 @@ public class ReasonerProcessor extends SingleInteractionProcessor {
 
 	private RuleStore store;
 	private MyKnowledgeInteractionInfo myKnowledgeInteraction;
-	private final Set<AskExchangeInfo> askExchangeInfos;
-	private final Set<PostExchangeInfo> postExchangeInfos;
+	private Set<AskExchangeInfo> askExchangeInfos;
+	private Set<PostExchangeInfo> postExchangeInfos;
 	private Set<Rule> additionalDomainKnowledge;
 	private ReasonerPlan reasonerPlan;
 	private Set<KnowledgeGap> knowledgeGaps;
@@ -111,26 +108,17 @@ public class ReasonerProcessor extends SingleInteractionProcessor {
 		for (KnowledgeInteractionInfo kii : knowledgeInteractions) {
 			String ruleName = kii.getKnowledgeInteraction().getName() != null ? kii.getKnowledgeInteraction().getName()
 					: kii.getId().toString();
-			KnowledgeInteraction ki = kii.getKnowledgeInteraction();
 			if (kii.getType().equals(Type.ANSWER)) {
-				AnswerKnowledgeInteraction aki = (AnswerKnowledgeInteraction) ki;
-				GraphPattern gp = aki.getPattern();
-				Rule aRule = new Rule(ruleName, new HashSet<>(translateGraphPatternTo(gp)),
-						new AnswerBindingSetHandler(kii));
+				Rule aRule = new Rule(ruleName, kii.getFirstTriplePatterns(), new AnswerBindingSetHandler(kii));
 				store.addRule(aRule);
 				LOG.debug("Adding ANSWER to store: {}", aRule);
 			} else if (kii.getType().equals(Type.REACT)) {
-				ReactKnowledgeInteraction rki = (ReactKnowledgeInteraction) ki;
-				GraphPattern argGp = rki.getArgument();
-				GraphPattern resGp = rki.getResult();
-
-				Set<TriplePattern> resPattern;
+				Set<TriplePattern> resPattern = kii.getSecondTriplePatterns();
 				Rule aRule;
-				if (resGp == null) {
-					aRule = new Rule(ruleName, translateGraphPatternTo(argGp), new ReactVoidBindingSetHandler(kii));
+				if (resPattern == null) {
+					aRule = new Rule(ruleName, kii.getFirstTriplePatterns(), new ReactVoidBindingSetHandler(kii));
 				} else {
-					resPattern = new HashSet<>(translateGraphPatternTo(resGp));
-					aRule = new Rule(ruleName, translateGraphPatternTo(argGp), resPattern,
+					aRule = new Rule(ruleName, kii.getFirstTriplePatterns(), resPattern,
 							new ReactBindingSetHandler(kii));
 				}
 
@@ -153,8 +141,7 @@ public class ReasonerProcessor extends SingleInteractionProcessor {
 					? aAKI.getKnowledgeInteraction().getName()
 					: aAKI.getId().toString();
 
-			ProactiveRule aRule = new ProactiveRule(ruleName, translateGraphPatternTo(aki.getPattern()),
-					new HashSet<>());
+			ProactiveRule aRule = new ProactiveRule(ruleName, aAKI.getFirstTriplePatterns(), new HashSet<>());
 			this.store.addRule(aRule);
 			MatchStrategy aStrategy;
 			if (aAKI.getKnowledgeInteraction().getMatchStrategy() == null)
@@ -188,10 +175,25 @@ public class ReasonerProcessor extends SingleInteractionProcessor {
 	 */
 	@Override
 	public CompletableFuture<AskResult> executeAskInteraction(BindingSet someBindings) {
+		return this.executeAskInteraction(someBindings, null);
+	}
+
+	/**
+	 * Same as {@link #executeAskInteraction(BindingSet)}, but the bindings that
+	 * the reasoner derives for the ask are also given to
+	 * {@code aPartialResultHandler} as soon as they are available.
+	 * 
+	 * @param aPartialResultHandler receives the new bindings, or {@code null} if
+	 *                              only the {@link AskResult} is needed.
+	 */
+	public CompletableFuture<AskResult> executeAskInteraction(BindingSet someBindings,
+			Consumer<BindingSet> aPartialResultHandler) {
 
 		this.finalBindingSetFuture = new CompletableFuture<eu.knowledge.engine.reasoner.api.BindingSet>();
 //		this.reasonerPlan.optimize();
-		continueReasoningBackward(translateBindingSetTo(someBindings));
+		continueReasoningBackward(translateBindingSetTo(someBindings), aPartialResultHandler == null ? null
+				: (eu.knowledge.engine.reasoner.api.BindingSet bs) -> aPartialResultHandler
+						.accept(translateBindingSetFrom(bs)));
 
 		return this.finalBindingSetFuture.thenApply((bs) -> {
 			if (myKnowledgeInteraction.getKnowledgeInteraction().knowledgeGapsEnabled()) {
@@ -203,21 +205,15 @@ public class ReasonerProcessor extends SingleInteractionProcessor {
 		});
 	}
 
-	private void continueReasoningBackward(eu.knowledge.engine.reasoner.api.BindingSet incomingBS) {
+	private void continueReasoningBackward(eu.knowledge.engine.reasoner.api.BindingSet incomingBS,
+			Consumer<eu.knowledge.engine.reasoner.api.BindingSet> aPartialResultHandler) {
 
-		boolean isComplete;
-		TaskBoard taskboard;
 		final String msg = "Executing (scheduled) tasks for the reasoner should not result in problems.";
-		taskboard = this.reasonerPlan.execute(incomingBS);
-		isComplete = !taskboard.hasTasks();
-		LOG.debug("ask:\n{}", this.reasonerPlan);
-		taskboard.executeScheduledTasks().thenAccept(Void -> {
+		this.reasonerPlan.executeAsync(incomingBS, aPartialResultHandler).thenAccept(Void -> {
 			LOG.debug("All ask tasks finished.");
-			if (isComplete) {
-				eu.knowledge.engine.reasoner.api.BindingSet bs = this.reasonerPlan.getResults();
-				this.finalBindingSetFuture.complete(bs);
-			} else
-				continueReasoningBackward(incomingBS);
+			LOG.debug("ask:\n{}", this.reasonerPlan);
+			eu.knowledge.engine.reasoner.api.BindingSet bs = this.reasonerPlan.getResults();
+			this.finalBindingSetFuture.complete(bs);
 		}).exceptionally((Throwable t) -> {
 			LOG.error(msg, t);
 			return null;
@@ -240,13 +236,10 @@ public class ReasonerProcessor extends SingleInteractionProcessor {
 			if (pki.getResult() != null) {
 				this.captureResultBindingSetHandler = new CaptureBindingSetHandler();
 
-				store.addRule(new Rule(ruleName, translateGraphPatternTo(pki.getResult()),
-						this.captureResultBindingSetHandler));
+				store.addRule(new Rule(ruleName, aPKI.getSecondTriplePatterns(), this.captureResultBindingSetHandler));
 			}
 
-			Set<TriplePattern> translatedGraphPattern = translateGraphPatternTo(pki.getArgument());
-
-			ProactiveRule aRule = new ProactiveRule(ruleName, new HashSet<>(), new HashSet<>(translatedGraphPattern));
+			ProactiveRule aRule = new ProactiveRule(ruleName, new HashSet<>(), aPKI.getFirstTriplePatterns());
 			store.addRule(aRule);
 
 			MatchStrategy aStrategy;
@@ -264,6 +257,24 @@ public class ReasonerProcessor extends SingleInteractionProcessor {
 		}
 	}
 
+	/**
+	 * Prepare this processor for another execution of the same knowledge
+	 * interaction. The rule store (with its cached matches) is kept, but the
+	 * binding sets and exchange infos of the previous execution are forgotten. The
+	 * results of previous executions keep their own exchange infos and reasoner
+	 * plan, because the next execution uses a copy of that plan.
+	 */
+	public void reset() {
+		this.askExchangeInfos = Collections.newSetFromMap(new ConcurrentHashMap<AskExchangeInfo, Boolean>());
+		this.postExchangeInfos = Collections.newSetFromMap(new ConcurrentHashMap<PostExchangeInfo, Boolean>());
+		this.knowledgeGaps = null;
+		this.finalBindingSetFuture = null;
+		if (this.captureResultBindingSetHandler != null)
+			this.captureResultBindingSetHandler.reset();
+		if (this.reasonerPlan != null)
+			this.reasonerPlan = this.reasonerPlan.copy();
+	}
+
 	@Override
 	public CompletableFuture<PostResult> executePostInteraction(BindingSet someBindings) {
 
@@ -282,23 +293,14 @@ public class ReasonerProcessor extends SingleInteractionProcessor {
 			CaptureBindingSetHandler aBindingSetHandler) {
 
 		String msg = "Executing (scheduled) tasks for the reasoner should not result in errors.";
-		boolean isComplete;
-		TaskBoard taskboard;
-		taskboard = this.reasonerPlan.execute(incomingBS);
-		isComplete = !taskboard.hasTasks();
-		LOG.debug("post:\n{}", this.reasonerPlan);
-		taskboard.executeScheduledTasks().thenAccept(Void -> {
+		this.reasonerPlan.executeAsync(incomingBS).thenAccept(Void -> {
 			LOG.debug("All post tasks finished.");
-			if (isComplete) {
-				eu.knowledge.engine.reasoner.api.BindingSet resultBS = new eu.knowledge.engine.reasoner.api.BindingSet();
-				if (aBindingSetHandler != null) {
-					resultBS = aBindingSetHandler.getBindingSet();
-				}
-				this.finalBindingSetFuture.complete(resultBS);
-			} else {
-				continueReasoningForward(incomingBS, aBindingSetHandler);
+			LOG.debug("post:\n{}", this.reasonerPlan);
+			eu.knowledge.engine.reasoner.api.BindingSet resultBS = new eu.knowledge.engine.reasoner.api.BindingSet();
+			if (aBindingSetHandler != null) {
+				resultBS = aBindingSetHandler.getBindingSet();
 			}
-
+			this.finalBindingSetFuture.complete(resultBS);
 		}).exceptionally((Throwable t) -> {
 			LOG.error(msg, t);
 			return null;
@@ -316,13 +318,11 @@ public class ReasonerProcessor extends SingleInteractionProcessor {
 		BindingSet newBS = new BindingSet();
 		Binding newB;
 
-		SerializationContext context = new SerializationContext();
-		context.setUsePlainLiterals(false);
-
+		NodeDictionary dictionary = NodeDictionary.getInstance();
 		for (eu.knowledge.engine.reasoner.api.Binding b : bs) {
 			newB = new Binding();
 			for (Map.Entry<Var, Node> entry : b.entrySet()) {
-				newB.put(entry.getKey().getName(), FmtUtils.stringForNode(entry.getValue(), context));
+				newB.put(entry.getKey().getName(), dictionary.format(entry.getValue()));
 			}
 			newBS.add(newB);
 		}
@@ -351,29 +351,38 @@ public class ReasonerProcessor extends SingleInteractionProcessor {
 		return newBindingSet;
 	}
 
-	private Set<TriplePattern> translateGraphPatternTo(GraphPattern pattern) {
+	/**
+	 * Convert the given graph pattern into reasoner triple patterns. Prefer the
+	 * memoized version of a knowledge interaction via
+	 * {@link KnowledgeInteractionInfo#getFirstTriplePatterns()} and
+	 * {@link KnowledgeInteractionInfo#getSecondTriplePatterns()}.
+	 */
+	static Set<TriplePattern> translateGraphPatternTo(GraphPattern pattern) {
 
-		TriplePattern tp;
-		TriplePath triplePath;
-		String triple;
+		Triple triple;
 		ElementPathBlock epb = pattern.getGraphPattern();
 		Iterator<TriplePath> iter = epb.patternElts();
 
 		Set<TriplePattern> triplePatterns = new HashSet<TriplePattern>();
 
 		while (iter.hasNext()) {
-
-			triplePath = iter.next();
-
-			triple = FmtUtils.stringForTriple(triplePath.asTriple(), new PrefixMappingZero());
-
-			tp = new TriplePattern(triple);
-			triplePatterns.add(tp);
+			triple = iter.next().asTriple();
+			triplePatterns.add(new TriplePattern(toReasonerNode(triple.getSubject()),
+					toReasonerNode(triple.getPredicate()), toReasonerNode(triple.getObject())));
 		}
 
 		return triplePatterns;
 	}
 
+	/**
+	 * The reasoner expects variables to be {@link Var}s.
+	 */
+	private static Node toReasonerNode(Node aNode) {
+		if (aNode.isVariable() && !(aNode instanceof Var))
+			return Var.alloc(aNode);
+		return aNode;
+	}
+
 	public static class CaptureBindingSetHandler implements SinkBindingSetHandler {
 
 		private eu.knowledge.engine.reasoner.api.BindingSet bs;
@@ -401,6 +410,10 @@ public class ReasonerProcessor extends SingleInteractionProcessor {
 			return bs;
 		}
 
+		public void reset() {
+			this.bs = null;
+		}
+
 	}
 
 	private AskExchangeInfo convertMessageToExchangeInfo(BindingSet someConvertedBindings, AnswerMessage aMessage,
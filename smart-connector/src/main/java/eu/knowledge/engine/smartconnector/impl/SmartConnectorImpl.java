@@ -6,6 +6,7 @@ import java.time.Instant;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -73,7 +74,7 @@ public class SmartConnectorImpl implements RuntimeSmartConnector, LoggerProvider
 		this.LOG = this.getLogger(SmartConnectorImpl.class);
 
 		this.knowledgeBaseStore = new KnowledgeBaseStoreImpl(this, this.myKnowledgeBase);
-		this.messageRouter = new MessageRouterImpl(this);
+		this.messageRouter = new MessageRouterImpl(this, this.knowledgeBaseStore);
 		this.metaKnowledgeBase = new MetaKnowledgeBaseImpl(this, this.messageRouter, this.knowledgeBaseStore);
 		this.otherKnowledgeBaseStore = new OtherKnowledgeBaseStoreImpl(this, this.metaKnowledgeBase);
 		this.interactionProcessor = new InteractionProcessorImpl(this, this.otherKnowledgeBaseStore,
@@ -85,7 +86,7 @@ public class SmartConnectorImpl implements RuntimeSmartConnector, LoggerProvider
 		this.messageRouter.registerMetaKnowledgeBase(this.metaKnowledgeBase);
 		this.messageRouter.registerInteractionProcessor(this.interactionProcessor);
 
-		this.knowledgeBaseExecutorService = KeRuntime.executorService();
+		this.knowledgeBaseExecutorService = KeRuntime.handlerExecutorService();
 
 		KeRuntime.localSmartConnectorRegistry().register(this);
 
@@ -301,11 +302,37 @@ public class SmartConnectorImpl implements RuntimeSmartConnector, LoggerProvider
 	@Override
 	public CompletableFuture<AskResult> ask(AskKnowledgeInteraction anAKI, RecipientSelector aSelector,
 			BindingSet aBindingSet) {
+		return this.ask(anAKI, aSelector, aBindingSet, null);
+	}
 
-		return this.planAsk(anAKI, aSelector).execute(aBindingSet).exceptionally((Throwable t) -> {
-			LOG.error("Processing an Ask should not result in errors.", t);
-			return null;
-		});
+	/**
+	 * Same as {@link #ask(AskKnowledgeInteraction, RecipientSelector, BindingSet)},
+	 * but gives the bindings of the answer to {@code aPartialResultHandler} as
+	 * soon as the reasoner derives them.
+	 *
+	 * @param aPartialResultHandler Receives the new bindings whenever they become
+	 *                              available, or {@code null} if the caller only
+	 *                              needs the {@link AskResult}.
+	 */
+	@Override
+	public CompletableFuture<AskResult> ask(AskKnowledgeInteraction anAKI, RecipientSelector aSelector,
+			BindingSet aBindingSet, Consumer<BindingSet> aPartialResultHandler) {
+
+		this.checkStopped();
+		if (aSelector == null)
+			throw new IllegalArgumentException("Recipient Selector parameter should be non-null.");
+
+		MyKnowledgeInteractionInfo info = this.knowledgeBaseStore.getKnowledgeInteractionByObject(anAKI);
+
+		assert info != null;
+		assert info.getType() == Type.ASK;
+
+		LOG.info("Asking for KI <{}>.", info.getId());
+		return this.interactionProcessor.askFromKnowledgeBase(info, aSelector, aBindingSet, aPartialResultHandler)
+				.exceptionally((Throwable t) -> {
+					LOG.error("Processing an Ask should not result in errors.", t);
+					return null;
+				});
 	}
 
 	/**
@@ -381,10 +408,21 @@ public class SmartConnectorImpl implements RuntimeSmartConnector, LoggerProvider
 	@Override
 	public CompletableFuture<PostResult> post(PostKnowledgeInteraction aPKI, RecipientSelector aSelector,
 			BindingSet someArguments) {
-		return this.planPost(aPKI, aSelector).execute(someArguments).exceptionally((Throwable t) -> {
-			LOG.error("Processing a Post should not result in errors.", t);
-			return null;
-		});
+		this.checkStopped();
+		if (aSelector == null)
+			throw new IllegalArgumentException("Recipient Selector parameter should be non-null.");
+
+		MyKnowledgeInteractionInfo info = this.knowledgeBaseStore.getKnowledgeInteractionByObject(aPKI);
+
+		assert info != null;
+		assert info.getType() == Type.POST;
+
+		LOG.info("Posting for KI <{}>.", info.getId());
+		return this.interactionProcessor.postFromKnowledgeBase(info, aSelector, someArguments)
+				.exceptionally((Throwable t) -> {
+					LOG.error("Processing a Post should not result in errors.", t);
+					return null;
+				});
 	}
 
 	/**
@@ -1,6 +1,7 @@
 package eu.knowledge.engine.smartconnector.messaging;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The {@link MessageDispatcherEndpoint} can be used for sending messages to
@@ -8,6 +9,17 @@ import java.io.IOException;
  */
 public interface MessageDispatcherEndpoint {
 
-	void send(KnowledgeMessage message) throws IOException;
+	/**
+	 * Send the given message to another Smart Connector.
+	 *
+	 * @param message the message to send.
+	 * @return a future that completes when the message has been delivered, or
+	 *         completes exceptionally when delivering the message failed. Messages
+	 *         to Smart Connectors in other Knowledge Engine Runtimes are delivered
+	 *         asynchronously.
+	 * @throws IOException when the message can immediately be determined to be
+	 *                     undeliverable.
+	 */
+	CompletableFuture<Void> send(KnowledgeMessage message) throws IOException;
 
 }
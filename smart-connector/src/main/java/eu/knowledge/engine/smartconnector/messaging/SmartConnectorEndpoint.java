@@ -16,6 +16,12 @@ public interface SmartConnectorEndpoint {
 
 	void handleErrorMessage(ErrorMessage message);
 
+	/**
+	 * @return whether the given knowledge interaction of this smart connector is
+	 *         one of its meta knowledge interactions.
+	 */
+	boolean isMetaKnowledgeInteraction(URI knowledgeInteractionId);
+
 	void setMessageDispatcher(MessageDispatcherEndpoint messageDispatcherEndpoint);
 
 	void unsetMessageDispatcher();
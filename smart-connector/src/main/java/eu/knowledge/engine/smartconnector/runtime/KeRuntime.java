@@ -4,6 +4,7 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
@@ -11,6 +12,7 @@ import java.util.concurrent.ThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import eu.knowledge.engine.reasoner.BaseRule;
 import eu.knowledge.engine.smartconnector.runtime.messaging.MessageDispatcher;
 
 /**
@@ -25,13 +27,20 @@ public class KeRuntime {
 	private static final String CONF_KEY_MY_PORT = "KE_RUNTIME_PORT";
 	private static final String CONF_KEY_KD_URL = "KD_URL";
 	private static final String CONF_KEY_MY_EXPOSED_URL = "KE_RUNTIME_EXPOSED_URL";
+	private static final String CONF_KEY_USE_VIRTUAL_THREADS = "KE_RUNTIME_USE_VIRTUAL_THREADS";
+	private static final String CONF_KEY_MATCH_MAX_COMBI_MATCHES = "KE_REASONER_MATCH_MAX_COMBI_MATCHES";
+	private static final String CONF_KEY_MATCH_TIMEOUT = "KE_REASONER_MATCH_TIMEOUT";
 
 	private static final String EXPOSED_URL_DEFAULT_PROTOCOL = "http";
 
+	private static final int EXECUTOR_POOL_SIZE = 12;
+
 	private static final Logger LOG = LoggerFactory.getLogger(KeRuntime.class);
 
 	private static LocalSmartConnectorRegistry localSmartConnectorRegistry = new LocalSmartConnectorRegistryImpl();
 	private static ScheduledExecutorService executorService;
+	private static ExecutorService handlerExecutorService;
+	private static boolean usesVirtualThreads = false;
 	private static MessageDispatcher messageDispatcher = null;
 
 	static {
@@ -66,7 +75,7 @@ public class KeRuntime {
 
 		// we want to make sure that this threadpool does not keep the JVM alive. So we
 		// set the daemon to true.
-		executorService = Executors.newScheduledThreadPool(12, new ThreadFactory() {
+		ThreadFactory threadFactory = new ThreadFactory() {
 			@Override
 			public Thread newThread(Runnable r) {
 				Thread t = Executors.defaultThreadFactory().newThread(r);
@@ -77,7 +86,20 @@ public class KeRuntime {
 				return t;
 			}
 
-		});
+		};
+		executorService = Executors.newScheduledThreadPool(EXECUTOR_POOL_SIZE, threadFactory);
+
+		handlerExecutorService = executorService;
+		if (Boolean.parseBoolean(getConfigProperty(CONF_KEY_USE_VIRTUAL_THREADS, "false"))) {
+			ExecutorService virtual = createVirtualThreadExecutorService();
+			if (virtual != null) {
+				handlerExecutorService = virtual;
+				usesVirtualThreads = true;
+			}
+		}
+
+		BaseRule.setMatchBudget(Integer.parseInt(getConfigProperty(CONF_KEY_MATCH_MAX_COMBI_MATCHES, "0")),
+				Long.parseLong(getConfigProperty(CONF_KEY_MATCH_TIMEOUT, "0")));
 
 		// Make sure the MessageDispatcher initializes
 		getMessageDispatcher();
@@ -95,6 +117,55 @@ public class KeRuntime {
 		return executorService;
 	}
 
+	/**
+	 * @return the number of threads of the {@link #executorService()} that is
+	 *         shared by all smart connectors in this runtime.
+	 */
+	public static int executorPoolSize() {
+		return EXECUTOR_POOL_SIZE;
+	}
+
+	/**
+	 * The executor service on which incoming messages are handled, which includes
+	 * calling the (possibly blocking) handlers of the knowledge bases. By default
+	 * this is the same as {@link #executorService()}, but when virtual threads are
+	 * enabled (and available) every task runs on its own virtual thread. The
+	 * number of concurrent tasks is then only limited per knowledge base and per
+	 * remote runtime.
+	 */
+	public static ExecutorService handlerExecutorService() {
+		return handlerExecutorService;
+	}
+
+	/**
+	 * @return whether messages are actually handled on virtual threads, which is
+	 *         only the case when they are enabled and available.
+	 */
+	public static boolean usesVirtualThreads() {
+		return usesVirtualThreads;
+	}
+
+	/**
+	 * Virtual threads are only available from Java 21 onwards, while the Knowledge
+	 * Engine still targets Java 17. So we look them up at runtime.
+	 * 
+	 * @return the virtual thread executor service, or {@code null} if virtual
+	 *         threads are not available.
+	 */
+	private static ExecutorService createVirtualThreadExecutorService() {
+		try {
+			ExecutorService virtual = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+					.invoke(null);
+			LOG.info("Handling messages on virtual threads.");
+			return virtual;
+		} catch (ReflectiveOperationException e) {
+			LOG.warn(
+					"Virtual threads are enabled with {}, but they require Java 21 or newer. Handling messages on the shared thread pool instead.",
+					CONF_KEY_USE_VIRTUAL_THREADS);
+			return null;
+		}
+	}
+
 	public static MessageDispatcher getMessageDispatcher() {
 		if (messageDispatcher == null) {
 			try {
@@ -1,5 +1,8 @@
 package eu.knowledge.engine.smartconnector.runtime;
 
+import java.net.URI;
+import java.util.Set;
+
 /**
  * Listener for when the list of Knowledge Bases changes.
  *
@@ -10,6 +13,13 @@ package eu.knowledge.engine.smartconnector.runtime;
  */
 public interface KnowledgeDirectoryProxyListener {
 
-	void knowledgeBaseIdSetChanged();
+	/**
+	 * Called when the set of Knowledge Bases might have changed.
+	 *
+	 * @param knowledgeBaseIds The current ids of all Knowledge Bases, so that the
+	 *                         listener can determine which Knowledge Bases
+	 *                         appeared or disappeared.
+	 */
+	void knowledgeBaseIdSetChanged(Set<URI> knowledgeBaseIds);
 
 }
@@ -0,0 +1,452 @@
+package eu.knowledge.engine.smartconnector.runtime.messaging;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import eu.knowledge.engine.smartconnector.api.Binding;
+import eu.knowledge.engine.smartconnector.api.BindingSet;
+import eu.knowledge.engine.smartconnector.messaging.AnswerMessage;
+import eu.knowledge.engine.smartconnector.messaging.AskMessage;
+import eu.knowledge.engine.smartconnector.messaging.ErrorMessage;
+import eu.knowledge.engine.smartconnector.messaging.KnowledgeMessage;
+import eu.knowledge.engine.smartconnector.messaging.PostMessage;
+import eu.knowledge.engine.smartconnector.messaging.ReactMessage;
+import eu.knowledge.engine.smartconnector.runtime.KeRuntime;
+
+/**
+ * Compact binary encoding of {@link KnowledgeMessage}s that are exchanged
+ * between Knowledge Engine Runtimes. It is an alternative to the JSON encoding
+ * of {@link MessageConverter} and is only used when the receiving KER
+ * advertised support for it in the Knowledge Directory.
+ *
+ * All strings (IRIs, literals, variable names) in the encoded messages are
+ * stored once in a string table and referred to by their index. The variables
+ * of a binding set are written once per message, followed by the values of
+ * every binding in the order of those variables. Large payloads are
+ * compressed.
+ *
+ * The layout is: a version byte, a flags byte and a (possibly compressed)
+ * body that consists of the string table followed by the messages.
+ */
+public class BinaryMessageCodec {
+
+	/**
+	 * Which encoding this KER uses for messages to other KERs, either
+	 * {@code binary} or {@code json}. The binary encoding is only used when the
+	 * other KER supports it as well. Default {@code binary}.
+	 */
+	public static final String CONF_KEY_MESSAGE_ENCODING = "KE_MESSAGE_ENCODING";
+
+	/**
+	 * The name under which the binary encoding is advertised in the Knowledge
+	 * Directory.
+	 */
+	public static final String ENCODING_BINARY = "binary";
+	public static final String ENCODING_JSON = "json";
+
+	public static final String CONTENT_TYPE = "application/octet-stream";
+
+	private static final byte VERSION = 1;
+	private static final byte FLAG_DEFLATE = 0x1;
+
+	/**
+	 * Bodies smaller than this number of bytes are not compressed, because the
+	 * compression overhead is bigger than the gain.
+	 */
+	private static final int COMPRESSION_THRESHOLD = 1024;
+
+	/**
+	 * The maximum number of bytes of a decoded (and possibly decompressed) body,
+	 * so that a small compressed request cannot exhaust the memory of this KER.
+	 */
+	private static final int MAX_BODY_SIZE = 64 * 1024 * 1024;
+
+	private static final byte TYPE_ASK = 1;
+	private static final byte TYPE_ANSWER = 2;
+	private static final byte TYPE_POST = 3;
+	private static final byte TYPE_REACT = 4;
+	private static final byte TYPE_ERROR = 5;
+
+	/**
+	 * @return whether this KER accepts and sends messages in the binary encoding.
+	 */
+	public static boolean isEnabled() {
+		String encoding = KeRuntime.getConfigProperty(CONF_KEY_MESSAGE_ENCODING, ENCODING_BINARY);
+		if (ENCODING_BINARY.equalsIgnoreCase(encoding))
+			return true;
+		else if (ENCODING_JSON.equalsIgnoreCase(encoding))
+			return false;
+		else
+			throw new IllegalArgumentException(CONF_KEY_MESSAGE_ENCODING + " should be either '" + ENCODING_BINARY
+					+ "' or '" + ENCODING_JSON + "', but was '" + encoding + "'.");
+	}
+
+	public static byte[] encode(List<KnowledgeMessage> messages) throws IOException {
+		StringTable table = new StringTable();
+		ByteArrayOutputStream messageBytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(messageBytes);
+
+		writeVarInt(out, messages.size());
+		for (KnowledgeMessage message : messages) {
+			writeMessage(out, table, message);
+		}
+		out.flush();
+
+		ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(messageBytes.size() + table.byteSize());
+		DataOutputStream body = new DataOutputStream(bodyBytes);
+		writeVarInt(body, table.strings.size());
+		for (byte[] s : table.strings) {
+			writeVarInt(body, s.length);
+			body.write(s);
+		}
+		messageBytes.writeTo(body);
+		body.flush();
+
+		ByteArrayOutputStream result = new ByteArrayOutputStream(bodyBytes.size() + 2);
+		result.write(VERSION);
+		if (bodyBytes.size() >= COMPRESSION_THRESHOLD) {
+			result.write(FLAG_DEFLATE);
+			try (DeflaterOutputStream deflater = new DeflaterOutputStream(result)) {
+				bodyBytes.writeTo(deflater);
+			}
+		} else {
+			result.write(0);
+			bodyBytes.writeTo(result);
+		}
+		return result.toByteArray();
+	}
+
+	public static List<KnowledgeMessage> decode(byte[] bytes) throws IOException {
+		if (bytes == null || bytes.length < 2)
+			throw new IOException("Binary message is too short.");
+		if (bytes[0] != VERSION)
+			throw new IOException("Unsupported binary message version " + bytes[0] + ".");
+
+		InputStream bodyStream = new ByteArrayInputStream(bytes, 2, bytes.length - 2);
+		int maxBodySize = bytes.length - 2;
+		if ((bytes[1] & FLAG_DEFLATE) != 0) {
+			bodyStream = new InflaterInputStream(bodyStream);
+			maxBodySize = MAX_BODY_SIZE;
+		}
+
+		try (BodyInputStream in = new BodyInputStream(bodyStream, maxBodySize)) {
+			int nrOfStrings = readCount(in, 1);
+			String[] table = new String[nrOfStrings];
+			for (int i = 0; i < nrOfStrings; i++) {
+				byte[] s = new byte[readCount(in, 1)];
+				in.readFully(s);
+				table[i] = new String(s, StandardCharsets.UTF_8);
+			}
+
+			int nrOfMessages = readCount(in, 1);
+			List<KnowledgeMessage> messages = new ArrayList<>(nrOfMessages);
+			for (int i = 0; i < nrOfMessages; i++) {
+				messages.add(readMessage(in, table));
+			}
+			return messages;
+		} catch (URISyntaxException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new IOException("Could not decode binary message: " + e.getMessage(), e);
+		}
+	}
+
+	private static void writeMessage(DataOutputStream out, StringTable table, KnowledgeMessage message)
+			throws IOException {
+		if (message instanceof AskMessage) {
+			out.writeByte(TYPE_ASK);
+		} else if (message instanceof AnswerMessage) {
+			out.writeByte(TYPE_ANSWER);
+		} else if (message instanceof PostMessage) {
+			out.writeByte(TYPE_POST);
+		} else if (message instanceof ReactMessage) {
+			out.writeByte(TYPE_REACT);
+		} else if (message instanceof ErrorMessage) {
+			out.writeByte(TYPE_ERROR);
+		} else {
+			throw new IOException("Unsupported message type " + message.getClass().getSimpleName());
+		}
+
+		writeUUID(out, message.getMessageId());
+		writeString(out, table, message.getFromKnowledgeBase().toString());
+		writeString(out, table, message.getFromKnowledgeInteraction().toString());
+		writeString(out, table, message.getToKnowledgeBase().toString());
+		writeString(out, table, message.getToKnowledgeInteraction().toString());
+
+		if (message instanceof AskMessage) {
+			writeBindingSet(out, table, ((AskMessage) message).getBindings());
+		} else if (message instanceof AnswerMessage) {
+			AnswerMessage answer = (AnswerMessage) message;
+			writeUUID(out, answer.getReplyToAskMessage());
+			writeString(out, table, answer.getFailedMessage());
+			writeBindingSet(out, table, answer.getBindings());
+		} else if (message instanceof PostMessage) {
+			writeBindingSet(out, table, ((PostMessage) message).getArgument());
+		} else if (message instanceof ReactMessage) {
+			ReactMessage react = (ReactMessage) message;
+			writeUUID(out, react.getReplyToPostMessage());
+			writeString(out, table, react.getFailedMessage());
+			writeBindingSet(out, table, react.getResult());
+		} else {
+			ErrorMessage error = (ErrorMessage) message;
+			writeUUID(out, error.getReplyToMessage());
+			writeString(out, table, error.getErrorMessage());
+		}
+	}
+
+	private static KnowledgeMessage readMessage(BodyInputStream in, String[] table)
+			throws IOException, URISyntaxException {
+		byte type = in.readByte();
+		UUID messageId = readUUID(in);
+		URI fromKnowledgeBase = new URI(readString(in, table));
+		URI fromKnowledgeInteraction = new URI(readString(in, table));
+		URI toKnowledgeBase = new URI(readString(in, table));
+		URI toKnowledgeInteraction = new URI(readString(in, table));
+
+		switch (type) {
+		case TYPE_ASK:
+			return new AskMessage(messageId, fromKnowledgeBase, fromKnowledgeInteraction, toKnowledgeBase,
+					toKnowledgeInteraction, readBindingSet(in, table));
+		case TYPE_ANSWER: {
+			UUID replyTo = readUUID(in);
+			String failedMessage = readString(in, table);
+			return new AnswerMessage(messageId, fromKnowledgeBase, fromKnowledgeInteraction, toKnowledgeBase,
+					toKnowledgeInteraction, replyTo, readBindingSet(in, table), failedMessage);
+		}
+		case TYPE_POST:
+			return new PostMessage(messageId, fromKnowledgeBase, fromKnowledgeInteraction, toKnowledgeBase,
+					toKnowledgeInteraction, readBindingSet(in, table));
+		case TYPE_REACT: {
+			UUID replyTo = readUUID(in);
+			String failedMessage = readString(in, table);
+			return new ReactMessage(messageId, fromKnowledgeBase, fromKnowledgeInteraction, toKnowledgeBase,
+					toKnowledgeInteraction, replyTo, readBindingSet(in, table), failedMessage);
+		}
+		case TYPE_ERROR: {
+			UUID replyTo = readUUID(in);
+			return new ErrorMessage(messageId, fromKnowledgeBase, fromKnowledgeInteraction, toKnowledgeBase,
+					toKnowledgeInteraction, replyTo, readString(in, table));
+		}
+		default:
+			throw new IOException("Unknown message type " + type + ".");
+		}
+	}
+
+	/**
+	 * Writes the variables of the binding set once, followed by the value of every
+	 * variable per binding. Unbound variables are written as a {@code null}
+	 * value.
+	 */
+	private static void writeBindingSet(DataOutputStream out, StringTable table, BindingSet bindingSet)
+			throws IOException {
+		List<String> vars = new ArrayList<>();
+		Map<String, Integer> varIndex = new HashMap<>();
+		for (Binding b : bindingSet) {
+			for (String var : b.getVariables()) {
+				if (!varIndex.containsKey(var)) {
+					varIndex.put(var, vars.size());
+					vars.add(var);
+				}
+			}
+		}
+
+		writeVarInt(out, vars.size());
+		for (String var : vars) {
+			writeString(out, table, var);
+		}
+
+		writeVarInt(out, bindingSet.size());
+		for (Binding b : bindingSet) {
+			for (String var : vars) {
+				writeString(out, table, b.containsKey(var) ? b.get(var) : null);
+			}
+		}
+	}
+
+	private static BindingSet readBindingSet(BodyInputStream in, String[] table) throws IOException {
+		String[] vars = new String[readCount(in, 1)];
+		for (int i = 0; i < vars.length; i++) {
+			vars[i] = readString(in, table);
+		}
+
+		BindingSet bindingSet = new BindingSet();
+		int nrOfBindings;
+		if (vars.length == 0) {
+			// without variables there is at most a single (empty) binding
+			nrOfBindings = readVarInt(in);
+			if (nrOfBindings < 0 || nrOfBindings > 1)
+				throw new IOException("Invalid number of bindings " + nrOfBindings + " in binary message.");
+		} else {
+			nrOfBindings = readCount(in, vars.length);
+		}
+		for (int i = 0; i < nrOfBindings; i++) {
+			Binding binding = new Binding();
+			for (String var : vars) {
+				String value = readString(in, table);
+				if (value != null)
+					binding.put(var, value);
+			}
+			bindingSet.add(binding);
+		}
+		return bindingSet;
+	}
+
+	/**
+	 * Strings are written as their index in the string table plus one, so that
+	 * {@code 0} can represent {@code null}.
+	 */
+	private static void writeString(DataOutputStream out, StringTable table, String s) throws IOException {
+		writeVarInt(out, s == null ? 0 : table.indexOf(s) + 1);
+	}
+
+	private static String readString(DataInputStream in, String[] table) throws IOException {
+		int ref = readVarInt(in);
+		if (ref < 0 || ref > table.length)
+			throw new IOException("Invalid string reference " + ref + " in binary message.");
+		return ref == 0 ? null : table[ref - 1];
+	}
+
+	private static void writeUUID(DataOutputStream out, UUID uuid) throws IOException {
+		out.writeLong(uuid.getMostSignificantBits());
+		out.writeLong(uuid.getLeastSignificantBits());
+	}
+
+	private static UUID readUUID(DataInputStream in) throws IOException {
+		return new UUID(in.readLong(), in.readLong());
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarInt(DataInputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.read();
+			if (b == -1)
+				throw new EOFException("Unexpected end of binary message.");
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Malformed variable length integer in binary message.");
+	}
+
+	/**
+	 * Reads the number of items (or bytes) that follow, which cannot be more than
+	 * the remaining bytes of the body allow, because every item takes at least
+	 * the given number of bytes. This prevents huge allocations for invalid
+	 * messages.
+	 */
+	private static int readCount(BodyInputStream in, int minBytesPerItem) throws IOException {
+		int count = readVarInt(in);
+		if (count < 0 || (long) count * minBytesPerItem > in.remaining())
+			throw new IOException("Invalid count " + count + " in binary message.");
+		return count;
+	}
+
+	/**
+	 * The body of a binary message, which fails when it is bigger than the given
+	 * maximum number of bytes.
+	 */
+	private static class BodyInputStream extends DataInputStream {
+
+		public BodyInputStream(InputStream in, int maxSize) {
+			super(new LimitedInputStream(in, maxSize));
+		}
+
+		/**
+		 * @return the maximum number of bytes that can still be read.
+		 */
+		public long remaining() {
+			return ((LimitedInputStream) this.in).remaining;
+		}
+	}
+
+	private static class LimitedInputStream extends FilterInputStream {
+		private long remaining;
+
+		public LimitedInputStream(InputStream in, long maxSize) {
+			super(in);
+			this.remaining = maxSize;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = this.in.read();
+			if (b != -1 && --this.remaining < 0)
+				throw tooBig();
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0)
+				return 0;
+			if (this.remaining <= 0) {
+				if (this.in.read() != -1)
+					throw tooBig();
+				return -1;
+			}
+			int n = this.in.read(b, off, (int) Math.min(len, this.remaining));
+			if (n > 0)
+				this.remaining -= n;
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = this.in.skip(Math.min(n, this.remaining));
+			this.remaining -= skipped;
+			return skipped;
+		}
+
+		private IOException tooBig() {
+			return new IOException("Binary message is bigger than " + MAX_BODY_SIZE + " bytes.");
+		}
+	}
+
+	/**
+	 * The distinct strings of the messages that are being encoded, in order of
+	 * first occurrence.
+	 */
+	private static class StringTable {
+		private final Map<String, Integer> index = new HashMap<>();
+		private final List<byte[]> strings = new ArrayList<>();
+		private int byteSize = 0;
+
+		public int indexOf(String s) {
+			Integer i = this.index.get(s);
+			if (i == null) {
+				i = this.strings.size();
+				byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+				this.strings.add(bytes);
+				this.byteSize += bytes.length + 2;
+				this.index.put(s, i);
+			}
+			return i;
+		}
+
+		public int byteSize() {
+			return this.byteSize;
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package eu.knowledge.engine.smartconnector.runtime.messaging;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An execution lane runs the tasks of a single Knowledge Base on a shared
+ * {@link Executor}, but never more than a fixed number of them concurrently.
+ * Additional tasks wait in a bounded queue of the lane, so a Knowledge Base
+ * with slow handlers cannot occupy all threads of the shared executor and
+ * starve the other Knowledge Bases in the same runtime.
+ */
+class ExecutionLane {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ExecutionLane.class);
+
+	private final Executor executor;
+	private final int maxConcurrent;
+	private final int maxQueued;
+
+	private final Queue<Runnable> queue = new ArrayDeque<>();
+	private int running = 0;
+
+	ExecutionLane(Executor anExecutor, int aMaxConcurrent, int aMaxQueued) {
+		if (aMaxConcurrent < 1)
+			throw new IllegalArgumentException("The maximum number of concurrent tasks should be at least 1.");
+		if (aMaxQueued < 0)
+			throw new IllegalArgumentException("The maximum number of queued tasks should not be negative.");
+		this.executor = anExecutor;
+		this.maxConcurrent = aMaxConcurrent;
+		this.maxQueued = aMaxQueued;
+	}
+
+	/**
+	 * Execute the task on the shared executor as soon as this lane has room for
+	 * it.
+	 *
+	 * @param task      The task to execute.
+	 * @param mayReject Whether the task may be rejected when the lane is
+	 *                  saturated. Tasks that complete work that is already in
+	 *                  progress should not be rejected, because nobody would be
+	 *                  waiting for them anymore.
+	 * @return {@code false} if the task was rejected because all slots of this
+	 *         lane are in use and its queue is full, {@code true} otherwise.
+	 * @throws RejectedExecutionException if the shared executor does not accept
+	 *                                    the task, e.g. because it is shut down.
+	 */
+	synchronized boolean execute(Runnable task, boolean mayReject) {
+		if (this.running < this.maxConcurrent) {
+			this.submit(task);
+			this.running++;
+		} else if (mayReject && this.queue.size() >= this.maxQueued) {
+			return false;
+		} else {
+			this.queue.add(task);
+		}
+		return true;
+	}
+
+	private void submit(Runnable task) {
+		this.executor.execute(() -> {
+			try {
+				task.run();
+			} finally {
+				this.next();
+			}
+		});
+	}
+
+	private synchronized void next() {
+		Runnable task = this.queue.poll();
+		if (task == null) {
+			this.running--;
+			return;
+		}
+
+		try {
+			this.submit(task);
+		} catch (RejectedExecutionException e) {
+			// the shared executor no longer accepts tasks, so the waiting ones will
+			// never run either.
+			LOG.warn("Dropping {} waiting tasks, because the executor does not accept them: {}",
+					this.queue.size() + 1, e.getMessage());
+			this.queue.clear();
+			this.running--;
+		}
+	}
+
+	synchronized int getRunning() {
+		return this.running;
+	}
+
+	synchronized int getQueued() {
+		return this.queue.size();
+	}
+}
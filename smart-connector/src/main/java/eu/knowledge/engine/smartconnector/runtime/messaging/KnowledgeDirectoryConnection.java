@@ -12,9 +12,13 @@ import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -26,6 +30,8 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 
 import eu.knowledge.engine.smartconnector.runtime.KeRuntime;
 import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.api.RFC3339DateFormat;
+import eu.knowledge.engine.smartconnector.runtime.messaging.kd.model.KerChangeEvent;
+import eu.knowledge.engine.smartconnector.runtime.messaging.kd.model.KerChanges;
 import eu.knowledge.engine.smartconnector.runtime.messaging.kd.model.KnowledgeEngineRuntimeConnectionDetails;
 import static eu.knowledge.engine.smartconnector.runtime.messaging.Utils.stripUserInfoFromURI;
 /**
@@ -41,6 +47,13 @@ public class KnowledgeDirectoryConnection {
 
 	private static final String PROTOCOL_VERSION = "1.0.0";
 
+	/**
+	 * How long the Knowledge Directory may wait for changes before answering a
+	 * watch request, and how long to wait before watching again after an error.
+	 */
+	private static final int WATCH_TIMEOUT_SECONDS = 30;
+	private static final int WATCH_RETRY_SECONDS = 5;
+
 	public static enum State {
 		UNREGISTERED, REGISTERED, INTERRUPTED, STOPPING, STOPPED
 	}
@@ -55,6 +68,21 @@ public class KnowledgeDirectoryConnection {
 
 	private ScheduledFuture<?> scheduledFuture;
 
+	/**
+	 * The Knowledge Engine Runtimes according to the changes that we watch at the
+	 * Knowledge Directory, or {@code null} when we are not (yet) watching. In that
+	 * case, the Knowledge Directory is queried for the full list instead.
+	 */
+	private volatile Map<String, KnowledgeEngineRuntimeConnectionDetails> watchedKers = null;
+	private long watchRevision = 0;
+	/**
+	 * The run of the Knowledge Directory that {@link #watchRevision} belongs to.
+	 */
+	private String watchEpoch = null;
+	private volatile boolean watchSupported = true;
+	private CompletableFuture<?> watchFuture;
+	private volatile Runnable changeListener;
+
 	public KnowledgeDirectoryConnection(URI kdUrl, URI myExposedUrl) {
 		this.myExposedUrl = myExposedUrl;
 		this.currentState = State.UNREGISTERED;
@@ -125,6 +153,116 @@ public class KnowledgeDirectoryConnection {
 				LOG.error("Exception in renew loop of KnowledgeDirectoryConnectionManager", e);
 			}
 		}, 0, RENEW_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+		this.watch();
+	}
+
+	/**
+	 * Set the listener that is called whenever we learn from the Knowledge
+	 * Directory that Knowledge Engine Runtimes were added or removed.
+	 */
+	public void setChangeListener(Runnable aChangeListener) {
+		this.changeListener = aChangeListener;
+	}
+
+	/**
+	 * Watch the changes of the Knowledge Engine Runtimes at the Knowledge
+	 * Directory. The request is answered as soon as something changes, after
+	 * which we immediately watch again. If the Knowledge Directory does not
+	 * support watching (i.e. it runs an older version), we only rely on querying
+	 * the full list.
+	 */
+	private void watch() {
+		if (!this.watchSupported || this.currentState == State.STOPPING || this.currentState == State.STOPPED) {
+			return;
+		}
+
+		HttpRequest request;
+		try {
+			String query = "?timeout=" + WATCH_TIMEOUT_SECONDS;
+			if (this.watchedKers != null) {
+				query += "&since=" + this.watchRevision;
+				if (this.watchEpoch != null)
+					query += "&epoch=" + URLEncoder.encode(this.watchEpoch, StandardCharsets.UTF_8);
+			}
+			request = HttpRequest.newBuilder(new URI(kdUrl + "/ker/changes" + query))
+					.timeout(Duration.ofSeconds(WATCH_TIMEOUT_SECONDS + 10)).GET().build();
+		} catch (URISyntaxException e) {
+			LOG.warn("Could not watch the changes at the Knowledge Directory, relying on polling instead.", e);
+			this.watchSupported = false;
+			return;
+		}
+
+		this.watchFuture = httpClient.sendAsync(request, BodyHandlers.ofString()).whenComplete((response, e) -> {
+			if (this.currentState == State.STOPPING || this.currentState == State.STOPPED) {
+				return;
+			}
+
+			if (e == null && response.statusCode() == 200) {
+				try {
+					if (this.applyChanges(objectMapper.readValue(response.body(), KerChanges.class))) {
+						Runnable listener = this.changeListener;
+						// before we are registered, the peers are queried once we are.
+						if (listener != null && this.currentState != State.UNREGISTERED)
+							listener.run();
+					}
+					this.watch();
+				} catch (IOException ioe) {
+					LOG.warn("Could not parse the changes from the Knowledge Directory: {}", ioe.getMessage());
+					this.watchAgainLater();
+				}
+			} else if (e == null && response.statusCode() == 404) {
+				LOG.info("Knowledge Directory {} does not support watching changes, relying on polling instead.",
+						kdUrl);
+				this.watchSupported = false;
+				this.watchedKers = null;
+			} else {
+				LOG.warn("Could not watch the changes at the Knowledge Directory, got {}. Trying again in {} seconds.",
+						e == null ? "status code " + response.statusCode() : "error '" + e.getMessage() + "'",
+						WATCH_RETRY_SECONDS);
+				this.watchAgainLater();
+			}
+		});
+	}
+
+	private void watchAgainLater() {
+		// we might have missed changes in the meantime, so start with the full list.
+		this.watchedKers = null;
+		KeRuntime.executorService().schedule(this::watch, WATCH_RETRY_SECONDS, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * @return whether Knowledge Engine Runtimes were added or removed.
+	 */
+	private synchronized boolean applyChanges(KerChanges changes) {
+		Map<String, KnowledgeEngineRuntimeConnectionDetails> kers = this.watchedKers;
+		boolean changed = false;
+		if (kers == null || Boolean.TRUE.equals(changes.getFull())) {
+			kers = new ConcurrentHashMap<>();
+			changed = true;
+		}
+
+		for (KerChangeEvent event : changes.getEvents()) {
+			switch (event.getType()) {
+			case ADDED:
+			case RENEWED:
+				if (event.getKer() != null)
+					changed |= kers.put(event.getKerId(), event.getKer()) == null;
+				break;
+			case REMOVED:
+				changed |= kers.remove(event.getKerId()) != null;
+				break;
+			default:
+				break;
+			}
+		}
+
+		this.watchRevision = changes.getRevision();
+		this.watchEpoch = changes.getEpoch();
+		this.watchedKers = kers;
+		LOG.debug("Received {} changes from the Knowledge Directory, now at revision {}", changes.getEvents().size(),
+				this.watchRevision);
+		return changed;
 	}
 
 	public void stop() {
@@ -138,6 +276,8 @@ public class KnowledgeDirectoryConnection {
 
 			this.currentState = State.STOPPING;
 			scheduledFuture.cancel(true);
+			if (this.watchFuture != null)
+				this.watchFuture.cancel(true);
 			// If unregistering fails we don't care about it, the lease will expire anyway
 			tryUnregister();
 			this.currentState = State.STOPPED;
@@ -153,6 +293,13 @@ public class KnowledgeDirectoryConnection {
 			throw new IllegalStateException(
 					"Can only retrieve Knowledge Directory infomation when REGISTERED or INTERRUPETD");
 		}
+
+		Map<String, KnowledgeEngineRuntimeConnectionDetails> kers = this.watchedKers;
+		if (kers != null) {
+			// we are kept up-to-date by watching the changes
+			return new ArrayList<>(kers.values());
+		}
+
 		try {
 			URI uri = new URI(kdUrl + "/ker/");
 			HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
@@ -188,6 +335,9 @@ public class KnowledgeDirectoryConnection {
 		KnowledgeEngineRuntimeConnectionDetails ker = new KnowledgeEngineRuntimeConnectionDetails();
 		ker.setExposedUrl(myExposedUrl);
 		ker.setProtocolVersion(PROTOCOL_VERSION);
+		if (BinaryMessageCodec.isEnabled()) {
+			ker.setSupportedEncodings(List.of(BinaryMessageCodec.ENCODING_BINARY));
+		}
 
 		try {
 			HttpRequest registerRequest = HttpRequest
@@ -2,6 +2,7 @@ package eu.knowledge.engine.smartconnector.runtime.messaging;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,21 +25,46 @@ public class LocalSmartConnectorConnection implements MessageDispatcherEndpoint
 
 	public static Logger LOG = LoggerFactory.getLogger(LocalSmartConnectorConnection.class);
 
+	/**
+	 * How many messages of a single Smart Connector are handled concurrently on
+	 * the shared executor of the runtime, and how many incoming Ask and Post
+	 * messages may wait for their turn before new ones are rejected. By default a
+	 * single Smart Connector can occupy a quarter of the shared executor, so a few
+	 * busy Smart Connectors cannot starve all others. This does not bound Knowledge
+	 * Bases that answer asynchronously (such as those of the REST API), because
+	 * handling their messages ends as soon as the message is passed on.
+	 */
+	private static final String CONF_KEY_KB_MAX_CONCURRENT = "KE_KB_MAX_CONCURRENT";
+	private static final int DEFAULT_KB_MAX_CONCURRENT = Math.max(1, KeRuntime.executorPoolSize() / 4);
+	private static final String CONF_KEY_KB_MAX_QUEUED = "KE_KB_MAX_QUEUED";
+	private static final int DEFAULT_KB_MAX_QUEUED = 1000;
+
+	private static final int MAX_CONCURRENT = Integer.parseInt(
+			KeRuntime.getConfigProperty(CONF_KEY_KB_MAX_CONCURRENT, Integer.toString(DEFAULT_KB_MAX_CONCURRENT)));
+	private static final int MAX_QUEUED = Integer
+			.parseInt(KeRuntime.getConfigProperty(CONF_KEY_KB_MAX_QUEUED, Integer.toString(DEFAULT_KB_MAX_QUEUED)));
+
 	private final SmartConnectorEndpoint endpoint;
 	private final MessageDispatcher messageDispatcher;
+	private final ExecutionLane lane;
 
 	public LocalSmartConnectorConnection(MessageDispatcher messageDispatcher, SmartConnectorEndpoint sce) {
 		this.messageDispatcher = messageDispatcher;
 		this.endpoint = sce;
+		this.lane = new ExecutionLane(KeRuntime.handlerExecutorService(), MAX_CONCURRENT, MAX_QUEUED);
 	}
 
 	public URI getKnowledgeBaseId() {
 		return this.endpoint.getKnowledgeBaseId();
 	}
 
+	public boolean isMetaKnowledgeInteraction(URI knowledgeInteractionId) {
+		return this.endpoint.isMetaKnowledgeInteraction(knowledgeInteractionId);
+	}
+
 	public void deliverToLocalSmartConnector(KnowledgeMessage message) throws IOException {
 		assert message.getToKnowledgeBase().equals(this.endpoint.getKnowledgeBaseId()) : "";
-		KeRuntime.executorService().execute(() -> {
+		boolean accepted = this.lane.execute(() -> {
 			try {
 				if (message instanceof AnswerMessage) {
 					endpoint.handleAnswerMessage((AnswerMessage) message);
@@ -56,7 +82,46 @@ public class LocalSmartConnectorConnection implements MessageDispatcherEndpoint
 			} catch (Throwable t) {
 				LOG.error("Error occured while processing message by Smart Connector.", t);
 			}
-		});
+		}, isNewWork(message, this.endpoint));
+
+		if (!accepted) {
+			this.reject(message);
+		}
+	}
+
+	/**
+	 * Ask and Post messages to non-meta knowledge interactions start new work for
+	 * the Smart Connector, and are the only messages that are rejected when its
+	 * lane is saturated. All other messages complete work that is already in
+	 * progress.
+	 */
+	private static boolean isNewWork(KnowledgeMessage message, SmartConnectorEndpoint endpoint) {
+		return (message instanceof AskMessage || message instanceof PostMessage)
+				&& !endpoint.isMetaKnowledgeInteraction(message.getToKnowledgeInteraction());
+	}
+
+	/**
+	 * Immediately answer a rejected message with a failed reply, so the sender
+	 * does not have to wait for a timeout.
+	 */
+	private void reject(KnowledgeMessage message) throws IOException {
+		String reason = "Knowledge Base " + message.getToKnowledgeBase()
+				+ " is too busy to handle the message, try again later.";
+		LOG.warn("Rejecting {} {} from {}, {} messages are waiting for Knowledge Base {}.",
+				message.getClass().getSimpleName(), message.getMessageId(), message.getFromKnowledgeBase(),
+				this.lane.getQueued(), message.getToKnowledgeBase());
+
+		KnowledgeMessage reply;
+		if (message instanceof AskMessage) {
+			reply = new AnswerMessage(message.getToKnowledgeBase(), message.getToKnowledgeInteraction(),
+					message.getFromKnowledgeBase(), message.getFromKnowledgeInteraction(), message.getMessageId(),
+					reason);
+		} else {
+			reply = new ReactMessage(message.getToKnowledgeBase(), message.getToKnowledgeInteraction(),
+					message.getFromKnowledgeBase(), message.getFromKnowledgeInteraction(), message.getMessageId(),
+					reason);
+		}
+		this.messageDispatcher.sendToLocalOrRemoteSmartConnector(reply);
 	}
 
 	public void start() {
@@ -72,10 +137,10 @@ public class LocalSmartConnectorConnection implements MessageDispatcherEndpoint
 	 * another SmartConnector
 	 */
 	@Override
-	public void send(KnowledgeMessage message) throws IOException {
+	public CompletableFuture<Void> send(KnowledgeMessage message) throws IOException {
 		assert message.getFromKnowledgeBase()
 				.equals(this.endpoint.getKnowledgeBaseId()) : "the fromKnowledgeBaseId should be mine, but isn't.";
-		messageDispatcher.sendToLocalOrRemoteSmartConnector(message);
+		return messageDispatcher.sendToLocalOrRemoteSmartConnector(message);
 	}
 
 }
@@ -2,10 +2,12 @@ package eu.knowledge.engine.smartconnector.runtime.messaging;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
@@ -194,31 +196,32 @@ public class MessageDispatcher implements KnowledgeDirectoryProxy {
 	 * (local or remote) sender
 	 *
 	 * @param message
+	 * @return a future that completes when the message has been delivered.
 	 * @throws IOException
 	 */
-	void sendToLocalOrRemoteSmartConnector(KnowledgeMessage message) throws IOException {
-		boolean success = false;
+	CompletableFuture<Void> sendToLocalOrRemoteSmartConnector(KnowledgeMessage message) throws IOException {
+		CompletableFuture<Void> delivered = null;
 		LocalSmartConnectorConnection localSender = localSmartConnectorConnectionsManager
 				.getLocalSmartConnectorConnection(message.getToKnowledgeBase());
 		if (localSender != null) {
 			localSender.deliverToLocalSmartConnector(message);
-			success = true;
+			delivered = CompletableFuture.completedFuture(null);
 		} else {
 			if (runsInDistributedMode()) {
 				// must be a remote smart connector then
 				RemoteKerConnection remoteSender = getRemoteSmartConnectorConnectionsManager()
 						.getRemoteKerConnection(message.getToKnowledgeBase());
 				if (remoteSender != null) {
-					remoteSender.sendToRemoteSmartConnector(message);
-					success = true;
+					delivered = remoteSender.sendToRemoteSmartConnector(message);
 				}
 			}
 		}
-		if (!success) {
+		if (delivered == null) {
 			// Cannot find a remote or a local sender
 			throw new IOException("Could not send message " + message.getMessageId() + ", the Knowledge Base "
 					+ message.getToKnowledgeBase() + " is not known");
 		}
+		return delivered;
 	}
 
 	/**
@@ -260,6 +263,16 @@ public class MessageDispatcher implements KnowledgeDirectoryProxy {
 		}
 	}
 
+	/**
+	 * @return whether the given message is sent by a meta knowledge interaction of
+	 *         a local smart connector.
+	 */
+	boolean isFromMetaKnowledgeInteraction(KnowledgeMessage message) {
+		LocalSmartConnectorConnection sender = localSmartConnectorConnectionsManager
+				.getLocalSmartConnectorConnection(message.getFromKnowledgeBase());
+		return sender != null && sender.isMetaKnowledgeInteraction(message.getFromKnowledgeInteraction());
+	}
+
 	KnowledgeEngineRuntimeDetails getMyKnowledgeEngineRuntimeDetails() {
 		KnowledgeEngineRuntimeDetails kers = new KnowledgeEngineRuntimeDetails();
 		// TODO check state of the knowledgeDirectoryConnectionManager
@@ -330,10 +343,11 @@ public class MessageDispatcher implements KnowledgeDirectoryProxy {
 	}
 
 	void notifySmartConnectorsChanged() {
+		Set<URI> knowledgeBaseIds = Collections.unmodifiableSet(getKnowledgeBaseIds());
 		LOG.info("Notifying " + knowledgeDirectoryProxyListeners.size() + " listeners about the "
-				+ getKnowledgeBaseIds().size() + " knowledge bases in the KE");
+				+ knowledgeBaseIds.size() + " knowledge bases in the KE");
 		for (KnowledgeDirectoryProxyListener knowledgeDirectoryProxyListener : knowledgeDirectoryProxyListeners) {
-			knowledgeDirectoryProxyListener.knowledgeBaseIdSetChanged();
+			knowledgeDirectoryProxyListener.knowledgeBaseIdSetChanged(knowledgeBaseIds);
 		}
 		try {
 			tryDeliverUndeliveredMail();
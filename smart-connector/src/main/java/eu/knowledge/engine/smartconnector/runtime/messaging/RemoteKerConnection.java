@@ -5,15 +5,26 @@ import static eu.knowledge.engine.smartconnector.runtime.messaging.Utils.stripUs
 import java.io.IOException;
 import java.net.*;
 import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
 import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpTimeoutException;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,8 +39,13 @@ import eu.knowledge.engine.smartconnector.messaging.ErrorMessage;
 import eu.knowledge.engine.smartconnector.messaging.KnowledgeMessage;
 import eu.knowledge.engine.smartconnector.messaging.PostMessage;
 import eu.knowledge.engine.smartconnector.messaging.ReactMessage;
+import eu.knowledge.engine.smartconnector.runtime.KeRuntime;
 import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.api.RFC3339DateFormat;
+import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.BatchedMessage;
+import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.FailedMessage;
 import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.KnowledgeEngineRuntimeDetails;
+import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.MessageBatch;
+import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.MessageBatchResult;
 import eu.knowledge.engine.smartconnector.runtime.messaging.kd.model.KnowledgeEngineRuntimeConnectionDetails;
 
 /**
@@ -46,6 +62,20 @@ public class RemoteKerConnection {
 	private static final String CONF_KEY_HTTP_TIMEOUT = "KE_HTTP_TIMEOUT";
 	private static final int DEFAULT_HTTP_TIMEOUT = 5;
 
+	/**
+	 * How many messages are sent to a single remote KER concurrently. Additional
+	 * messages wait in the queue of that KER. Default 16.
+	 */
+	private static final String CONF_KEY_HTTP_MAX_IN_FLIGHT = "KE_HTTP_MAX_IN_FLIGHT";
+	private static final int DEFAULT_HTTP_MAX_IN_FLIGHT = 16;
+
+	/**
+	 * How many queued messages to a single remote KER are combined into a single
+	 * HTTP request. A value of 1 disables batching. Default 50.
+	 */
+	private static final String CONF_KEY_HTTP_BATCH_SIZE = "KE_HTTP_BATCH_SIZE";
+	private static final int DEFAULT_HTTP_BATCH_SIZE = 50;
+
 	public static final Logger LOG = LoggerFactory.getLogger(RemoteKerConnection.class);
 
 	private final KnowledgeEngineRuntimeConnectionDetails remoteKerConnectionDetails;
@@ -55,6 +85,39 @@ public class RemoteKerConnection {
 
 	private final HttpClient httpClient;
 	private final ObjectMapper objectMapper;
+	private final int httpTimeout;
+
+	/**
+	 * The messages that wait to be sent to this KER and the number of requests
+	 * that are currently being sent. Messages are sent asynchronously, so a slow
+	 * KER only delays its own messages.
+	 */
+	private final Deque<PendingMessage> messageQueue = new ConcurrentLinkedDeque<>();
+	private final AtomicInteger messagesInFlight = new AtomicInteger(0);
+	private final int maxMessagesInFlight;
+
+	/**
+	 * Messages of meta knowledge interactions (for example the ones that announce
+	 * that a knowledge interaction was changed or removed) should arrive in the
+	 * order in which they were sent. So they wait in their own queue, from which
+	 * only a single request is in flight at a time.
+	 */
+	private final Deque<PendingMessage> orderedMessageQueue = new ConcurrentLinkedDeque<>();
+	private final AtomicBoolean orderedMessagesInFlight = new AtomicBoolean(false);
+
+	/**
+	 * Messages that queue up while all requests are in flight are sent together
+	 * in a single request, unless the remote KER does not support batches.
+	 */
+	private final int batchSize;
+	private volatile boolean batchingSupported = true;
+
+	/**
+	 * Whether messages to this KER are sent in the binary encoding of
+	 * {@link BinaryMessageCodec}. This is only the case when both KERs support it.
+	 */
+	private volatile boolean binaryEncoding;
+	private final AtomicLong requestsSent = new AtomicLong(0);
 
 	private LocalDateTime tryAgainAfter = null;
 	private int errorCounter = 0;
@@ -88,9 +151,27 @@ public class RemoteKerConnection {
 			this.remoteKerUri = kerConnectionDetails.getExposedUrl();
 		}
 
-		int httpTimeout = getHttpTimeout();
-
-		this.httpClient = builder.connectTimeout(Duration.ofSeconds(httpTimeout)).build();
+		this.httpTimeout = getHttpTimeout();
+		this.maxMessagesInFlight = Integer.parseInt(this.getConfigProperty(CONF_KEY_HTTP_MAX_IN_FLIGHT,
+				Integer.toString(DEFAULT_HTTP_MAX_IN_FLIGHT)));
+		if (this.maxMessagesInFlight < 1)
+			throw new IllegalArgumentException(CONF_KEY_HTTP_MAX_IN_FLIGHT + " should be at least 1.");
+		this.batchSize = Integer
+				.parseInt(this.getConfigProperty(CONF_KEY_HTTP_BATCH_SIZE, Integer.toString(DEFAULT_HTTP_BATCH_SIZE)));
+		if (this.batchSize < 1)
+			throw new IllegalArgumentException(CONF_KEY_HTTP_BATCH_SIZE + " should be at least 1.");
+
+		List<String> supportedEncodings = kerConnectionDetails.getSupportedEncodings();
+		this.binaryEncoding = BinaryMessageCodec.isEnabled() && supportedEncodings != null
+				&& supportedEncodings.contains(BinaryMessageCodec.ENCODING_BINARY);
+		LOG.debug("Using {} encoding for messages to {}", this.binaryEncoding ? BinaryMessageCodec.ENCODING_BINARY
+				: BinaryMessageCodec.ENCODING_JSON, this.remoteKerUri);
+
+		if (KeRuntime.usesVirtualThreads()) {
+			// handle the responses of the asynchronous requests on virtual threads as well
+			builder.executor(KeRuntime.handlerExecutorService());
+		}
+		this.httpClient = builder.connectTimeout(Duration.ofSeconds(this.httpTimeout)).build();
 
 		objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
 				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).findAndRegisterModules()
@@ -105,13 +186,13 @@ public class RemoteKerConnection {
 		return this.remoteKerUri;
 	}
 
-	private void noError() {
+	private synchronized void noError() {
 		this.errorCounter = 0;
 		this.tryAgainAfter = null;
 		this.logStillIgnoringAfter = null;
 	}
 
-	private int errorOccurred() {
+	private synchronized int errorOccurred() {
 		this.errorCounter++;
 		int waitTime = getWaitTime(this.errorCounter);
 		this.tryAgainAfter = LocalDateTime.now().plusMinutes(waitTime);
@@ -154,7 +235,7 @@ public class RemoteKerConnection {
 		dispatcher.notifySmartConnectorsChanged();
 	}
 
-	public boolean isAvailable() {
+	public synchronized boolean isAvailable() {
 		if (tryAgainAfter != null) {
 			boolean after = LocalDateTime.now().isAfter(tryAgainAfter);
 			if (after) {
@@ -269,45 +350,327 @@ public class RemoteKerConnection {
 		}
 	}
 
-	public void sendToRemoteSmartConnector(KnowledgeMessage message) throws IOException {
+	/**
+	 * Send the given message to the remote KER. The message is queued and sent
+	 * asynchronously, with at most {@link #maxMessagesInFlight} requests in flight
+	 * to this KER at the same time. Messages that are queued while all requests
+	 * are in flight are combined into batches of at most {@link #batchSize}
+	 * messages. Messages of meta knowledge interactions are sent in order.
+	 *
+	 * @return a future that completes when the remote KER accepted the message,
+	 *         or completes exceptionally when sending the message failed.
+	 * @throws IOException when the KER is currently unavailable or the message
+	 *                     could not be converted.
+	 */
+	public CompletableFuture<Void> sendToRemoteSmartConnector(KnowledgeMessage message) throws IOException {
 		assert (getRemoteKerDetails() == null ? true
 				: getRemoteKerDetails().getSmartConnectorIds().contains(message.getToKnowledgeBase().toString()));
 
 		if (this.isAvailable()) {
+			if (getPathForMessageType(message) == null)
+				throw new IOException("Unsupported message type " + message.getClass().getSimpleName());
+
+			PendingMessage pending = new PendingMessage(message,
+					this.dispatcher.isFromMetaKnowledgeInteraction(message));
+			this.queueOf(pending).add(pending);
+			this.sendQueuedMessages();
+			return pending.future;
+		} else {
+			logStillIgnoring();
+			throw new IOException("KER " + this.remoteKerUri + " is currently unavailable. Trying again later.");
+		}
+	}
 
-			try {
-				String jsonMessage = objectMapper.writeValueAsString(MessageConverter.toJson(message));
-				HttpRequest request = HttpRequest
-						.newBuilder(new URI(this.remoteKerUri + getPathForMessageType(message)))
-						.header("Content-Type", "application/json").POST(BodyPublishers.ofString(jsonMessage)).build();
+	/**
+	 * Send queued messages as long as there are less than
+	 * {@link #maxMessagesInFlight} requests in flight. This is called whenever a
+	 * message is queued and whenever a request has been completed.
+	 */
+	private void sendQueuedMessages() {
+		while (true) {
+			int inFlight = this.messagesInFlight.get();
+			if (inFlight >= this.maxMessagesInFlight)
+				return;
+			if (!this.messagesInFlight.compareAndSet(inFlight, inFlight + 1))
+				continue;
+
+			List<PendingMessage> messages = this.pollOrderedMessages();
+			if (messages.isEmpty())
+				messages = this.poll(this.messageQueue);
+
+			if (messages.isEmpty()) {
+				this.messagesInFlight.decrementAndGet();
+				// a message might have been queued before we released our slot
+				if (this.messageQueue.isEmpty()
+						&& (this.orderedMessageQueue.isEmpty() || this.orderedMessagesInFlight.get()))
+					return;
+			} else if (messages.size() == 1 && !this.binaryEncoding) {
+				this.send(messages.get(0));
+			} else {
+				this.send(messages);
+			}
+		}
+	}
 
-				HttpResponse<String> response = this.httpClient.send(request, BodyHandlers.ofString());
+	/**
+	 * @return the next ordered messages to send, or an empty list if there are
+	 *         none or if earlier ordered messages are still in flight.
+	 */
+	private List<PendingMessage> pollOrderedMessages() {
+		if (this.orderedMessageQueue.isEmpty() || !this.orderedMessagesInFlight.compareAndSet(false, true))
+			return List.of();
+
+		List<PendingMessage> messages = this.poll(this.orderedMessageQueue);
+		if (messages.isEmpty())
+			this.orderedMessagesInFlight.set(false);
+		return messages;
+	}
 
-				if (response.statusCode() == 202) {
+	private List<PendingMessage> poll(Deque<PendingMessage> queue) {
+		int max = this.batchingSupported ? this.batchSize : 1;
+		List<PendingMessage> messages = new ArrayList<>();
+		PendingMessage pending;
+		while (messages.size() < max && (pending = queue.poll()) != null)
+			messages.add(pending);
+		return messages;
+	}
+
+	private Deque<PendingMessage> queueOf(PendingMessage pending) {
+		return pending.ordered ? this.orderedMessageQueue : this.messageQueue;
+	}
+
+	/**
+	 * Release the request slot of the given messages, which were all taken from
+	 * the same queue.
+	 */
+	private void release(List<PendingMessage> messages) {
+		this.messagesInFlight.decrementAndGet();
+		if (messages.get(0).ordered)
+			this.orderedMessagesInFlight.set(false);
+	}
+
+	/**
+	 * Only failures to reach the remote KER make it unavailable. Messages that are
+	 * not accepted or that are not answered in time only fail themselves.
+	 */
+	private boolean isConnectionFailure(Throwable e) {
+		if (e instanceof CompletionException && e.getCause() != null)
+			e = e.getCause();
+		return e instanceof IOException
+				&& (!(e instanceof HttpTimeoutException) || e instanceof HttpConnectTimeoutException);
+	}
+
+	private void send(PendingMessage pending) {
+		KnowledgeMessage message = pending.message;
+
+		if (!this.isAvailable()) {
+			// an earlier message to this KER failed while this one was queued.
+			this.release(List.of(pending));
+			this.failUnavailable(List.of(pending));
+			return;
+		}
+
+		HttpRequest request;
+		try {
+			request = this.createRequest(getPathForMessageType(message), MessageConverter.toJson(message));
+		} catch (URISyntaxException | IOException | IllegalArgumentException e) {
+			this.release(List.of(pending));
+			pending.future.completeExceptionally(new IOException(e));
+			return;
+		}
+
+		this.requestsSent.incrementAndGet();
+		this.httpClient.sendAsync(request, BodyHandlers.ofString()).whenComplete((response, e) -> {
+			try {
+				if (e == null && response.statusCode() == 202) {
 					this.noError();
 					LOG.trace("Successfully sent message {} to {}", message.getMessageId(), this.remoteKerUri);
+					pending.future.complete(null);
+				} else if (e == null) {
+					LOG.warn("Failed to send message {} to {}, got response {}: {}", message.getMessageId(),
+							this.remoteKerUri, response.statusCode(), response.body());
+					pending.future.completeExceptionally(new IOException(
+							"Message not accepted by remote host, status code " + response.statusCode() + ", body "
+									+ response.body()));
+				} else if (this.isConnectionFailure(e)) {
+					this.remoteKerDetails = null;
+					int time = this.errorOccurred();
+					LOG.warn("Ignoring KER {} for {} minutes. Error '{}' occurred.", this.remoteKerUri, time,
+							e.getMessage());
+					this.dispatcher.notifySmartConnectorsChanged();
+					pending.future.completeExceptionally(new IOException(e));
 				} else {
+					LOG.warn("Failed to send message {} to {}, error '{}' occurred.", message.getMessageId(),
+							this.remoteKerUri, e.getMessage());
+					pending.future.completeExceptionally(new IOException(e));
+				}
+			} finally {
+				this.release(List.of(pending));
+				this.sendQueuedMessages();
+			}
+		});
+	}
+
+	/**
+	 * Send multiple messages to the remote KER in a single request, in the binary
+	 * encoding if the remote KER supports it. The remote KER reports which messages
+	 * it could not deliver, so the other messages in the batch are not affected by
+	 * them. If the remote KER does not know the endpoint (i.e. it runs an older
+	 * version), the messages are queued again and sent as JSON or one by one from
+	 * now on.
+	 */
+	private void send(List<PendingMessage> messages) {
+		if (!this.isAvailable()) {
+			this.release(messages);
+			this.failUnavailable(messages);
+			return;
+		}
+
+		boolean binary = this.binaryEncoding;
+		HttpRequest request;
+		try {
+			if (binary) {
+				List<KnowledgeMessage> knowledgeMessages = new ArrayList<>(messages.size());
+				for (PendingMessage pending : messages)
+					knowledgeMessages.add(pending.message);
+				request = HttpRequest.newBuilder(new URI(this.remoteKerUri + "/messaging/binarymessage"))
+						.header("Content-Type", BinaryMessageCodec.CONTENT_TYPE)
+						.timeout(Duration.ofSeconds(this.httpTimeout))
+						.POST(BodyPublishers.ofByteArray(BinaryMessageCodec.encode(knowledgeMessages))).build();
+			} else {
+				request = this.createRequest("/messaging/messagebatch", this.toMessageBatch(messages));
+			}
+		} catch (URISyntaxException | IOException | IllegalArgumentException e) {
+			this.release(messages);
+			for (PendingMessage pending : messages)
+				pending.future.completeExceptionally(new IOException(e));
+			return;
+		}
+
+		this.requestsSent.incrementAndGet();
+		this.httpClient.sendAsync(request, BodyHandlers.ofString()).whenComplete((response, e) -> {
+			try {
+				if (e == null && response.statusCode() == 202) {
+					this.noError();
+					this.completeBatch(messages, response.body());
+				} else if (e == null && response.statusCode() == 404) {
+					if (binary) {
+						LOG.info("KER {} does not support binary messages, sending JSON messages instead.",
+								this.remoteKerUri);
+						this.binaryEncoding = false;
+					} else {
+						LOG.info("KER {} does not support message batches, sending messages one by one.",
+								this.remoteKerUri);
+						this.batchingSupported = false;
+					}
+					// put them back in front of their queue in their original order
+					Deque<PendingMessage> queue = this.queueOf(messages.get(0));
+					for (int i = messages.size() - 1; i >= 0; i--)
+						queue.offerFirst(messages.get(i));
+				} else if (e == null) {
+					LOG.warn("Failed to send batch of {} messages to {}, got response {}: {}", messages.size(),
+							this.remoteKerUri, response.statusCode(), response.body());
+					for (PendingMessage pending : messages)
+						pending.future.completeExceptionally(new IOException(
+								"Message not accepted by remote host, status code " + response.statusCode()
+										+ ", body " + response.body()));
+				} else if (this.isConnectionFailure(e)) {
 					this.remoteKerDetails = null;
 					int time = this.errorOccurred();
-					LOG.warn("Ignoring KER {} for {} minutes. Failed to send message {} to {}, got response {}: {}",
-							this.remoteKerUri, time, message.getMessageId(), this.remoteKerUri, response.statusCode(),
-							response.body());
+					LOG.warn("Ignoring KER {} for {} minutes. Error '{}' occurred.", this.remoteKerUri, time,
+							e.getMessage());
 					this.dispatcher.notifySmartConnectorsChanged();
-					throw new IOException("Message not accepted by remote host, status code " + response.statusCode()
-							+ ", body " + response.body());
+					for (PendingMessage pending : messages)
+						pending.future.completeExceptionally(new IOException(e));
+				} else {
+					LOG.warn("Failed to send batch of {} messages to {}, error '{}' occurred.", messages.size(),
+							this.remoteKerUri, e.getMessage());
+					for (PendingMessage pending : messages)
+						pending.future.completeExceptionally(new IOException(e));
 				}
-			} catch (URISyntaxException | InterruptedException | IOException | IllegalArgumentException e) {
-				this.remoteKerDetails = null;
-				int time = this.errorOccurred();
-				LOG.warn("Ignoring KER {} for {} minutes. Error '{}' occurred.", this.remoteKerUri, time,
-						e.getMessage());
-				this.dispatcher.notifySmartConnectorsChanged();
-				throw new IOException(e);
+			} finally {
+				this.release(messages);
+				this.sendQueuedMessages();
 			}
-		} else {
-			logStillIgnoring();
-			throw new IOException("KER " + this.remoteKerUri + " is currently unavailable. Trying again later.");
+		});
+	}
+
+	private MessageBatch toMessageBatch(List<PendingMessage> messages) {
+		MessageBatch batch = new MessageBatch();
+		for (PendingMessage pending : messages) {
+			Object json = MessageConverter.toJson(pending.message);
+			BatchedMessage item = new BatchedMessage();
+			if (json instanceof eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.AskMessage) {
+				item.setAskMessage(
+						(eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.AskMessage) json);
+			} else if (json instanceof eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.AnswerMessage) {
+				item.setAnswerMessage(
+						(eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.AnswerMessage) json);
+			} else if (json instanceof eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.PostMessage) {
+				item.setPostMessage(
+						(eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.PostMessage) json);
+			} else if (json instanceof eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.ReactMessage) {
+				item.setReactMessage(
+						(eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.ReactMessage) json);
+			} else if (json instanceof eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.ErrorMessage) {
+				item.setErrorMessage(
+						(eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.ErrorMessage) json);
+			}
+			batch.addMessagesItem(item);
+		}
+		return batch;
+	}
+
+	private void completeBatch(List<PendingMessage> messages, String body) {
+		Map<String, String> failed = new HashMap<>();
+		try {
+			MessageBatchResult result = objectMapper.readValue(body, MessageBatchResult.class);
+			if (result != null && result.getFailedMessages() != null)
+				for (FailedMessage fm : result.getFailedMessages())
+					failed.put(fm.getMessageId(), fm.getError());
+		} catch (IOException e) {
+			LOG.warn("Could not parse the result of a message batch from {}: {}", this.remoteKerUri, e.getMessage());
 		}
+
+		for (PendingMessage pending : messages) {
+			String messageId = pending.message.getMessageId().toString();
+			if (failed.containsKey(messageId)) {
+				LOG.warn("Message {} not accepted by {}: {}", messageId, this.remoteKerUri, failed.get(messageId));
+				pending.future.completeExceptionally(
+						new IOException("Message not accepted by remote host: " + failed.get(messageId)));
+			} else {
+				LOG.trace("Successfully sent message {} to {}", messageId, this.remoteKerUri);
+				pending.future.complete(null);
+			}
+		}
+	}
+
+	private void failUnavailable(List<PendingMessage> messages) {
+		logStillIgnoring();
+		for (PendingMessage pending : messages)
+			pending.future.completeExceptionally(
+					new IOException("KER " + this.remoteKerUri + " is currently unavailable. Trying again later."));
+	}
+
+	private HttpRequest createRequest(String path, Object body) throws IOException, URISyntaxException {
+		String jsonBody = objectMapper.writeValueAsString(body);
+		return HttpRequest.newBuilder(new URI(this.remoteKerUri + path)).header("Content-Type", "application/json")
+				.timeout(Duration.ofSeconds(this.httpTimeout)).POST(BodyPublishers.ofString(jsonBody)).build();
+	}
+
+	/**
+	 * @return the number of HTTP requests that were used to send messages to this
+	 *         KER.
+	 */
+	long getRequestsSent() {
+		return this.requestsSent.get();
+	}
+
+	/**
+	 * @return whether messages to this KER are sent in the binary encoding.
+	 */
+	boolean usesBinaryEncoding() {
+		return this.binaryEncoding;
 	}
 
 	public void sendMyKerDetailsToPeer(KnowledgeEngineRuntimeDetails details) {
@@ -373,4 +736,18 @@ public class RemoteKerConnection {
 		return System.getenv(key) != null;
 	}
 
+	/**
+	 * A message that waits to be sent to the remote KER.
+	 */
+	private static class PendingMessage {
+		private final KnowledgeMessage message;
+		private final boolean ordered;
+		private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+		public PendingMessage(KnowledgeMessage aMessage, boolean isOrdered) {
+			this.message = aMessage;
+			this.ordered = isOrdered;
+		}
+	}
+
 }
@@ -52,6 +52,11 @@ public class RemoteKerConnectionManager extends SmartConnectorManagementApiServi
 	}
 
 	public void start() {
+		// Query the knowledge directory as soon as it tells us that KERs were added or
+		// removed.
+		messageDispatcher.getKnowledgeDirectoryConnectionManager()
+				.setChangeListener(this::scheduleQueryKnowledgeDirectory);
+
 		// Make a schedule to schedule a knowledge directory update every minute.
 		scheduledScheduleFuture = KeRuntime.executorService().scheduleAtFixedRate(() -> {
 			try {
@@ -116,6 +121,9 @@ public class RemoteKerConnectionManager extends SmartConnectorManagementApiServi
 				RemoteKerConnection messageSender = new RemoteKerConnection(messageDispatcher, knowledgeEngineRuntime);
 				remoteKerConnections.put(knowledgeEngineRuntime.getId(), messageSender);
 				messageSender.start();
+				// The new KER might have discovered us before our smart connectors were
+				// registered, so make sure it knows about them.
+				messageSender.sendMyKerDetailsToPeer(messageDispatcher.getMyKnowledgeEngineRuntimeDetails());
 			}
 		}
 		// Check if there are KERs that need to be removed
@@ -2,6 +2,7 @@ package eu.knowledge.engine.smartconnector.runtime.messaging;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.List;
 
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
@@ -14,7 +15,11 @@ import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.api.Messag
 import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.api.NotFoundException;
 import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.AnswerMessage;
 import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.AskMessage;
+import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.BatchedMessage;
 import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.ErrorMessage;
+import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.FailedMessage;
+import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.MessageBatch;
+import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.MessageBatchResult;
 import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.PostMessage;
 import eu.knowledge.engine.smartconnector.runtime.messaging.inter_ker.model.ReactMessage;
 
@@ -101,4 +106,77 @@ public class RemoteMessageReceiver extends MessagingApiService {
 		}
 	}
 
+	@Override
+	public Response messagingMessagebatchPost(MessageBatch messageBatch, SecurityContext securityContext)
+			throws NotFoundException {
+		if (messageBatch == null) {
+			return createErrorResponse(new IllegalArgumentException("Message batch should not be empty."));
+		}
+
+		// messages in a batch are delivered independently and in batch order, so a
+		// single failing message does not prevent the others from being delivered.
+		MessageBatchResult result = new MessageBatchResult();
+		if (messageBatch.getMessages() != null)
+			for (BatchedMessage m : messageBatch.getMessages())
+				handleBatchedMessage(m, result);
+
+		return Response.status(202).entity(result).build();
+	}
+
+	private void handleBatchedMessage(BatchedMessage m, MessageBatchResult result) {
+		if (m.getAskMessage() != null) {
+			AskMessage ask = m.getAskMessage();
+			handleBatchedMessage(ask.getMessageId(), () -> MessageConverter.fromJson(ask), result);
+		} else if (m.getAnswerMessage() != null) {
+			AnswerMessage answer = m.getAnswerMessage();
+			handleBatchedMessage(answer.getMessageId(), () -> MessageConverter.fromJson(answer), result);
+		} else if (m.getPostMessage() != null) {
+			PostMessage post = m.getPostMessage();
+			handleBatchedMessage(post.getMessageId(), () -> MessageConverter.fromJson(post), result);
+		} else if (m.getReactMessage() != null) {
+			ReactMessage react = m.getReactMessage();
+			handleBatchedMessage(react.getMessageId(), () -> MessageConverter.fromJson(react), result);
+		} else if (m.getErrorMessage() != null) {
+			ErrorMessage error = m.getErrorMessage();
+			handleBatchedMessage(error.getMessageId(), () -> MessageConverter.fromJson(error), result);
+		} else {
+			LOG.warn("Ignoring a batched message without content.");
+		}
+	}
+
+	@Override
+	public Response messagingBinarymessagePost(byte[] body, SecurityContext securityContext)
+			throws NotFoundException {
+		List<KnowledgeMessage> messages;
+		try {
+			messages = BinaryMessageCodec.decode(body);
+		} catch (IOException e) {
+			return createErrorResponse(e);
+		}
+
+		MessageBatchResult result = new MessageBatchResult();
+		for (KnowledgeMessage m : messages)
+			handleBatchedMessage(m.getMessageId().toString(), () -> m, result);
+
+		return Response.status(202).entity(result).build();
+	}
+
+	private void handleBatchedMessage(String messageId, MessageParser parser, MessageBatchResult result) {
+		try {
+			KnowledgeMessage message = parser.parse();
+			LOG.trace("Received batched {} {} for KnowledgeBase {} from remote SmartConnector",
+					message.getClass().getSimpleName(), message.getMessageId(), message.getToKnowledgeBase());
+			messageDispatcher.deliverToLocalSmartConnector(message);
+		} catch (IOException | URISyntaxException | IllegalArgumentException e) {
+			LOG.warn("Error while handling incoming batched message", e);
+			result.addFailedMessagesItem(
+					new FailedMessage().messageId(messageId).error("Error: " + e.getMessage()));
+		}
+	}
+
+	@FunctionalInterface
+	private interface MessageParser {
+		KnowledgeMessage parse() throws URISyntaxException;
+	}
+
 }
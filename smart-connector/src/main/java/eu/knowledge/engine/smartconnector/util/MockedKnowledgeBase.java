@@ -11,6 +11,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Phaser;
+import java.util.function.Consumer;
 
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.Resource;
@@ -223,6 +224,11 @@ public class MockedKnowledgeBase implements KnowledgeBase {
 		return this.getSC().ask(anAKI, aSelector, aBindingSet);
 	}
 
+	public CompletableFuture<AskResult> ask(AskKnowledgeInteraction anAKI, RecipientSelector aSelector,
+			BindingSet aBindingSet, Consumer<BindingSet> aPartialResultHandler) {
+		return this.getSC().ask(anAKI, aSelector, aBindingSet, aPartialResultHandler);
+	}
+
 	public CompletableFuture<AskResult> ask(AskKnowledgeInteraction ki, BindingSet bindings) {
 		return this.getSC().ask(ki, bindings);
 	}
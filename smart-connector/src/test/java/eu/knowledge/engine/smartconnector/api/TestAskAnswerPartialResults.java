@@ -0,0 +1,120 @@
+package eu.knowledge.engine.smartconnector.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.sparql.graph.PrefixMappingMem;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.knowledge.engine.smartconnector.util.KnowledgeNetwork;
+import eu.knowledge.engine.smartconnector.util.MockedKnowledgeBase;
+
+/**
+ * Tests whether the bindings of a fast knowledge base are given to the asking
+ * knowledge base before a slow knowledge base has answered.
+ */
+public class TestAskAnswerPartialResults {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TestAskAnswerPartialResults.class);
+
+	private static MockedKnowledgeBase fastKB;
+	private static MockedKnowledgeBase slowKB;
+	private static MockedKnowledgeBase askingKB;
+
+	@Test
+	public void testPartialResultsBeforeSlowAnswer()
+			throws InterruptedException, ExecutionException, TimeoutException {
+		PrefixMappingMem prefixes = new PrefixMappingMem();
+		prefixes.setNsPrefixes(PrefixMapping.Standard);
+		prefixes.setNsPrefix("ex", "https://www.tno.nl/example/");
+
+		var kn = new KnowledgeNetwork();
+		fastKB = new MockedKnowledgeBase("fastKB");
+		kn.addKB(fastKB);
+		slowKB = new MockedKnowledgeBase("slowKB");
+		kn.addKB(slowKB);
+		askingKB = new MockedKnowledgeBase("askingKB");
+		kn.addKB(askingKB);
+
+		GraphPattern gp = new GraphPattern(prefixes, "?a ex:b ?c.");
+
+		AnswerKnowledgeInteraction fastKI = new AnswerKnowledgeInteraction(new CommunicativeAct(), gp);
+		fastKB.register(fastKI, (anAKI, anAnswerExchangeInfo) -> {
+			BindingSet bindingSet = new BindingSet();
+			Binding binding = new Binding();
+			binding.put("a", "<https://www.tno.nl/example/a1>");
+			binding.put("c", "<https://www.tno.nl/example/c1>");
+			bindingSet.add(binding);
+			return bindingSet;
+		});
+
+		CompletableFuture<BindingSet> slowAnswer = new CompletableFuture<>();
+		AnswerKnowledgeInteraction slowKI = new AnswerKnowledgeInteraction(new CommunicativeAct(), gp);
+		slowKB.register(slowKI, new AnswerHandler() {
+			@Override
+			public CompletableFuture<BindingSet> answerAsync(AnswerKnowledgeInteraction anAKI,
+					AnswerExchangeInfo anAnswerExchangeInfo) {
+				return slowAnswer;
+			}
+
+			@Override
+			public BindingSet answer(AnswerKnowledgeInteraction anAKI, AnswerExchangeInfo anAnswerExchangeInfo) {
+				throw new UnsupportedOperationException("Only answers asynchronously.");
+			}
+		});
+
+		AskKnowledgeInteraction askKI = new AskKnowledgeInteraction(new CommunicativeAct(), gp);
+		askingKB.register(askKI);
+		kn.sync();
+
+		List<BindingSet> partialResults = new CopyOnWriteArrayList<>();
+		CompletableFuture<BindingSet> firstPartialResult = new CompletableFuture<>();
+		CompletableFuture<AskResult> resultFuture = askingKB.ask(askKI, new RecipientSelector(), new BindingSet(),
+				bs -> {
+					partialResults.add(bs);
+					firstPartialResult.complete(bs);
+				});
+
+		BindingSet first = firstPartialResult.get(10, TimeUnit.SECONDS);
+		LOG.info("First partial result: {}", first);
+		assertFalse(resultFuture.isDone(), "The ask should still wait for the slow knowledge base.");
+		assertEquals(1, first.size());
+		assertEquals("<https://www.tno.nl/example/a1>", first.iterator().next().get("a"));
+
+		BindingSet slowBindingSet = new BindingSet();
+		Binding slowBinding = new Binding();
+		slowBinding.put("a", "<https://www.tno.nl/example/a2>");
+		slowBinding.put("c", "<https://www.tno.nl/example/c2>");
+		slowBindingSet.add(slowBinding);
+		slowAnswer.complete(slowBindingSet);
+
+		AskResult result = resultFuture.get(10, TimeUnit.SECONDS);
+		assertEquals(2, result.getBindings().size());
+
+		BindingSet allPartialResults = new BindingSet();
+		partialResults.forEach(allPartialResults::addAll);
+		assertEquals(result.getBindings(), allPartialResults);
+		assertEquals(2, partialResults.size(), "Every binding should be given only once.");
+	}
+
+	@AfterAll
+	public static void cleanup() {
+		LOG.info("Clean up: {}", TestAskAnswerPartialResults.class.getSimpleName());
+		for (MockedKnowledgeBase kb : Arrays.asList(fastKB, slowKB, askingKB)) {
+			if (kb != null)
+				kb.stop();
+		}
+	}
+}
@@ -1,6 +1,9 @@
 package eu.knowledge.engine.smartconnector.impl;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -30,6 +33,7 @@ import eu.knowledge.engine.smartconnector.api.BindingSet;
 import eu.knowledge.engine.smartconnector.api.CommunicativeAct;
 import eu.knowledge.engine.smartconnector.api.GraphPattern;
 import eu.knowledge.engine.smartconnector.api.RecipientSelector;
+import eu.knowledge.engine.smartconnector.api.Vocab;
 import eu.knowledge.engine.smartconnector.impl.InteractionProcessor;
 import eu.knowledge.engine.smartconnector.impl.InteractionProcessorImpl;
 import eu.knowledge.engine.smartconnector.impl.KnowledgeInteractionInfo;
@@ -119,6 +123,85 @@ public class InteractionProcessorImplTest {
 		}
 	}
 
+	@Test
+	void testAskTwice() throws InterruptedException, ExecutionException, URISyntaxException {
+
+		AskKnowledgeInteraction askInteraction = new AskKnowledgeInteraction(new CommunicativeAct(),
+				new GraphPattern(this.graphPattern1));
+		MyKnowledgeInteractionInfo info = new MyKnowledgeInteractionInfo(new URI("http://www.tno.nl/"),
+				new URI("http://www.tno.nl/"), askInteraction, null, null);
+
+		// the second ask reuses the plan of the first one, so it should give the same
+		// results.
+		AskResult first = this.interactionProcessor
+				.askFromKnowledgeBase(info, new RecipientSelector(), new BindingSet()).get();
+		assertEquals(2, first.getBindings().size());
+
+		AskResult second = this.interactionProcessor
+				.askFromKnowledgeBase(info, new RecipientSelector(), new BindingSet()).get();
+		assertEquals(2, second.getBindings().size());
+
+		// the rule store (with its matches) is reused, but the first result keeps its
+		// own reasoner plan.
+		assertSame(first.getReasonerPlan().getStore(), second.getReasonerPlan().getStore());
+		assertNotSame(first.getReasonerPlan(), second.getReasonerPlan());
+		assertTrue(first.getReasonerPlan().isDone());
+		assertEquals(2, first.getReasonerPlan().getResults().size());
+	}
+
+	@Test
+	void testAskSelectedKnowledgeBases() throws InterruptedException, ExecutionException, URISyntaxException {
+
+		AskKnowledgeInteraction askInteraction = new AskKnowledgeInteraction(new CommunicativeAct(),
+				new GraphPattern(this.graphPattern1));
+		MyKnowledgeInteractionInfo info = new MyKnowledgeInteractionInfo(new URI("http://www.tno.nl/"),
+				new URI("http://www.tno.nl/"), askInteraction, null, null);
+
+		AskResult result = this.interactionProcessor
+				.askFromKnowledgeBase(info, new RecipientSelector(this.knowledgeBaseId2), new BindingSet()).get();
+		assertEquals(1, result.getBindings().size());
+		assertEquals(this.subject2, result.getBindings().iterator().next().get("s1"));
+
+		result = this.interactionProcessor.askFromKnowledgeBase(info,
+				new RecipientSelector(List.of(this.knowledgeBaseId2, this.knowledgeBaseId3)), new BindingSet()).get();
+		assertEquals(2, result.getBindings().size());
+
+		// unknown knowledge bases are ignored.
+		result = this.interactionProcessor.askFromKnowledgeBase(info,
+				new RecipientSelector(List.of(this.knowledgeBaseId3, new URI("https://www.tno.nl/interconnect/kb4"))),
+				new BindingSet()).get();
+		assertEquals(1, result.getBindings().size());
+		assertEquals(this.subject3, result.getBindings().iterator().next().get("s1"));
+	}
+
+	@Test
+	void testCommunicativeActMatching() throws InterruptedException, ExecutionException, URISyntaxException {
+
+		// the other knowledge interactions only inform, so they do not satisfy an
+		// actuation purpose.
+		var actuate = new CommunicativeAct(Set.of(Vocab.ACTUATION_PURPOSE), Set.of(Vocab.INFORM_PURPOSE));
+		// but informing satisfies the more specific changed knowledge purpose.
+		var changed = new CommunicativeAct(Set.of(Vocab.INFORM_PURPOSE), Set.of(Vocab.CHANGED_KNOWLEDGE_PURPOSE));
+
+		// asking twice uses the matches of the first time.
+		for (int i = 0; i < 2; i++) {
+			AskKnowledgeInteraction askInteraction = new AskKnowledgeInteraction(actuate,
+					new GraphPattern(this.graphPattern1));
+			AskResult result = this.interactionProcessor.planAskFromKnowledgeBase(
+					new MyKnowledgeInteractionInfo(new URI("http://www.tno.nl/actuate"), new URI("http://www.tno.nl/"),
+							askInteraction, null, null),
+					new RecipientSelector()).execute(new BindingSet()).get();
+			assertEquals(0, result.getBindings().size());
+
+			askInteraction = new AskKnowledgeInteraction(changed, new GraphPattern(this.graphPattern1));
+			result = this.interactionProcessor.planAskFromKnowledgeBase(
+					new MyKnowledgeInteractionInfo(new URI("http://www.tno.nl/changed"), new URI("http://www.tno.nl/"),
+							askInteraction, null, null),
+					new RecipientSelector()).execute(new BindingSet()).get();
+			assertEquals(2, result.getBindings().size());
+		}
+	}
+
 	public class TestOtherKnowledgeBaseStore implements OtherKnowledgeBaseStore {
 
 		@Override
@@ -189,6 +272,11 @@ public class InteractionProcessorImplTest {
 			// TODO Auto-generated method stub
 
 		}
+
+		@Override
+		public long getVersion() {
+			return 0;
+		}
 	}
 
 	class TestMessageRouter implements MessageRouter {
@@ -0,0 +1,89 @@
+package eu.knowledge.engine.smartconnector.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import eu.knowledge.engine.smartconnector.api.AnswerKnowledgeInteraction;
+import eu.knowledge.engine.smartconnector.api.AskKnowledgeInteraction;
+import eu.knowledge.engine.smartconnector.api.CommunicativeAct;
+import eu.knowledge.engine.smartconnector.api.GraphPattern;
+import eu.knowledge.engine.smartconnector.util.MockedKnowledgeBase;
+
+public class KnowledgeBaseStoreImplTest {
+
+	private KnowledgeBaseStoreImpl store;
+	private final List<KnowledgeInteractionInfo> unregistered = new ArrayList<>();
+
+	@BeforeEach
+	public void setUp() {
+		this.store = new KnowledgeBaseStoreImpl(LoggerFactory::getLogger, new MockedKnowledgeBase("kb1"));
+		this.store.addListener(new KnowledgeBaseStoreListener() {
+			@Override
+			public void knowledgeInteractionRegistered(KnowledgeInteractionInfo ki) {
+			}
+
+			@Override
+			public void knowledgeInteractionUnregistered(KnowledgeInteractionInfo ki) {
+				unregistered.add(ki);
+			}
+
+			@Override
+			public void smartConnectorStopping() {
+			}
+		});
+	}
+
+	@Test
+	public void testKnowledgeInteractionByObject() {
+		List<AskKnowledgeInteraction> askKIs = new ArrayList<>();
+		List<URI> askIds = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			var askKI = new AskKnowledgeInteraction(new CommunicativeAct(), new GraphPattern("?s ?p ?o ."));
+			askKIs.add(askKI);
+			askIds.add(this.store.register(askKI, false));
+		}
+		var answerKI = new AnswerKnowledgeInteraction(new CommunicativeAct(), new GraphPattern("?s ?p ?o ."));
+		URI answerId = this.store.register(answerKI, (ki, ei) -> ei.getIncomingBindings(), false);
+
+		for (int i = 0; i < askKIs.size(); i++) {
+			assertEquals(askIds.get(i), this.store.getKnowledgeInteractionByObject(askKIs.get(i)).getId());
+		}
+		assertEquals(answerId, this.store.getKnowledgeInteractionByObject(answerKI).getId());
+
+		this.store.unregister(askKIs.get(0));
+		assertNull(this.store.getKnowledgeInteractionByObject(askKIs.get(0)));
+		assertNull(this.store.getKnowledgeInteractionById(askIds.get(0)));
+		assertEquals(1, this.unregistered.size());
+		assertSame(askKIs.get(0), this.unregistered.get(0).getKnowledgeInteraction());
+
+		// unregistering twice or with the wrong type has no effect.
+		this.store.unregister(askKIs.get(0));
+		this.store.unregister(new AnswerKnowledgeInteraction(new CommunicativeAct(), new GraphPattern("?s ?p ?o .")));
+		assertEquals(1, this.unregistered.size());
+		assertEquals(200, this.store.getKnowledgeInteractions().size());
+	}
+
+	@Test
+	public void testRegisterTwice() {
+		var askKI = new AskKnowledgeInteraction(new CommunicativeAct(), new GraphPattern("?s ?p ?o ."));
+		URI askId = this.store.register(askKI, false);
+
+		// the same object gets a new random id, but cannot be registered twice.
+		assertThrows(IllegalArgumentException.class, () -> this.store.register(askKI, false));
+		assertEquals(1, this.store.getKnowledgeInteractions().size());
+		assertEquals(askId, this.store.getKnowledgeInteractionByObject(askKI).getId());
+
+		this.store.unregister(askKI);
+		assertEquals(0, this.store.getKnowledgeInteractions().size());
+	}
+}
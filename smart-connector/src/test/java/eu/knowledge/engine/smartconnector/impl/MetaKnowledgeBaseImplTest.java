@@ -0,0 +1,81 @@
+package eu.knowledge.engine.smartconnector.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import eu.knowledge.engine.smartconnector.api.AnswerExchangeInfo;
+import eu.knowledge.engine.smartconnector.api.AnswerKnowledgeInteraction;
+import eu.knowledge.engine.smartconnector.api.Binding;
+import eu.knowledge.engine.smartconnector.api.BindingSet;
+import eu.knowledge.engine.smartconnector.api.ReactKnowledgeInteraction;
+import eu.knowledge.engine.smartconnector.util.MockedKnowledgeBase;
+
+public class MetaKnowledgeBaseImplTest {
+
+	private KnowledgeBaseStoreImpl store;
+
+	@BeforeEach
+	public void setUp() {
+		this.store = new KnowledgeBaseStoreImpl(LoggerFactory::getLogger, new MockedKnowledgeBase("kb1"));
+		new MetaKnowledgeBaseImpl(LoggerFactory::getLogger, null, this.store);
+	}
+
+	@Test
+	public void testMetaAnswerFollowsRegistrations() {
+		BindingSet first = this.answerMetaAsk();
+		BindingSet second = this.answerMetaAsk();
+		assertEquals(first, second);
+		assertNotSame(first, second);
+
+		// changing the answer does not change the next answer.
+		first.clear();
+		assertEquals(second, this.answerMetaAsk());
+
+		// the answer no longer includes knowledge interactions after they are
+		// unregistered
+		MyKnowledgeInteractionInfo reactInfo = this.store.getKnowledgeInteractions().stream()
+				.filter(kii -> kii.getType() == KnowledgeInteractionInfo.Type.REACT).findAny().get();
+		var reactKI = (ReactKnowledgeInteraction) reactInfo.getKnowledgeInteraction();
+		String reactId = "<" + reactInfo.getId() + ">";
+		assertTrue(this.knowledgeInteractionIds(second).contains(reactId));
+
+		this.store.unregister(reactKI);
+		assertFalse(this.knowledgeInteractionIds(this.answerMetaAsk()).contains(reactId));
+
+		// but again after they are registered.
+		this.store.register(reactKI, reactInfo.getReactHandler(), true);
+		assertEquals(second, this.answerMetaAsk());
+	}
+
+	private BindingSet answerMetaAsk() {
+		for (MyKnowledgeInteractionInfo kii : this.store.getKnowledgeInteractions()) {
+			if (kii.isMeta() && kii.getType() == KnowledgeInteractionInfo.Type.ANSWER) {
+				var handler = this.store.getAnswerHandler(kii.getId());
+				assertNotNull(handler);
+				return handler.answer((AnswerKnowledgeInteraction) kii.getKnowledgeInteraction(),
+						new AnswerExchangeInfo(new BindingSet(), URI.create("https://www.example.org/kb2"),
+								URI.create("https://www.example.org/kb2/ki")));
+			}
+		}
+		throw new AssertionError("There should be a meta answer knowledge interaction.");
+	}
+
+	private Set<String> knowledgeInteractionIds(BindingSet bs) {
+		Set<String> ids = new HashSet<>();
+		for (Binding b : bs) {
+			ids.add(b.get("ki"));
+		}
+		return ids;
+	}
+}
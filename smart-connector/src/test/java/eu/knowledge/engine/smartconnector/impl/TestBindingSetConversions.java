@@ -1,20 +1,33 @@
 package eu.knowledge.engine.smartconnector.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.net.URI;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 
 import org.apache.jena.datatypes.xsd.XSDDatatype;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.TriplePath;
 import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.graph.PrefixMappingZero;
+import org.apache.jena.shared.impl.PrefixMappingImpl;
+import org.apache.jena.sparql.util.FmtUtils;
 import org.junit.jupiter.api.Test;
 
 import eu.knowledge.engine.reasoner.Rule;
+import eu.knowledge.engine.reasoner.api.TriplePattern;
+import eu.knowledge.engine.smartconnector.api.AskKnowledgeInteraction;
 import eu.knowledge.engine.smartconnector.api.Binding;
 import eu.knowledge.engine.smartconnector.api.BindingSet;
+import eu.knowledge.engine.smartconnector.api.CommunicativeAct;
+import eu.knowledge.engine.smartconnector.api.GraphPattern;
 
 class TestBindingSetConversions {
 
@@ -47,6 +60,37 @@ class TestBindingSetConversions {
 		assertEquals(literalStringVersion, otherBS.iterator().next().get(varStringVersion));
 	}
 
+	/**
+	 * Test whether graph patterns are converted into the same triple patterns as
+	 * when they are formatted and parsed again, and that the conversion is
+	 * memoized per knowledge interaction.
+	 */
+	@Test
+	void testGraphPatternConversion() {
+		PrefixMappingImpl prefixes = new PrefixMappingImpl();
+		prefixes.setNsPrefix("ex", "https://www.example.org/");
+		GraphPattern gp = new GraphPattern(prefixes, "?s a ex:Sensor . ?s ex:hasValue 22 . ?s ex:hasName \"s1\"@en .");
+
+		Set<TriplePattern> expected = new HashSet<>();
+		Iterator<TriplePath> iter = gp.getGraphPattern().patternElts();
+		while (iter.hasNext()) {
+			expected.add(new TriplePattern(FmtUtils.stringForTriple(iter.next().asTriple(), new PrefixMappingZero())));
+		}
+
+		Set<TriplePattern> actual = ReasonerProcessor.translateGraphPatternTo(gp);
+		// also checks the hash codes of the triple patterns
+		assertEquals(expected, actual);
+		for (TriplePattern tp : actual) {
+			assertTrue(tp.getSubject() instanceof Var);
+		}
+
+		KnowledgeInteractionInfo kii = new KnowledgeInteractionInfo(URI.create("https://www.example.org/ki"),
+				URI.create("https://www.example.org/kb"), new AskKnowledgeInteraction(new CommunicativeAct(), gp));
+		assertEquals(expected, kii.getFirstTriplePatterns());
+		assertSame(kii.getFirstTriplePatterns(), kii.getFirstTriplePatterns());
+		assertNull(kii.getSecondTriplePatterns());
+	}
+
 	/**
 	 * Make some binding set translation methods available.
 	 */
@@ -0,0 +1,121 @@
+package eu.knowledge.engine.smartconnector.runtime.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.DeflaterOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eu.knowledge.engine.smartconnector.api.Binding;
+import eu.knowledge.engine.smartconnector.api.BindingSet;
+import eu.knowledge.engine.smartconnector.messaging.AnswerMessage;
+import eu.knowledge.engine.smartconnector.messaging.AskMessage;
+import eu.knowledge.engine.smartconnector.messaging.ErrorMessage;
+import eu.knowledge.engine.smartconnector.messaging.KnowledgeMessage;
+import eu.knowledge.engine.smartconnector.messaging.PostMessage;
+import eu.knowledge.engine.smartconnector.messaging.ReactMessage;
+
+public class BinaryMessageCodecTest {
+
+	private final URI kb1 = URI.create("https://www.example.org/kb1");
+	private final URI ki1 = URI.create("https://www.example.org/kb1/interaction/ask");
+	private final URI kb2 = URI.create("https://www.example.org/kb2");
+	private final URI ki2 = URI.create("https://www.example.org/kb2/interaction/answer");
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		BindingSet bs = new BindingSet();
+		Binding b1 = new Binding();
+		b1.put("s", "<https://www.example.org/sensor1>");
+		b1.put("v", "\"22.5\"^^<http://www.w3.org/2001/XMLSchema#float>");
+		bs.add(b1);
+		Binding b2 = new Binding();
+		b2.put("s", "<https://www.example.org/sensor2>");
+		bs.add(b2);
+
+		AskMessage ask = new AskMessage(kb1, ki1, kb2, ki2, bs);
+		AnswerMessage answer = new AnswerMessage(UUID.randomUUID(), kb2, ki2, kb1, ki1, ask.getMessageId(), bs,
+				"failed");
+		PostMessage post = new PostMessage(kb1, ki1, kb2, ki2, new BindingSet());
+		ReactMessage react = new ReactMessage(kb2, ki2, kb1, ki1, post.getMessageId(), bs);
+		ErrorMessage error = new ErrorMessage(kb2, ki2, kb1, ki1, ask.getMessageId(), "Something went wrong");
+
+		List<KnowledgeMessage> messages = List.of(ask, answer, post, react, error);
+		List<KnowledgeMessage> decoded = BinaryMessageCodec.decode(BinaryMessageCodec.encode(messages));
+
+		assertEquals(messages.size(), decoded.size());
+		for (int i = 0; i < messages.size(); i++) {
+			assertEquals(messages.get(i).getClass(), decoded.get(i).getClass());
+			assertEquals(messages.get(i).toString(), decoded.get(i).toString());
+		}
+	}
+
+	@Test
+	public void testLargeAnswerIsSmallerThanJson() throws IOException {
+		BindingSet bs = new BindingSet();
+		for (int i = 0; i < 1000; i++) {
+			Binding b = new Binding();
+			b.put("sensor", "<https://www.example.org/building/floor/room/sensor" + (i % 50) + ">");
+			b.put("type", "<https://saref.etsi.org/core/TemperatureSensor>");
+			b.put("value", "\"" + i + "\"^^<http://www.w3.org/2001/XMLSchema#integer>");
+			bs.add(b);
+		}
+		AnswerMessage answer = new AnswerMessage(kb2, ki2, kb1, ki1, UUID.randomUUID(), bs);
+
+		byte[] binary = BinaryMessageCodec.encode(List.of(answer));
+		byte[] json = new ObjectMapper().writeValueAsBytes(MessageConverter.toJson(answer));
+		assertTrue(binary.length * 10 < json.length,
+				"Expected binary (" + binary.length + ") to be much smaller than JSON (" + json.length + ")");
+
+		AnswerMessage decoded = (AnswerMessage) BinaryMessageCodec.decode(binary).get(0);
+		assertEquals(answer.toString(), decoded.toString());
+	}
+
+	@Test
+	public void testInvalidInput() {
+		assertThrows(IOException.class, () -> BinaryMessageCodec.decode(new byte[] { 1 }));
+		assertThrows(IOException.class, () -> BinaryMessageCodec.decode(new byte[] { 42, 0, 0 }));
+		assertThrows(IOException.class, () -> BinaryMessageCodec.decode(new byte[] { 1, 0, 5 }));
+	}
+
+	@Test
+	public void testInvalidSizes() {
+		// negative number of strings
+		assertThrows(IOException.class, () -> BinaryMessageCodec
+				.decode(new byte[] { 1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F }));
+		// string that is longer than the message
+		assertThrows(IOException.class, () -> BinaryMessageCodec
+				.decode(new byte[] { 1, 0, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07 }));
+		// more messages than the message can contain
+		assertThrows(IOException.class, () -> BinaryMessageCodec.decode(new byte[] { 1, 0, 0, 100 }));
+		// reference to a string that is not in the string table
+		assertThrows(IOException.class, () -> BinaryMessageCodec.decode(new byte[] { 1, 0, 0, 1, 1, 0, 0, 0, 0, 0,
+				0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 5, 1, 1, 1, 0, 0 }));
+	}
+
+	@Test
+	public void testTooBigAfterInflating() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		bytes.write(new byte[] { 1, 1 });
+		try (DeflaterOutputStream deflater = new DeflaterOutputStream(bytes)) {
+			// a single string of 128 MiB
+			deflater.write(new byte[] { 1, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x40 });
+			byte[] zeros = new byte[1024 * 1024];
+			for (int i = 0; i < 128; i++)
+				deflater.write(zeros);
+		}
+		byte[] binary = bytes.toByteArray();
+		assertTrue(binary.length < 1024 * 1024, "Expected the compressed message to be small");
+
+		assertThrows(IOException.class, () -> BinaryMessageCodec.decode(binary));
+	}
+}
@@ -132,4 +132,66 @@ public class DistributedMessageDispatcherTest {
 			assertTrue(NetUtils.portAvailable(8080));
 		}
 	}
+
+	@Test
+	void testRemoteBatchedMessageExchange() throws Exception {
+		assertTrue(NetUtils.portAvailable(8080));
+		KnowledgeDirectory kd = new KnowledgeDirectory(8080);
+		MessageDispatcher md1 = new MessageDispatcher(8081, new URI("http://localhost:8081"),
+				new URI("http://localhost:8080"));
+		MessageDispatcher md2 = new MessageDispatcher(8082, new URI("http://localhost:8082"),
+				new URI("http://localhost:8080"));
+
+		try {
+			kd.start();
+
+			Thread.sleep(1000);
+
+			md1.start();
+			md2.start();
+
+			URI kb1Id = new URI("http://test.com/kb1");
+			URI kb2Id = new URI("http://test.com/kb2");
+			MockSmartConnector sc1 = new MockSmartConnector(kb1Id);
+			MockSmartConnector sc2 = new MockSmartConnector(kb2Id);
+
+			md1.getLocalSmartConnectorConnectionManager().smartConnectorAdded(sc1);
+			md2.getLocalSmartConnectorConnectionManager().smartConnectorAdded(sc2);
+
+			Thread.sleep(5000);
+
+			BindingSet bindingSet = new BindingSet();
+			Binding binding = new Binding();
+			binding.put("a", "b");
+			binding.put("c", "d");
+			bindingSet.add(binding);
+
+			int nrOfMessages = 500;
+			for (int i = 0; i < nrOfMessages; i++) {
+				sc1.send(new AskMessage(kb1Id, kb1Id, kb2Id, kb2Id, bindingSet));
+			}
+
+			int waited = 0;
+			while (sc2.getMessagesReceived() < nrOfMessages && waited < 10000) {
+				Thread.sleep(100);
+				waited += 100;
+			}
+			assertEquals(nrOfMessages, sc2.getMessagesReceived());
+
+			// messages that queue up are sent together in a single request
+			RemoteKerConnection connection = md1.getRemoteSmartConnectorConnectionsManager()
+					.getRemoteKerConnection(kb2Id);
+			long requestsSent = connection.getRequestsSent();
+			assertTrue(requestsSent < nrOfMessages, "Expected less requests than messages, but was " + requestsSent);
+
+			// both runtimes advertise the binary encoding in the knowledge directory
+			assertTrue(connection.usesBinaryEncoding());
+		} finally {
+			md1.stop();
+			md2.stop();
+
+			kd.stop();
+			assertTrue(NetUtils.portAvailable(8080));
+		}
+	}
 }
@@ -0,0 +1,127 @@
+package eu.knowledge.engine.smartconnector.runtime.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class ExecutionLaneTest {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+	@AfterEach
+	public void cleanUp() {
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	public void testBoundedConcurrencyAndQueue() throws InterruptedException {
+		ExecutionLane lane = new ExecutionLane(this.executor, 2, 3);
+		CountDownLatch started = new CountDownLatch(2);
+		CountDownLatch blocked = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(6);
+		AtomicInteger maxRunning = new AtomicInteger();
+		AtomicInteger running = new AtomicInteger();
+
+		Runnable task = () -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			started.countDown();
+			try {
+				blocked.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			running.decrementAndGet();
+			done.countDown();
+		};
+
+		// two tasks run, three wait in the queue and the next is rejected.
+		for (int i = 0; i < 5; i++) {
+			assertTrue(lane.execute(task, true));
+		}
+		assertFalse(lane.execute(task, true));
+		assertEquals(2, lane.getRunning());
+		assertEquals(3, lane.getQueued());
+
+		// unless it may not be rejected.
+		assertTrue(lane.execute(task, false));
+		assertEquals(4, lane.getQueued());
+
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		blocked.countDown();
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals(2, maxRunning.get());
+
+		// eventually the lane is empty and accepts new tasks again.
+		long deadline = System.currentTimeMillis() + 5000;
+		while (lane.getRunning() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(0, lane.getRunning());
+		assertEquals(0, lane.getQueued());
+		assertTrue(lane.execute(() -> {
+		}, true));
+	}
+
+	@Test
+	public void testOtherLanesAreNotStarved() throws InterruptedException {
+		ExecutionLane slowLane = new ExecutionLane(this.executor, 4, 100);
+		ExecutionLane fastLane = new ExecutionLane(this.executor, 4, 100);
+		CountDownLatch blocked = new CountDownLatch(1);
+		for (int i = 0; i < 20; i++) {
+			slowLane.execute(() -> {
+				try {
+					blocked.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}, true);
+		}
+
+		CountDownLatch fastDone = new CountDownLatch(1);
+		assertTrue(fastLane.execute(fastDone::countDown, true));
+		assertTrue(fastDone.await(5, TimeUnit.SECONDS));
+		blocked.countDown();
+	}
+
+	@Test
+	public void testRejectedByExecutor() throws InterruptedException {
+		ExecutorService single = Executors.newSingleThreadExecutor();
+		ExecutionLane lane = new ExecutionLane(single, 1, 10);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch blocked = new CountDownLatch(1);
+		assertTrue(lane.execute(() -> {
+			started.countDown();
+			try {
+				blocked.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}, true));
+		assertTrue(lane.execute(() -> {
+		}, true));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		// the waiting task cannot be submitted anymore, which frees the slot.
+		single.shutdown();
+		blocked.countDown();
+		assertTrue(single.awaitTermination(5, TimeUnit.SECONDS));
+		assertEquals(0, lane.getRunning());
+		assertEquals(0, lane.getQueued());
+
+		// and a new task is rejected without taking the slot.
+		assertThrows(RejectedExecutionException.class, () -> lane.execute(() -> {
+		}, true));
+		assertEquals(0, lane.getRunning());
+	}
+}
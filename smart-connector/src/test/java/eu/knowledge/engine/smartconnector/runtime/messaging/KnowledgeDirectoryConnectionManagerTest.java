@@ -5,13 +5,21 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import eu.knowledge.engine.knowledgedirectory.KnowledgeDirectory;
 import eu.knowledge.engine.smartconnector.runtime.messaging.kd.model.KnowledgeEngineRuntimeConnectionDetails;
 
@@ -55,6 +63,59 @@ public class KnowledgeDirectoryConnectionManagerTest {
 		assertTrue(NetUtils.portAvailable(8080));
 	}
 
+	@Test
+	public void testWatchChanges() throws Exception {
+		assertTrue(NetUtils.portAvailable(8080));
+		KnowledgeDirectory kd = new KnowledgeDirectory(8080);
+		kd.start();
+
+		KnowledgeDirectoryConnection cm1 = new KnowledgeDirectoryConnection(new URI("http://localhost:8080"),
+				new URI("http://localhost:8081"));
+		KnowledgeDirectoryConnection cm2 = new KnowledgeDirectoryConnection(new URI("http://localhost:8080"),
+				new URI("http://localhost:8082"));
+
+		cm1.start();
+		Thread.sleep(1000);
+		assertEquals(KnowledgeDirectoryConnection.State.REGISTERED, cm1.getState());
+		assertEquals(1, cm1.getKnowledgeEngineRuntimeConnectionDetails().size());
+
+		// the first KER should hear about the second one without polling
+		CountDownLatch added = new CountDownLatch(1);
+		cm1.setChangeListener(added::countDown);
+		cm2.start();
+		assertTrue(added.await(5, TimeUnit.SECONDS));
+		assertEquals(2, cm1.getKnowledgeEngineRuntimeConnectionDetails().size());
+
+		CountDownLatch removed = new CountDownLatch(1);
+		cm1.setChangeListener(removed::countDown);
+		cm2.stop();
+		assertTrue(removed.await(5, TimeUnit.SECONDS));
+		List<KnowledgeEngineRuntimeConnectionDetails> kerConnectionDetails = cm1
+				.getKnowledgeEngineRuntimeConnectionDetails();
+		assertEquals(1, kerConnectionDetails.size());
+		assertEquals(cm1.getMyKnowledgeDirectoryId(), kerConnectionDetails.get(0).getId());
+
+		// a revision of another run of the knowledge directory gives the full list.
+		JsonNode all = getChanges("?timeout=0");
+		assertTrue(all.get("full").asBoolean());
+		String query = "?timeout=0&since=" + all.get("revision").asLong() + "&epoch=";
+		assertFalse(getChanges(query + all.get("epoch").asText()).get("full").asBoolean());
+		JsonNode restarted = getChanges(query + "another-epoch");
+		assertTrue(restarted.get("full").asBoolean());
+		assertEquals(1, restarted.get("events").size());
+
+		cm1.stop();
+		kd.stop();
+		assertTrue(NetUtils.portAvailable(8080));
+	}
+
+	private JsonNode getChanges(String query) throws Exception {
+		var request = HttpRequest.newBuilder(new URI("http://localhost:8080/ker/changes" + query)).GET().build();
+		var response = HttpClient.newHttpClient().send(request, BodyHandlers.ofString());
+		assertEquals(200, response.statusCode());
+		return new ObjectMapper().readTree(response.body());
+	}
+
 	@Test
 	public void testNoKd() throws Exception {
 